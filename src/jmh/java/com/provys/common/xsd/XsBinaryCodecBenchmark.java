@@ -0,0 +1,94 @@
+package com.provys.common.xsd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading of sorted series of xs:dateTime values from binary representation (absolute and delta encoded)
+ * to holder or column with parsing of their lexical representation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XsBinaryCodecBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final String[] text = new String[SIZE];
+    private final byte[] binary = new byte[SIZE * XsBinaryCodec.MAX_DATE_TIME_SIZE];
+    private final byte[] delta = new byte[SIZE * XsBinaryCodec.MAX_DATE_TIME_SIZE];
+    private final XsTemporalHolder holder = new XsTemporalHolder();
+    private final XsBinaryCodec.Delta deltaCodec = new XsBinaryCodec.Delta();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        long epochSecond = 1_521_066_600L;
+        int binaryEnd = 0;
+        int deltaEnd = 0;
+        for (int i = 0; i < SIZE; i++) {
+            epochSecond += random.nextInt(10);
+            int nano = random.nextInt(1000) * 1_000_000;
+            StringBuilder builder = new StringBuilder();
+            XsDateTimeFormatter.formatTo(epochSecond, nano, 3600, builder);
+            text[i] = builder.toString();
+            binaryEnd = XsBinaryCodec.writeDateTime(epochSecond, nano, 3600, binary, binaryEnd);
+            deltaEnd = deltaCodec.writeDateTime(epochSecond, nano, 3600, delta, deltaEnd);
+        }
+    }
+
+    @Benchmark
+    public long parseText() {
+        long result = 0;
+        for (String value : text) {
+            XsDateTimeFormatter.parse(value, holder);
+            result += holder.epochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long readBinary() {
+        long result = 0;
+        for (int i = 0, position = 0; i < SIZE; i++) {
+            position = XsBinaryCodec.readDateTime(binary, position, holder);
+            result += holder.epochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long readDelta() {
+        long result = 0;
+        deltaCodec.reset();
+        for (int i = 0, position = 0; i < SIZE; i++) {
+            position = deltaCodec.readDateTime(delta, position, holder);
+            result += holder.epochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public XsDateTimeColumn readDeltaToColumn() {
+        deltaCodec.reset();
+        XsDateTimeColumn result = new XsDateTimeColumn(SIZE);
+        for (int i = 0, position = 0; i < SIZE; i++) {
+            position = deltaCodec.readDateTime(delta, position, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package com.provys.common.xsd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bulk parsing of xs:date and xs:dateTime values from byte input using vectorized layout kernel with scalar
+ * parsing. Vectorized kernel is only selected in forks with {@code jdk.incubator.vector} module; benchmarks without
+ * it measure scalar path of the same methods. Parsing of {@code String} arrays is included as baseline
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XsBulkParseBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final String VECTOR = "--add-modules=jdk.incubator.vector";
+
+    private final String[] dateTimes = new String[SIZE];
+    private final long[] epochDays = new long[SIZE];
+    private final long[] epochSeconds = new long[SIZE];
+    private final int[] nanos = new int[SIZE];
+    private final int[] offsetSeconds = new int[SIZE];
+    private final int[] dateStarts = new int[SIZE];
+    private final int[] dateEnds = new int[SIZE];
+    private final int[] dateTimeStarts = new int[SIZE];
+    private final int[] dateTimeEnds = new int[SIZE];
+    private byte[] dateData;
+    private byte[] dateTimeData;
+
+    /**
+     * Store values to byte array, separated by new line, as they would be read from file
+     */
+    private static byte[] join(String[] values, int[] starts, int[] ends) {
+        for (int i = 0, pos = 0; i < values.length; pos = ends[i++] + 1) {
+            starts[i] = pos;
+            ends[i] = pos + values[i].length();
+        }
+        return String.join("\n", values).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] dates = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            LocalDateTime value = LocalDateTime.ofEpochSecond(random.nextInt(), random.nextInt(1000) * 1_000_000,
+                    ZoneOffset.UTC);
+            int offset = (random.nextInt(57) - 28) * 1800;
+            StringBuilder builder = new StringBuilder();
+            XsDateTimeFormatter.formatTo(value.toEpochSecond(ZoneOffset.UTC), value.getNano(), offset, builder);
+            dateTimes[i] = builder.toString();
+            dates[i] = value.toLocalDate().toString() + XsTimezoneFormatter.format(offset);
+        }
+        dateData = join(dates, dateStarts, dateEnds);
+        dateTimeData = join(dateTimes, dateTimeStarts, dateTimeEnds);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public long[] dateBytesVector() {
+        XsDateFormatter.parseEpochDays(dateData, dateStarts, dateEnds, epochDays, offsetSeconds);
+        return epochDays;
+    }
+
+    @Benchmark
+    public long[] dateBytesScalar() {
+        XsDateFormatter.parseEpochDays(dateData, dateStarts, dateEnds, epochDays, offsetSeconds);
+        return epochDays;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public long[] dateTimeBytesVector() {
+        XsDateTimeFormatter.parseEpochSeconds(dateTimeData, dateTimeStarts, dateTimeEnds, epochSeconds, nanos,
+                offsetSeconds);
+        return epochSeconds;
+    }
+
+    @Benchmark
+    public long[] dateTimeBytesScalar() {
+        XsDateTimeFormatter.parseEpochSeconds(dateTimeData, dateTimeStarts, dateTimeEnds, epochSeconds, nanos,
+                offsetSeconds);
+        return epochSeconds;
+    }
+
+    @Benchmark
+    public long[] dateTimeStrings() {
+        XsDateTimeFormatter.parseEpochSeconds(dateTimes, epochSeconds, nanos, offsetSeconds);
+        return epochSeconds;
+    }
+}
@@ -0,0 +1,118 @@
+package com.provys.common.xsd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing of values in custom dialect by {@link XsDialect} with trying sequence of
+ * {@code DateTimeFormatter}s, one per accepted variation. Also measures cost of dialect settings, parsing the same
+ * strict values by fixed strict parser, by dialect with default (strict) settings and by dialect with all variations
+ * allowed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XsDialectBenchmark {
+
+    private static final XsDialect DIALECT = XsDialect.builder()
+            .delimiters("T ")
+            .optionalSeconds(true)
+            .fractionDigits(0, 3)
+            .build();
+
+    private static final XsDialect STRICT_DIALECT = XsDialect.builder().build();
+
+    private static final XsDialect PERMISSIVE_DIALECT = XsDialect.builder()
+            .delimiters("Tt _")
+            .caseInsensitive(true)
+            .optionalSeconds(true)
+            .singleDigitHour(true)
+            .fractionDigits(0, 9)
+            .lenientOffsets(true)
+            .defaultOffsetSeconds(3600)
+            .build();
+
+    private static final DateTimeFormatter[] FORMATTERS = {
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss[.SSS]"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss[.SSS]"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm")
+    };
+
+    private final String[] values = {"2018-03-14T23:30:00.125", "2018-03-14 23:30:00", "2018-03-14T23:30",
+            "2018-03-14 23:30"};
+    private final String[] strictValues = {"2018-03-14T23:30:00.125Z", "2018-03-14T23:30:00+01:00",
+            "2018-03-14T23:30:00", "2018-03-14T03:30:00.123456-05:00"};
+    private final XsTemporalHolder holder = new XsTemporalHolder();
+
+    @Benchmark
+    public long dialect() {
+        long result = 0;
+        for (String value : values) {
+            DIALECT.parseDateTime(value, holder);
+            result += holder.localEpochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public LocalDateTime formatterSequence() {
+        LocalDateTime result = null;
+        for (String value : values) {
+            for (DateTimeFormatter formatter : FORMATTERS) {
+                try {
+                    result = LocalDateTime.parse(value, formatter);
+                    break;
+                } catch (DateTimeParseException e) {
+                    // try next variation
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long strictFixedParser() {
+        long result = 0;
+        for (String value : strictValues) {
+            XsDateTimeFormatter.parse(value, holder);
+            result += holder.localEpochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long strictDialect() {
+        long result = 0;
+        for (String value : strictValues) {
+            STRICT_DIALECT.parseDateTime(value, holder);
+            result += holder.localEpochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long permissiveDialect() {
+        long result = 0;
+        for (String value : strictValues) {
+            PERMISSIVE_DIALECT.parseDateTime(value, holder);
+            result += holder.localEpochSecond();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package com.provys.common.xsd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares unmarshalling of large document with date / time elements mapped to {@code XMLGregorianCalendar} (JAXB
+ * default) with the same document mapped to java.time types via adapters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XsJaxbBenchmark {
+
+    private static final int ROWS = 10000;
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class CalendarRow {
+        @XmlElement
+        XMLGregorianCalendar day;
+        @XmlElement
+        XMLGregorianCalendar created;
+    }
+
+    @XmlRootElement(name = "rows")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class CalendarRows {
+        @XmlElement(name = "row")
+        List<CalendarRow> rows;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class AdapterRow {
+        @XmlElement
+        @XmlJavaTypeAdapter(XsLocalDateAdapter.class)
+        LocalDate day;
+        @XmlElement
+        @XmlJavaTypeAdapter(XsOffsetDateTimeAdapter.class)
+        OffsetDateTime created;
+    }
+
+    @XmlRootElement(name = "rows")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class AdapterRows {
+        @XmlElement(name = "row")
+        List<AdapterRow> rows;
+    }
+
+    private String document;
+    private JAXBContext calendarContext;
+    private JAXBContext adapterContext;
+
+    @Setup
+    public void setup() throws JAXBException {
+        StringBuilder builder = new StringBuilder(ROWS * 100).append("<rows>");
+        for (int i = 0; i < ROWS; i++) {
+            builder.append("<row><day>");
+            XsTemporalHolder.formatDateTo(2000 + i % 30, 1 + i % 12, 1 + i % 28, builder);
+            builder.append("</day><created>");
+            XsDateTimeFormatter.formatTo(946_684_800L + i * 3607L, (i % 1000) * 1_000_000, 3600, builder);
+            builder.append("</created></row>");
+        }
+        document = builder.append("</rows>").toString();
+        calendarContext = JAXBContext.newInstance(CalendarRows.class);
+        adapterContext = JAXBContext.newInstance(AdapterRows.class);
+    }
+
+    @Benchmark
+    public Object xmlGregorianCalendar() throws JAXBException {
+        return calendarContext.createUnmarshaller().unmarshal(new StringReader(document));
+    }
+
+    @Benchmark
+    public Object adapters() throws JAXBException {
+        return adapterContext.createUnmarshaller().unmarshal(new StringReader(document));
+    }
+}
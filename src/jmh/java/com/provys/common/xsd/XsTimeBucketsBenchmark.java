@@ -0,0 +1,77 @@
+package com.provys.common.xsd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares truncation of column of instants to hours and months in target offset using {@link XsTimeBuckets} with
+ * {@code OffsetDateTime} based truncation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XsTimeBucketsBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final ZoneOffset TARGET = ZoneOffset.ofHours(2);
+
+    private final long[] epochSeconds = new long[SIZE];
+    private final OffsetDateTime[] values = new OffsetDateTime[SIZE];
+    private final long[] result = new long[SIZE];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            epochSeconds[i] = 1_500_000_000L + random.nextInt(100_000_000);
+            values[i] = Instant.ofEpochSecond(epochSeconds[i]).atOffset(ZoneOffset.UTC);
+        }
+    }
+
+    @Benchmark
+    public long[] hoursPrimitive() {
+        XsTimeBuckets.truncate(epochSeconds, 0, SIZE, TARGET.getTotalSeconds(), ChronoUnit.HOURS, result);
+        return result;
+    }
+
+    @Benchmark
+    public long[] hoursOffsetDateTime() {
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = values[i].withOffsetSameInstant(TARGET).truncatedTo(ChronoUnit.HOURS).toEpochSecond();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] monthsPrimitive() {
+        XsTimeBuckets.truncate(epochSeconds, 0, SIZE, TARGET.getTotalSeconds(), ChronoUnit.MONTHS, result);
+        return result;
+    }
+
+    @Benchmark
+    public long[] monthsOffsetDateTime() {
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = values[i].withOffsetSameInstant(TARGET).truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)
+                    .toEpochSecond();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.ZoneOffset;
+
+/**
+ * Support routines shared by JAXB adapters
+ */
+final class XsAdapterSupport {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsAdapterSupport() {}
+
+    /**
+     * Parse default offset, same as accepted by {@code parseLenientTZ} methods (i.e. by
+     * {@link ZoneOffset#of(String)})
+     *
+     * @return offset in seconds
+     */
+    static int defaultOffset(String defOffset) {
+        return ZoneOffset.of(defOffset).getTotalSeconds();
+    }
+
+    /**
+     * Remove whitespace around lexical value, as prescribed by whiteSpace facet of xsd date / time types
+     *
+     * @return trimmed value or null if value is null
+     */
+    @Nullable
+    static String collapse(@Nullable String value) {
+        return (value == null) ? null : value.trim();
+    }
+
+    /**
+     * Parse xs:dateTime value to new holder, assigning default offset to value without timezone
+     *
+     * @param defaultOffset is offset assigned to value without timezone or {@link XsTimezoneFormatter#NO_OFFSET}
+     * @return holder with parsed value
+     */
+    @Nonnull
+    static XsTemporalHolder parseDateTime(String value, boolean lenient, int defaultOffset) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeFormatter.parse(value, 0, value.length(), lenient, holder);
+        if (holder.offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+            holder.offsetSeconds = defaultOffset;
+        }
+        return holder;
+    }
+}
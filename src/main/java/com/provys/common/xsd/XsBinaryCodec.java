@@ -0,0 +1,758 @@
+package com.provys.common.xsd;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary representation of xs:date, xs:time and xs:dateTime values, intended for caching and shipping
+ * parsed values without going through lexical representation. Values are written as sequence of unsigned LEB128
+ * varints; signed quantities are zigzag encoded. Value keeps its original offset and distinction between value with
+ * and without timezone.
+ * <ul>
+ *     <li>xs:date: zigzag(epoch day), offset code</li>
+ *     <li>xs:time: second of day &lt;&lt; 2 | fraction kind, [fraction], offset code</li>
+ *     <li>xs:dateTime: zigzag(local epoch second) &lt;&lt; 2 | fraction kind, [fraction], offset code</li>
+ * </ul>
+ * Local epoch second is epoch second of date and time as written in value (i.e. in its own offset). Fraction kind is
+ * 0 for value without fraction, 1 if fraction is written in milliseconds, 2 in microseconds and 3 in nanoseconds.
+ * Offset code is 0 for value without timezone, zigzag(offset in minutes) &lt;&lt; 1 | 1 for whole minute offsets and
+ * (zigzag(offset in seconds) + 1) &lt;&lt; 1 otherwise. Typical xs:dateTime with millisecond fraction thus takes 8
+ * bytes, xs:date 4 bytes.
+ * <p>
+ * Methods working on {@code byte[]} return position after written / read value; methods working on
+ * {@code ByteBuffer} advance its position. Writing to array with insufficient space fails with
+ * {@code ArrayIndexOutOfBoundsException}, writing to buffer with {@code BufferOverflowException}; space needed never
+ * exceeds {@link #MAX_DATE_SIZE}, {@link #MAX_TIME_SIZE} or {@link #MAX_DATE_TIME_SIZE}. Space is verified before
+ * anything is written to buffer, thus failed write leaves buffer position unchanged; failed write to array might
+ * have overwritten bytes after given position, but nothing before it. Values are limited to years
+ * representable by {@link XsTemporalHolder} (int), writing value outside of this range is rejected with
+ * {@code IllegalArgumentException}. Malformed input, including value outside of this range and value truncated by end
+ * of array or buffer, is reported as {@code IllegalArgumentException}; position of buffer is undefined after such
+ * failure. Sorted sequences can be written more compactly using {@link Delta}
+ */
+public final class XsBinaryCodec {
+
+    /**
+     * Maximal number of bytes occupied by single xs:date value
+     */
+    public static final int MAX_DATE_SIZE = 13;
+    /**
+     * Maximal number of bytes occupied by single xs:time value
+     */
+    public static final int MAX_TIME_SIZE = 11;
+    /**
+     * Maximal number of bytes occupied by single xs:dateTime value (also in delta mode)
+     */
+    public static final int MAX_DATE_TIME_SIZE = 18;
+
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+    private static final long MIN_EPOCH_DAY = XsTemporalHolder.epochDay(Integer.MIN_VALUE, 1, 1);
+    private static final long MAX_EPOCH_DAY = XsTemporalHolder.epochDay(Integer.MAX_VALUE, 12, 31);
+    private static final long MIN_LOCAL_EPOCH_SECOND = MIN_EPOCH_DAY * SECONDS_PER_DAY;
+    private static final long MAX_LOCAL_EPOCH_SECOND = (MAX_EPOCH_DAY + 1) * SECONDS_PER_DAY - 1;
+    /**
+     * Nanoseconds per unit of fraction, indexed by fraction kind
+     */
+    private static final int[] FRACTION_SCALE = {0, 1_000_000, 1000, 1};
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsBinaryCodec() {}
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintSize(long value) {
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    private static int putVarint(long value, byte[] buffer, int position) {
+        long rest = value;
+        while ((rest & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        buffer[position++] = (byte) rest;
+        return position;
+    }
+
+    private static void putVarint(long value, ByteBuffer buffer) {
+        long rest = value;
+        while ((rest & ~0x7FL) != 0) {
+            buffer.put((byte) ((rest & 0x7F) | 0x80));
+            rest >>>= 7;
+        }
+        buffer.put((byte) rest);
+    }
+
+    /**
+     * Verify that buffer has space for value of given size, thus failed write leaves buffer unchanged
+     */
+    private static void checkRemaining(ByteBuffer buffer, int size) {
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    /**
+     * Read varint starting on given position; caller advances position by {@link #varintSize(long)} of result, thus
+     * only canonical (shortest) encoding is accepted
+     */
+    private static long getVarint(byte[] buffer, int position) {
+        long result = 0;
+        int shift = 0;
+        byte current;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint on position " + position);
+            }
+            if (position + shift / 7 >= buffer.length) {
+                throw new IllegalArgumentException("Value truncated on position " + position);
+            }
+            current = buffer[position + shift / 7];
+            result |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while (current < 0);
+        if ((current == 0) && (shift > 7)) {
+            throw new IllegalArgumentException("Non-canonical varint on position " + position);
+        }
+        return result;
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte current;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint on position " + buffer.position());
+            }
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Value truncated on position " + buffer.position());
+            }
+            current = buffer.get();
+            result |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while (current < 0);
+        if ((current == 0) && (shift > 7)) {
+            throw new IllegalArgumentException("Non-canonical varint on position " + buffer.position());
+        }
+        return result;
+    }
+
+    private static int fractionKind(int nano) {
+        if ((nano < 0) || (nano >= NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("Nanosecond out of range: " + nano);
+        }
+        if (nano == 0) {
+            return 0;
+        }
+        if (nano % 1_000_000 == 0) {
+            return 1;
+        }
+        return (nano % 1000 == 0) ? 2 : 3;
+    }
+
+    private static int nano(long fraction, int fractionKind) {
+        if ((fraction < 0) || (fraction >= NANOS_PER_SECOND / FRACTION_SCALE[fractionKind])) {
+            throw new IllegalArgumentException("Fraction out of range: " + fraction);
+        }
+        return (int) fraction * FRACTION_SCALE[fractionKind];
+    }
+
+    private static long offsetCode(int offsetSeconds) {
+        if (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+            return 0;
+        }
+        if (Math.abs(offsetSeconds) > MAX_OFFSET_SECONDS) {
+            throw new IllegalArgumentException("Offset out of range: " + offsetSeconds);
+        }
+        if (offsetSeconds % 60 == 0) {
+            return (zigzag(offsetSeconds / 60) << 1) | 1;
+        }
+        return (zigzag(offsetSeconds) + 1) << 1;
+    }
+
+    private static int offsetSeconds(long offsetCode) {
+        if (offsetCode == 0) {
+            return XsTimezoneFormatter.NO_OFFSET;
+        }
+        long offsetSeconds = ((offsetCode & 1) != 0) ? unzigzag(offsetCode >>> 1) * 60
+                : unzigzag((offsetCode >>> 1) - 1);
+        if (Math.abs(offsetSeconds) > MAX_OFFSET_SECONDS) {
+            throw new IllegalArgumentException("Offset out of range: " + offsetSeconds);
+        }
+        return (int) offsetSeconds;
+    }
+
+    private static long checkEpochDay(long epochDay) {
+        if ((epochDay < MIN_EPOCH_DAY) || (epochDay > MAX_EPOCH_DAY)) {
+            throw new IllegalArgumentException("Epoch day out of range: " + epochDay);
+        }
+        return epochDay;
+    }
+
+    private static long checkLocalEpochSecond(long localEpochSecond) {
+        if ((localEpochSecond < MIN_LOCAL_EPOCH_SECOND) || (localEpochSecond > MAX_LOCAL_EPOCH_SECOND)) {
+            throw new IllegalArgumentException("Epoch second out of range: " + localEpochSecond);
+        }
+        return localEpochSecond;
+    }
+
+    /**
+     * @return local epoch second of value, verified to be in supported range
+     */
+    private static long localEpochSecond(long epochSecond, int offsetSeconds) {
+        if ((epochSecond < MIN_LOCAL_EPOCH_SECOND - MAX_OFFSET_SECONDS)
+                || (epochSecond > MAX_LOCAL_EPOCH_SECOND + MAX_OFFSET_SECONDS)) {
+            throw new IllegalArgumentException("Epoch second out of range: " + epochSecond);
+        }
+        return checkLocalEpochSecond((offsetSeconds == XsTimezoneFormatter.NO_OFFSET) ? epochSecond
+                : epochSecond + offsetSeconds);
+    }
+
+    private static long epochSecond(long localEpochSecond, int offsetSeconds) {
+        return (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) ? localEpochSecond
+                : localEpochSecond - offsetSeconds;
+    }
+
+    private static void setDate(long epochDay, int offsetSeconds, XsTemporalHolder holder) {
+        holder.clear();
+        holder.setEpochDay(epochDay);
+        holder.offsetSeconds = offsetSeconds;
+    }
+
+    private static void setTime(long timeHeader, int nano, int offsetSeconds, XsTemporalHolder holder) {
+        long secondOfDay = timeHeader >>> 2;
+        if (secondOfDay >= SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("Second of day out of range: " + secondOfDay);
+        }
+        holder.clear();
+        holder.hour = (int) secondOfDay / 3600;
+        holder.minute = (int) (secondOfDay / 60) % 60;
+        holder.second = (int) secondOfDay % 60;
+        holder.nano = nano;
+        holder.offsetSeconds = offsetSeconds;
+    }
+
+    private static void setDateTime(long localEpochSecond, int nano, int offsetSeconds, XsTemporalHolder holder) {
+        holder.setEpochSecond(localEpochSecond, nano, XsTimezoneFormatter.NO_OFFSET);
+        holder.offsetSeconds = offsetSeconds;
+    }
+
+    /**
+     * Write xs:date value to array
+     *
+     * @param epochDay is epoch day of date
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for date without timezone
+     * @param buffer is array value is written to
+     * @param position is position value is written on
+     * @return position after written value
+     */
+    public static int writeDate(long epochDay, int offsetSeconds, byte[] buffer, int position) {
+        long offsetCode = offsetCode(offsetSeconds);
+        return putVarint(offsetCode, buffer, putVarint(zigzag(checkEpochDay(epochDay)), buffer, position));
+    }
+
+    /**
+     * Write xs:date value to buffer, advancing its position
+     *
+     * @param epochDay is epoch day of date
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for date without timezone
+     * @param buffer is buffer value is written to
+     */
+    public static void writeDate(long epochDay, int offsetSeconds, ByteBuffer buffer) {
+        long dateCode = zigzag(checkEpochDay(epochDay));
+        long offsetCode = offsetCode(offsetSeconds);
+        checkRemaining(buffer, varintSize(dateCode) + varintSize(offsetCode));
+        putVarint(dateCode, buffer);
+        putVarint(offsetCode, buffer);
+    }
+
+    /**
+     * Read xs:date value from array to holder; time fields of holder are cleared
+     *
+     * @return position after read value
+     */
+    public static int readDate(byte[] buffer, int position, XsTemporalHolder holder) {
+        long dateCode = getVarint(buffer, position);
+        int offsetPosition = position + varintSize(dateCode);
+        long offsetCode = getVarint(buffer, offsetPosition);
+        setDate(checkEpochDay(unzigzag(dateCode)), offsetSeconds(offsetCode), holder);
+        return offsetPosition + varintSize(offsetCode);
+    }
+
+    /**
+     * Read xs:date value from buffer to holder, advancing buffer position; time fields of holder are cleared
+     */
+    public static void readDate(ByteBuffer buffer, XsTemporalHolder holder) {
+        long dateCode = getVarint(buffer);
+        setDate(checkEpochDay(unzigzag(dateCode)), offsetSeconds(getVarint(buffer)), holder);
+    }
+
+    /**
+     * Write xs:time value to array
+     *
+     * @param nanoOfDay is nanosecond of day
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for time without timezone
+     * @param buffer is array value is written to
+     * @param position is position value is written on
+     * @return position after written value
+     */
+    public static int writeTime(long nanoOfDay, int offsetSeconds, byte[] buffer, int position) {
+        if ((nanoOfDay < 0) || (nanoOfDay >= SECONDS_PER_DAY * NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("Nanosecond of day out of range: " + nanoOfDay);
+        }
+        int nano = (int) (nanoOfDay % NANOS_PER_SECOND);
+        int fractionKind = fractionKind(nano);
+        long offsetCode = offsetCode(offsetSeconds);
+        int result = putVarint(((nanoOfDay / NANOS_PER_SECOND) << 2) | fractionKind, buffer, position);
+        if (fractionKind != 0) {
+            result = putVarint(nano / FRACTION_SCALE[fractionKind], buffer, result);
+        }
+        return putVarint(offsetCode, buffer, result);
+    }
+
+    /**
+     * Write xs:time value to buffer, advancing its position
+     *
+     * @param nanoOfDay is nanosecond of day
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for time without timezone
+     * @param buffer is buffer value is written to
+     */
+    public static void writeTime(long nanoOfDay, int offsetSeconds, ByteBuffer buffer) {
+        if ((nanoOfDay < 0) || (nanoOfDay >= SECONDS_PER_DAY * NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("Nanosecond of day out of range: " + nanoOfDay);
+        }
+        int nano = (int) (nanoOfDay % NANOS_PER_SECOND);
+        int fractionKind = fractionKind(nano);
+        long offsetCode = offsetCode(offsetSeconds);
+        long timeHeader = ((nanoOfDay / NANOS_PER_SECOND) << 2) | fractionKind;
+        long fraction = (fractionKind == 0) ? 0 : nano / FRACTION_SCALE[fractionKind];
+        checkRemaining(buffer, varintSize(timeHeader) + ((fractionKind == 0) ? 0 : varintSize(fraction))
+                + varintSize(offsetCode));
+        putVarint(timeHeader, buffer);
+        if (fractionKind != 0) {
+            putVarint(fraction, buffer);
+        }
+        putVarint(offsetCode, buffer);
+    }
+
+    /**
+     * Read xs:time value from array to holder; date fields of holder are cleared
+     *
+     * @return position after read value
+     */
+    public static int readTime(byte[] buffer, int position, XsTemporalHolder holder) {
+        long timeHeader = getVarint(buffer, position);
+        int result = position + varintSize(timeHeader);
+        int fractionKind = (int) timeHeader & 3;
+        int nano = 0;
+        if (fractionKind != 0) {
+            long fraction = getVarint(buffer, result);
+            result += varintSize(fraction);
+            nano = nano(fraction, fractionKind);
+        }
+        long offsetCode = getVarint(buffer, result);
+        setTime(timeHeader, nano, offsetSeconds(offsetCode), holder);
+        return result + varintSize(offsetCode);
+    }
+
+    /**
+     * Read xs:time value from buffer to holder, advancing buffer position; date fields of holder are cleared
+     */
+    public static void readTime(ByteBuffer buffer, XsTemporalHolder holder) {
+        long timeHeader = getVarint(buffer);
+        int fractionKind = (int) timeHeader & 3;
+        int nano = (fractionKind == 0) ? 0 : nano(getVarint(buffer), fractionKind);
+        setTime(timeHeader, nano, offsetSeconds(getVarint(buffer)), holder);
+    }
+
+    /**
+     * Write xs:dateTime value to array
+     *
+     * @param epochSecond is epoch second of instant (or of local date and time if value has no timezone), same as
+     *                   used by {@link XsDateTimeColumn}
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for value without timezone
+     * @param buffer is array value is written to
+     * @param position is position value is written on
+     * @return position after written value
+     */
+    public static int writeDateTime(long epochSecond, int nano, int offsetSeconds, byte[] buffer, int position) {
+        int fractionKind = fractionKind(nano);
+        long offsetCode = offsetCode(offsetSeconds);
+        int result = putVarint((zigzag(localEpochSecond(epochSecond, offsetSeconds)) << 2) | fractionKind, buffer,
+                position);
+        if (fractionKind != 0) {
+            result = putVarint(nano / FRACTION_SCALE[fractionKind], buffer, result);
+        }
+        return putVarint(offsetCode, buffer, result);
+    }
+
+    /**
+     * Write xs:dateTime value to buffer, advancing its position
+     *
+     * @param epochSecond is epoch second of instant (or of local date and time if value has no timezone), same as
+     *                   used by {@link XsDateTimeColumn}
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for value without timezone
+     * @param buffer is buffer value is written to
+     */
+    public static void writeDateTime(long epochSecond, int nano, int offsetSeconds, ByteBuffer buffer) {
+        int fractionKind = fractionKind(nano);
+        long offsetCode = offsetCode(offsetSeconds);
+        long header = (zigzag(localEpochSecond(epochSecond, offsetSeconds)) << 2) | fractionKind;
+        long fraction = (fractionKind == 0) ? 0 : nano / FRACTION_SCALE[fractionKind];
+        checkRemaining(buffer, varintSize(header) + ((fractionKind == 0) ? 0 : varintSize(fraction))
+                + varintSize(offsetCode));
+        putVarint(header, buffer);
+        if (fractionKind != 0) {
+            putVarint(fraction, buffer);
+        }
+        putVarint(offsetCode, buffer);
+    }
+
+    /**
+     * Read xs:dateTime value from array to holder
+     *
+     * @return position after read value
+     */
+    public static int readDateTime(byte[] buffer, int position, XsTemporalHolder holder) {
+        long header = getVarint(buffer, position);
+        int result = position + varintSize(header);
+        int fractionKind = (int) header & 3;
+        int nano = 0;
+        if (fractionKind != 0) {
+            long fraction = getVarint(buffer, result);
+            result += varintSize(fraction);
+            nano = nano(fraction, fractionKind);
+        }
+        long offsetCode = getVarint(buffer, result);
+        setDateTime(checkLocalEpochSecond(unzigzag(header >>> 2)), nano, offsetSeconds(offsetCode), holder);
+        return result + varintSize(offsetCode);
+    }
+
+    /**
+     * Read xs:dateTime value from buffer to holder, advancing buffer position
+     */
+    public static void readDateTime(ByteBuffer buffer, XsTemporalHolder holder) {
+        long header = getVarint(buffer);
+        int fractionKind = (int) header & 3;
+        int nano = (fractionKind == 0) ? 0 : nano(getVarint(buffer), fractionKind);
+        setDateTime(checkLocalEpochSecond(unzigzag(header >>> 2)), nano, offsetSeconds(getVarint(buffer)),
+                holder);
+    }
+
+    /**
+     * Read xs:dateTime value from array and append it to column, without conversion to calendar fields
+     *
+     * @return position after read value
+     */
+    public static int readDateTime(byte[] buffer, int position, XsDateTimeColumn column) {
+        long header = getVarint(buffer, position);
+        int result = position + varintSize(header);
+        int fractionKind = (int) header & 3;
+        int nano = 0;
+        if (fractionKind != 0) {
+            long fraction = getVarint(buffer, result);
+            result += varintSize(fraction);
+            nano = nano(fraction, fractionKind);
+        }
+        long offsetCode = getVarint(buffer, result);
+        int offsetSeconds = offsetSeconds(offsetCode);
+        column.add(epochSecond(checkLocalEpochSecond(unzigzag(header >>> 2)), offsetSeconds), nano, offsetSeconds);
+        return result + varintSize(offsetCode);
+    }
+
+    /**
+     * Read xs:dateTime value from buffer and append it to column, without conversion to calendar fields; advances
+     * buffer position
+     */
+    public static void readDateTime(ByteBuffer buffer, XsDateTimeColumn column) {
+        long header = getVarint(buffer);
+        int fractionKind = (int) header & 3;
+        int nano = (fractionKind == 0) ? 0 : nano(getVarint(buffer), fractionKind);
+        int offsetSeconds = offsetSeconds(getVarint(buffer));
+        column.add(epochSecond(checkLocalEpochSecond(unzigzag(header >>> 2)), offsetSeconds), nano, offsetSeconds);
+    }
+
+    /**
+     * Delta encoding of sequence of xs:date or xs:dateTime values. Each value is written as difference from previous
+     * value in sequence and its offset code is only written if it differs from offset of previous value:
+     * <ul>
+     *     <li>xs:date: zigzag(epoch day delta) &lt;&lt; 1 | offset changed, [offset code]</li>
+     *     <li>xs:dateTime: zigzag(local epoch second delta) &lt;&lt; 3 | fraction kind &lt;&lt; 1 | offset changed,
+     *     [fraction], [offset code]</li>
+     * </ul>
+     * Sequence can be in any order, but it is compact only if neighbouring values are close to each other, e.g. for
+     * sorted time series - values up to seven seconds apart without fraction in the same offset take single byte
+     * each, values up to 1023 seconds apart two bytes.
+     * Sequence must be read by instance in the same state as was used for writing (typically new or after
+     * {@link #reset()}) and in the same order; values of different types must not be mixed in single sequence.
+     * State of instance only changes after value has been completely written, thus write that failed because of
+     * insufficient space can be retried with the same value (e.g. after flushing buffer).
+     * Instance is not thread-safe
+     */
+    public static final class Delta {
+
+        private long previous;
+        private long previousOffsetCode;
+
+        /**
+         * Create delta codec at beginning of sequence
+         */
+        public Delta() {
+            reset();
+        }
+
+        /**
+         * Reset codec to beginning of sequence
+         */
+        public void reset() {
+            previous = 0;
+            previousOffsetCode = 0;
+        }
+
+        /**
+         * @return header of xs:date value; state of codec is not modified
+         */
+        private long dateHeader(long epochDay, long offsetCode) {
+            return (zigzag(checkEpochDay(epochDay) - previous) << 1)
+                    | ((offsetCode == previousOffsetCode) ? 0 : 1);
+        }
+
+        /**
+         * @return header of xs:dateTime value; state of codec is not modified
+         */
+        private long dateTimeHeader(long localEpochSecond, int fractionKind, long offsetCode) {
+            return (zigzag(localEpochSecond - previous) << 3) | (fractionKind << 1)
+                    | ((offsetCode == previousOffsetCode) ? 0 : 1);
+        }
+
+        /**
+         * @return number of bytes occupied by value with given header, fraction and offset code
+         */
+        private int size(long header, int fractionKind, long fraction, long offsetCode) {
+            return varintSize(header) + ((fractionKind == 0) ? 0 : varintSize(fraction))
+                    + ((offsetCode == previousOffsetCode) ? 0 : varintSize(offsetCode));
+        }
+
+        private int offsetSeconds(long offsetCode) {
+            int offsetSeconds = XsBinaryCodec.offsetSeconds(offsetCode);
+            previousOffsetCode = offsetCode;
+            return offsetSeconds;
+        }
+
+        /**
+         * Write next xs:date value of sequence to array
+         *
+         * @param epochDay is epoch day of date
+         * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for date without
+         *                     timezone
+         * @param buffer is array value is written to
+         * @param position is position value is written on
+         * @return position after written value
+         */
+        public int writeDate(long epochDay, int offsetSeconds, byte[] buffer, int position) {
+            long offsetCode = offsetCode(offsetSeconds);
+            int result = putVarint(dateHeader(epochDay, offsetCode), buffer, position);
+            if (offsetCode != previousOffsetCode) {
+                result = putVarint(offsetCode, buffer, result);
+            }
+            previous = epochDay;
+            previousOffsetCode = offsetCode;
+            return result;
+        }
+
+        /**
+         * Write next xs:date value of sequence to buffer, advancing its position
+         *
+         * @param epochDay is epoch day of date
+         * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for date without
+         *                     timezone
+         * @param buffer is buffer value is written to
+         */
+        public void writeDate(long epochDay, int offsetSeconds, ByteBuffer buffer) {
+            long offsetCode = offsetCode(offsetSeconds);
+            long header = dateHeader(epochDay, offsetCode);
+            checkRemaining(buffer, size(header, 0, 0, offsetCode));
+            putVarint(header, buffer);
+            if (offsetCode != previousOffsetCode) {
+                putVarint(offsetCode, buffer);
+            }
+            previous = epochDay;
+            previousOffsetCode = offsetCode;
+        }
+
+        /**
+         * Read next xs:date value of sequence from array to holder; time fields of holder are cleared
+         *
+         * @return position after read value
+         */
+        public int readDate(byte[] buffer, int position, XsTemporalHolder holder) {
+            long header = getVarint(buffer, position);
+            int result = position + varintSize(header);
+            long offsetCode = previousOffsetCode;
+            if ((header & 1) != 0) {
+                offsetCode = getVarint(buffer, result);
+                result += varintSize(offsetCode);
+            }
+            int offsetSeconds = offsetSeconds(offsetCode);
+            previous = checkEpochDay(previous + unzigzag(header >>> 1));
+            setDate(previous, offsetSeconds, holder);
+            return result;
+        }
+
+        /**
+         * Read next xs:date value of sequence from buffer to holder, advancing buffer position; time fields of holder
+         * are cleared
+         */
+        public void readDate(ByteBuffer buffer, XsTemporalHolder holder) {
+            long header = getVarint(buffer);
+            int offsetSeconds = offsetSeconds(((header & 1) != 0) ? getVarint(buffer) : previousOffsetCode);
+            previous = checkEpochDay(previous + unzigzag(header >>> 1));
+            setDate(previous, offsetSeconds, holder);
+        }
+
+        /**
+         * Write next xs:dateTime value of sequence to array
+         *
+         * @param epochSecond is epoch second of instant (or of local date and time if value has no timezone)
+         * @param nano is nanosecond of second
+         * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for value without
+         *                     timezone
+         * @param buffer is array value is written to
+         * @param position is position value is written on
+         * @return position after written value
+         */
+        public int writeDateTime(long epochSecond, int nano, int offsetSeconds, byte[] buffer, int position) {
+            int fractionKind = fractionKind(nano);
+            long offsetCode = offsetCode(offsetSeconds);
+            long localEpochSecond = localEpochSecond(epochSecond, offsetSeconds);
+            int result = putVarint(dateTimeHeader(localEpochSecond, fractionKind, offsetCode), buffer, position);
+            if (fractionKind != 0) {
+                result = putVarint(nano / FRACTION_SCALE[fractionKind], buffer, result);
+            }
+            if (offsetCode != previousOffsetCode) {
+                result = putVarint(offsetCode, buffer, result);
+            }
+            previous = localEpochSecond;
+            previousOffsetCode = offsetCode;
+            return result;
+        }
+
+        /**
+         * Write next xs:dateTime value of sequence to buffer, advancing its position
+         *
+         * @param epochSecond is epoch second of instant (or of local date and time if value has no timezone)
+         * @param nano is nanosecond of second
+         * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} for value without
+         *                     timezone
+         * @param buffer is buffer value is written to
+         */
+        public void writeDateTime(long epochSecond, int nano, int offsetSeconds, ByteBuffer buffer) {
+            int fractionKind = fractionKind(nano);
+            long offsetCode = offsetCode(offsetSeconds);
+            long localEpochSecond = localEpochSecond(epochSecond, offsetSeconds);
+            long header = dateTimeHeader(localEpochSecond, fractionKind, offsetCode);
+            long fraction = (fractionKind == 0) ? 0 : nano / FRACTION_SCALE[fractionKind];
+            checkRemaining(buffer, size(header, fractionKind, fraction, offsetCode));
+            putVarint(header, buffer);
+            if (fractionKind != 0) {
+                putVarint(fraction, buffer);
+            }
+            if (offsetCode != previousOffsetCode) {
+                putVarint(offsetCode, buffer);
+            }
+            previous = localEpochSecond;
+            previousOffsetCode = offsetCode;
+        }
+
+        /**
+         * Read next xs:dateTime value of sequence from array to holder
+         *
+         * @return position after read value
+         */
+        public int readDateTime(byte[] buffer, int position, XsTemporalHolder holder) {
+            long header = getVarint(buffer, position);
+            int result = position + varintSize(header);
+            int fractionKind = (int) (header >>> 1) & 3;
+            int nano = 0;
+            if (fractionKind != 0) {
+                long fraction = getVarint(buffer, result);
+                result += varintSize(fraction);
+                nano = nano(fraction, fractionKind);
+            }
+            long offsetCode = previousOffsetCode;
+            if ((header & 1) != 0) {
+                offsetCode = getVarint(buffer, result);
+                result += varintSize(offsetCode);
+            }
+            int offsetSeconds = offsetSeconds(offsetCode);
+            previous = checkLocalEpochSecond(previous + unzigzag(header >>> 3));
+            setDateTime(previous, nano, offsetSeconds, holder);
+            return result;
+        }
+
+        /**
+         * Read next xs:dateTime value of sequence from buffer to holder, advancing buffer position
+         */
+        public void readDateTime(ByteBuffer buffer, XsTemporalHolder holder) {
+            long header = getVarint(buffer);
+            int fractionKind = (int) (header >>> 1) & 3;
+            int nano = (fractionKind == 0) ? 0 : nano(getVarint(buffer), fractionKind);
+            int offsetSeconds = offsetSeconds(((header & 1) != 0) ? getVarint(buffer) : previousOffsetCode);
+            previous = checkLocalEpochSecond(previous + unzigzag(header >>> 3));
+            setDateTime(previous, nano, offsetSeconds, holder);
+        }
+
+        /**
+         * Read next xs:dateTime value of sequence from array and append it to column, without conversion to
+         * calendar fields
+         *
+         * @return position after read value
+         */
+        public int readDateTime(byte[] buffer, int position, XsDateTimeColumn column) {
+            long header = getVarint(buffer, position);
+            int result = position + varintSize(header);
+            int fractionKind = (int) (header >>> 1) & 3;
+            int nano = 0;
+            if (fractionKind != 0) {
+                long fraction = getVarint(buffer, result);
+                result += varintSize(fraction);
+                nano = nano(fraction, fractionKind);
+            }
+            long offsetCode = previousOffsetCode;
+            if ((header & 1) != 0) {
+                offsetCode = getVarint(buffer, result);
+                result += varintSize(offsetCode);
+            }
+            int offsetSeconds = offsetSeconds(offsetCode);
+            previous = checkLocalEpochSecond(previous + unzigzag(header >>> 3));
+            column.add(epochSecond(previous, offsetSeconds), nano, offsetSeconds);
+            return result;
+        }
+
+        /**
+         * Read next xs:dateTime value of sequence from buffer and append it to column, without conversion to
+         * calendar fields; advances buffer position
+         */
+        public void readDateTime(ByteBuffer buffer, XsDateTimeColumn column) {
+            long header = getVarint(buffer);
+            int fractionKind = (int) (header >>> 1) & 3;
+            int nano = (fractionKind == 0) ? 0 : nano(getVarint(buffer), fractionKind);
+            int offsetSeconds = offsetSeconds(((header & 1) != 0) ? getVarint(buffer) : previousOffsetCode);
+            previous = checkLocalEpochSecond(previous + unzigzag(header >>> 3));
+            column.add(epochSecond(previous, offsetSeconds), nano, offsetSeconds);
+        }
+    }
+}
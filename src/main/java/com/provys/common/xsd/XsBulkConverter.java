@@ -0,0 +1,742 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validates large files of xs:date, xs:time or xs:dateTime values or converts them to canonical representation.
+ * Values are read line by line, either as whole lines or as selected column of delimited file (double-quoted fields
+ * are supported and may contain separator, but not line breaks or escaped quotes). Input is read sequentially and
+ * processed in batches of lines by configurable number of worker threads, output is written in order of input lines.
+ * Invalid value does not stop processing - line containing it is copied to output unchanged and failure is counted
+ * by its type. Empty values are skipped and their lines copied unchanged. Input and output use UTF-8, output lines
+ * are terminated by line feed.
+ * <p>
+ * Conversion writes value in canonical form; time and dateTime values can be shifted to target offset (e.g. UTC),
+ * values without timezone can be assigned default offset first. Value without timezone is failure when target offset
+ * is set and default offset is not.
+ * <p>
+ * Class also serves as command line entry point of library jar, see {@link #main(String[])}. Converter is immutable
+ * and thread-safe
+ */
+public final class XsBulkConverter {
+
+    /**
+     * Statistics of single validation or conversion
+     */
+    public static final class Statistics {
+
+        private final long bytes;
+        private final long values;
+        private final long failures;
+        private final long elapsedNanos;
+        private final Map<String, Long> failureHistogram;
+        private final List<String> failureSamples;
+
+        Statistics(long bytes, long values, long failures, long elapsedNanos, Map<String, Long> failureHistogram,
+                   List<String> failureSamples) {
+            this.bytes = bytes;
+            this.values = values;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            this.failureHistogram = failureHistogram;
+            this.failureSamples = failureSamples;
+        }
+
+        /**
+         * @return size of input in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return number of processed (non-empty) values, including lines where value column is missing
+         */
+        public long getValues() {
+            return values;
+        }
+
+        /**
+         * @return number of values that failed validation or conversion
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return elapsed time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return throughput in megabytes (10^6 bytes) per second
+         */
+        public double getMegabytesPerSecond() {
+            return (elapsedNanos == 0) ? 0 : bytes * 1000.0 / elapsedNanos;
+        }
+
+        /**
+         * @return throughput in values per second
+         */
+        public double getValuesPerSecond() {
+            return (elapsedNanos == 0) ? 0 : values * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return number of failures by failure type (message of exception without position and value), ordered by
+         * descending count
+         */
+        @Nonnull
+        public Map<String, Long> getFailureHistogram() {
+            return failureHistogram;
+        }
+
+        /**
+         * @return descriptions of the first failures (at most {@value #MAX_FAILURE_SAMPLES}), including line number
+         */
+        @Nonnull
+        public List<String> getFailureSamples() {
+            return failureSamples;
+        }
+
+        /**
+         * Print human readable report to given stream
+         */
+        public void report(PrintStream out) {
+            out.printf(Locale.ROOT, "Values: %d, failures: %d, bytes: %d%n", values, failures, bytes);
+            out.printf(Locale.ROOT, "Elapsed: %.3f s, %.0f values/s, %.1f MB/s%n", elapsedNanos / 1e9,
+                    getValuesPerSecond(), getMegabytesPerSecond());
+            if (!failureHistogram.isEmpty()) {
+                out.println("Failures by type:");
+                failureHistogram.forEach((type, count) -> out.printf(Locale.ROOT, "%12d  %s%n", count, type));
+                out.println("First failures:");
+                failureSamples.forEach(sample -> out.println("  " + sample));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Statistics{bytes=%d, values=%d, failures=%d, elapsed=%.3f ms, "
+                    + "%.1f MB/s}", bytes, values, failures, elapsedNanos / 1e6, getMegabytesPerSecond());
+        }
+    }
+
+    /**
+     * Maximal number of failure descriptions kept in statistics
+     */
+    public static final int MAX_FAILURE_SAMPLES = 10;
+
+    private static final int BATCH_SIZE = 4096;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String USAGE = "Usage: java -jar xsd.jar [options] [input [output]]\n"
+            + "Validates file of xsd date / time values (one per line or in column of delimited file) or converts\n"
+            + "them to canonical representation. Input and output default to standard input / output (also -).\n"
+            + "Options:\n"
+            + "  --type date|time|dateTime  type of values (default dateTime)\n"
+            + "  --lenient                  use lenient validation\n"
+            + "  --convert                  write converted values to output (default is validation only)\n"
+            + "  --column N                 take values from zero based column N of delimited file\n"
+            + "  --separator C              column separator (default ,)\n"
+            + "  --header                   first line is header, copied to output as is\n"
+            + "  --offset TZ                convert time / dateTime values to given offset (e.g. Z)\n"
+            + "  --default-offset TZ        offset of values without timezone\n"
+            + "  --workers N                number of worker threads (default number of processors)\n"
+            + "Statistics are printed to standard error; exit status is 0 if all values are valid, 1 if there\n"
+            + "were failures and 2 in case of invalid arguments or I/O error";
+
+    private final XsParseProcessor.ValueType type;
+    private final boolean lenient;
+    private final int column;
+    private final char separator;
+    private final boolean header;
+    private final int targetOffset;
+    private final int defaultOffset;
+    private final int workers;
+
+    private XsBulkConverter(XsParseProcessor.ValueType type, boolean lenient, int column, char separator,
+                            boolean header, int targetOffset, int defaultOffset, int workers) {
+        this.type = type;
+        this.lenient = lenient;
+        this.column = column;
+        this.separator = separator;
+        this.header = header;
+        this.targetOffset = targetOffset;
+        this.defaultOffset = defaultOffset;
+        this.workers = workers;
+    }
+
+    /**
+     * Create converter processing values of given type, one value per line, using strict validation, keeping offset
+     * of values and using number of workers equal to number of available processors
+     *
+     * @param type is type of processed values
+     * @return converter for given type
+     */
+    @Nonnull
+    public static XsBulkConverter of(XsParseProcessor.ValueType type) {
+        return new XsBulkConverter(Objects.requireNonNull(type), false, -1, ',', false,
+                XsTimezoneFormatter.NO_OFFSET, XsTimezoneFormatter.NO_OFFSET,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @return converter with given validation mode
+     */
+    @Nonnull
+    public XsBulkConverter withLenient(boolean newLenient) {
+        return new XsBulkConverter(type, newLenient, column, separator, header, targetOffset, defaultOffset,
+                workers);
+    }
+
+    /**
+     * Return converter taking values from column of delimited file
+     *
+     * @param newSeparator is field separator
+     * @param newHeader indicates that the first line of file is header; it is copied to output unchanged
+     * @param newColumn is zero based index of column containing values
+     * @return converter reading given column
+     */
+    @Nonnull
+    public XsBulkConverter withColumn(char newSeparator, boolean newHeader, int newColumn) {
+        if (newColumn < 0) {
+            throw new IllegalArgumentException("Column index cannot be negative: " + newColumn);
+        }
+        if (newSeparator == '"') {
+            throw new IllegalArgumentException("Quote cannot be used as separator");
+        }
+        return new XsBulkConverter(type, lenient, newColumn, newSeparator, newHeader, targetOffset, defaultOffset,
+                workers);
+    }
+
+    /**
+     * Return converter shifting converted values to given offset
+     *
+     * @param newTargetOffset is target offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} to keep offset
+     *                       of values
+     * @return converter with given target offset
+     */
+    @Nonnull
+    public XsBulkConverter withTargetOffset(int newTargetOffset) {
+        if ((newTargetOffset != XsTimezoneFormatter.NO_OFFSET) && (type == XsParseProcessor.ValueType.DATE)) {
+            throw new IllegalArgumentException("Target offset is not supported for xs:date values");
+        }
+        return new XsBulkConverter(type, lenient, column, separator, header, newTargetOffset, defaultOffset,
+                workers);
+    }
+
+    /**
+     * Return converter assigning given offset to values without timezone
+     *
+     * @param newDefaultOffset is default offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} to keep values
+     *                         without timezone
+     * @return converter with given default offset
+     */
+    @Nonnull
+    public XsBulkConverter withDefaultOffset(int newDefaultOffset) {
+        return new XsBulkConverter(type, lenient, column, separator, header, targetOffset, newDefaultOffset,
+                workers);
+    }
+
+    /**
+     * @return converter using given number of worker threads
+     */
+    @Nonnull
+    public XsBulkConverter withWorkers(int newWorkers) {
+        if (newWorkers <= 0) {
+            throw new IllegalArgumentException("Number of workers must be positive: " + newWorkers);
+        }
+        return new XsBulkConverter(type, lenient, column, separator, header, targetOffset, defaultOffset,
+                newWorkers);
+    }
+
+    /**
+     * Validate values read from input stream. Stream is read to its end, but not closed
+     *
+     * @return statistics of validation
+     * @throws IOException if input cannot be read
+     */
+    @Nonnull
+    public Statistics validate(InputStream in) throws IOException {
+        return process(in, null);
+    }
+
+    /**
+     * Convert values read from input stream and write lines with converted values to output stream. Input is read
+     * to its end, output is flushed; neither of them is closed
+     *
+     * @return statistics of conversion
+     * @throws IOException if input cannot be read or output cannot be written
+     */
+    @Nonnull
+    public Statistics convert(InputStream in, OutputStream out) throws IOException {
+        return process(in, Objects.requireNonNull(out));
+    }
+
+    @Nonnull
+    private Statistics process(InputStream in, @Nullable OutputStream out) throws IOException {
+        long startTime = System.nanoTime();
+        CountingInputStream counter = new CountingInputStream(in);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        Writer writer = (out == null) ? null
+                : new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        BatchResult total = new BatchResult(false);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            long lineNumber = 1;
+            if (header) {
+                String line = reader.readLine();
+                if (line != null) {
+                    lineNumber++;
+                    if (writer != null) {
+                        writer.write(line);
+                        writer.write('\n');
+                    }
+                }
+            }
+            Deque<Future<BatchResult>> pending = new ArrayDeque<>();
+            String[] lines = new String[BATCH_SIZE];
+            int count = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines[count++] = line;
+                if (count == BATCH_SIZE) {
+                    pending.add(submit(executor, lines, count, lineNumber, writer != null));
+                    lineNumber += count;
+                    lines = new String[BATCH_SIZE];
+                    count = 0;
+                    if (pending.size() >= 2 * workers) {
+                        complete(pending.removeFirst(), total, writer);
+                    }
+                }
+            }
+            if (count > 0) {
+                pending.add(submit(executor, lines, count, lineNumber, writer != null));
+            }
+            while (!pending.isEmpty()) {
+                complete(pending.removeFirst(), total, writer);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        total.histogram.entrySet().stream()
+                .sorted((first, second) -> Long.compare(second.getValue()[0], first.getValue()[0]))
+                .forEach(entry -> histogram.put(entry.getKey(), entry.getValue()[0]));
+        return new Statistics(counter.count, total.values, total.failures, System.nanoTime() - startTime,
+                Collections.unmodifiableMap(histogram), Collections.unmodifiableList(total.samples));
+    }
+
+    @Nonnull
+    private Future<BatchResult> submit(ExecutorService executor, String[] lines, int count, long firstLine,
+                                       boolean output) {
+        return executor.submit(() -> processBatch(lines, count, firstLine, output));
+    }
+
+    /**
+     * Wait for batch, write its output and add its statistics to total
+     */
+    private static void complete(Future<BatchResult> future, BatchResult total, @Nullable Writer writer)
+            throws IOException {
+        BatchResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Conversion interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        if (writer != null) {
+            writer.append(result.output);
+        }
+        total.add(result);
+    }
+
+    /**
+     * Evaluate failure type from exception message; position, value and numbers in message are omitted so that
+     * failures of the same kind are counted together
+     */
+    @Nonnull
+    static String failureType(RuntimeException e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return e.getClass().getSimpleName();
+        }
+        int end = message.indexOf(" at index ");
+        if (end < 0) {
+            end = message.length();
+        }
+        for (int i = 0; i < end; i++) {
+            char c = message.charAt(i);
+            if ((c >= '0') && (c <= '9')) {
+                end = i;
+                break;
+            }
+        }
+        return message.substring(0, end).trim();
+    }
+
+    private static boolean isWhitespace(char value) {
+        return (value == ' ') || (value == '\t') || (value == '\r') || (value == '\n');
+    }
+
+    /**
+     * Find end of field starting on given position; separators inside double quotes do not end field
+     *
+     * @return index of separator ending field or length of line if field is the last one
+     */
+    private int fieldEnd(String line, int start) {
+        boolean quoted = false;
+        for (int pos = start; pos < line.length(); pos++) {
+            char c = line.charAt(pos);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if ((c == separator) && !quoted) {
+                return pos;
+            }
+        }
+        return line.length();
+    }
+
+    @Nonnull
+    private BatchResult processBatch(String[] lines, int count, long firstLine, boolean output) {
+        BatchResult result = new BatchResult(output);
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int i = 0; i < count; i++) {
+            String line = lines[i];
+            int start = 0;
+            int end = line.length();
+            if (column >= 0) {
+                for (int field = 0; (field < column) && (start >= 0); field++) {
+                    start = fieldEnd(line, start);
+                    start = (start == line.length()) ? -1 : start + 1;
+                }
+                if (start < 0) {
+                    result.values++;
+                    result.failure(firstLine + i, "Missing column", line);
+                    continue;
+                }
+                end = fieldEnd(line, start);
+            }
+            while ((start < end) && isWhitespace(line.charAt(start))) {
+                start++;
+            }
+            while ((end > start) && isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+            if ((end - start >= 2) && (line.charAt(start) == '"') && (line.charAt(end - 1) == '"')) {
+                start++;
+                end--;
+                while ((start < end) && isWhitespace(line.charAt(start))) {
+                    start++;
+                }
+                while ((end > start) && isWhitespace(line.charAt(end - 1))) {
+                    end--;
+                }
+            }
+            if (start == end) {
+                result.line(line);
+                continue;
+            }
+            result.values++;
+            int mark = output ? result.output.length() : 0;
+            try {
+                convert(line, start, end, holder, output ? result.output : null);
+            } catch (DateTimeException | ArithmeticException e) {
+                if (output) {
+                    result.output.setLength(mark);
+                }
+                result.failure(firstLine + i, failureType(e), line);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parse value in given range of line and if builder is specified, append line with converted value to it
+     */
+    private void convert(String line, int start, int end, XsTemporalHolder holder,
+                         @Nullable StringBuilder builder) {
+        switch (type) {
+            case DATE:
+                XsDateFormatter.parse(line, start, end, lenient, holder);
+                break;
+            case TIME:
+                XsTimeFormatter.parse(line, start, end, lenient, holder);
+                break;
+            default:
+                XsDateTimeFormatter.parse(line, start, end, lenient, holder);
+        }
+        if (holder.offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+            holder.offsetSeconds = defaultOffset;
+        }
+        if (targetOffset != XsTimezoneFormatter.NO_OFFSET) {
+            if (holder.offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+                throw new DateTimeException("Value has no timezone");
+            }
+            holder.setEpochSecond(holder.epochSecond(), holder.nano, targetOffset);
+        }
+        if (builder != null) {
+            builder.append(line, 0, start);
+            switch (type) {
+                case DATE:
+                    holder.formatDateTo(builder);
+                    break;
+                case TIME:
+                    holder.formatTimeTo(builder);
+                    break;
+                default:
+                    holder.formatDateTimeTo(builder);
+            }
+            builder.append(line, end, line.length()).append('\n');
+        }
+    }
+
+    /**
+     * Output and statistics of single batch; also used to accumulate totals
+     */
+    private static final class BatchResult {
+
+        @Nullable
+        private final StringBuilder output;
+        private long values;
+        private long failures;
+        private final Map<String, long[]> histogram = new HashMap<>();
+        private final List<String> samples = new ArrayList<>();
+
+        BatchResult(boolean output) {
+            this.output = output ? new StringBuilder(BATCH_SIZE * 32) : null;
+        }
+
+        void line(String line) {
+            if (output != null) {
+                output.append(line).append('\n');
+            }
+        }
+
+        void failure(long lineNumber, String failureType, String line) {
+            failures++;
+            histogram.computeIfAbsent(failureType, key -> new long[1])[0]++;
+            if (samples.size() < MAX_FAILURE_SAMPLES) {
+                samples.add("line " + lineNumber + ": " + failureType + " in '" + line + "'");
+            }
+            line(line);
+        }
+
+        void add(BatchResult other) {
+            values += other.values;
+            failures += other.failures;
+            other.histogram.forEach((key, count) -> histogram.computeIfAbsent(key, k -> new long[1])[0] += count[0]);
+            for (String sample : other.samples) {
+                if (samples.size() >= MAX_FAILURE_SAMPLES) {
+                    break;
+                }
+                samples.add(sample);
+            }
+        }
+    }
+
+    /**
+     * Counts bytes read from underlying stream
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result >= 0) {
+                count++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                count += result;
+            }
+            return result;
+        }
+    }
+
+    @Nonnull
+    private static XsParseProcessor.ValueType parseType(String value) {
+        switch (value) {
+            case "date":
+                return XsParseProcessor.ValueType.DATE;
+            case "time":
+                return XsParseProcessor.ValueType.TIME;
+            case "dateTime":
+                return XsParseProcessor.ValueType.DATE_TIME;
+            default:
+                throw new IllegalArgumentException("Unknown type " + value);
+        }
+    }
+
+    private static int parseOffset(String value) {
+        return XsTimezoneFormatter.parseLenientSeconds(value, 0, value.length());
+    }
+
+    /**
+     * Run converter with given command line arguments
+     *
+     * @return exit status
+     */
+    static int run(String[] args, InputStream stdin, OutputStream stdout, PrintStream stderr) {
+        XsParseProcessor.ValueType type = XsParseProcessor.ValueType.DATE_TIME;
+        boolean lenient = false;
+        boolean convert = false;
+        boolean csv = false;
+        int column = 0;
+        char separator = ',';
+        boolean header = false;
+        int targetOffset = XsTimezoneFormatter.NO_OFFSET;
+        int defaultOffset = XsTimezoneFormatter.NO_OFFSET;
+        int workers = Runtime.getRuntime().availableProcessors();
+        List<String> files = new ArrayList<>(2);
+        XsBulkConverter converter;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--help")) {
+                    stderr.println(USAGE);
+                    return 0;
+                } else if (arg.equals("--lenient")) {
+                    lenient = true;
+                } else if (arg.equals("--convert")) {
+                    convert = true;
+                } else if (arg.equals("--header")) {
+                    header = true;
+                } else if (arg.startsWith("--") && (i + 1 < args.length)) {
+                    String value = args[++i];
+                    switch (arg) {
+                        case "--type":
+                            type = parseType(value);
+                            break;
+                        case "--column":
+                            csv = true;
+                            column = Integer.parseInt(value);
+                            break;
+                        case "--separator":
+                            if (value.length() != 1) {
+                                throw new IllegalArgumentException("Separator must be single character");
+                            }
+                            separator = value.charAt(0);
+                            break;
+                        case "--offset":
+                            targetOffset = parseOffset(value);
+                            break;
+                        case "--default-offset":
+                            defaultOffset = parseOffset(value);
+                            break;
+                        case "--workers":
+                            workers = Integer.parseInt(value);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option or missing value " + arg);
+                } else if (files.size() < 2) {
+                    files.add(arg);
+                } else {
+                    throw new IllegalArgumentException("Unexpected argument " + arg);
+                }
+            }
+            if ((files.size() == 2) && !convert) {
+                throw new IllegalArgumentException("Output file is only supported with --convert");
+            }
+            converter = of(type).withLenient(lenient).withTargetOffset(targetOffset).withDefaultOffset(defaultOffset)
+                    .withWorkers(workers);
+            if (csv) {
+                // negative column is rejected by withColumn
+                converter = converter.withColumn(separator, header, column);
+            } else if (header) {
+                throw new IllegalArgumentException("--header is only supported with --column");
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            stderr.println(e.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+        try {
+            Statistics statistics;
+            boolean fromStdin = files.isEmpty() || files.get(0).equals("-");
+            try (InputStream in = fromStdin ? null : Files.newInputStream(Paths.get(files.get(0)))) {
+                InputStream input = fromStdin ? stdin : in;
+                if (convert) {
+                    boolean toStdout = (files.size() < 2) || files.get(1).equals("-");
+                    try (OutputStream out = toStdout ? null : Files.newOutputStream(Paths.get(files.get(1)))) {
+                        statistics = converter.convert(input, toStdout ? stdout : out);
+                    }
+                } else {
+                    statistics = converter.validate(input);
+                }
+            }
+            statistics.report(stderr);
+            return (statistics.getFailures() == 0) ? 0 : 1;
+        } catch (IOException e) {
+            stderr.println("I/O error: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Command line entry point; run without arguments validates xs:dateTime values read from standard input, run
+     * with {@code --help} to print available options
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+}
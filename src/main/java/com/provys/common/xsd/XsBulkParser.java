@@ -0,0 +1,218 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+import java.time.Month;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeParseException;
+
+import static com.provys.common.xsd.XsLayoutKernel.*;
+import static com.provys.common.xsd.XsParseSupport.timezone;
+
+/**
+ * Bulk parsing of xs:date and xs:dateTime values. For values in byte array, fixed layout part of values is validated
+ * and converted by layout kernel in blocks if vectorized kernel is available; the rest of value (fraction, timezone)
+ * and values not matching fixed layout are handled by scalar parser. Values in {@code CharSequence} arrays are always
+ * parsed one by one - copying them to byte array for kernel costs as much as parsing them. Results are the same as
+ * when values are parsed one by one
+ */
+final class XsBulkParser {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsBulkParser() {}
+
+    private static void checkLength(int count, int length, String name) {
+        if (length < count) {
+            throw new IllegalArgumentException("Array " + name + " is shorter than number of values");
+        }
+    }
+
+    /**
+     * Fill date fields of holder from groups converted by kernel
+     *
+     * @return false if date is out of range, in which case value is left to scalar parser for error reporting
+     */
+    private static boolean date(byte[] fields, int base, XsTemporalHolder holder) {
+        int year = fields[base + FIELD_POSITIONS[0]] * 100 + fields[base + FIELD_POSITIONS[1]];
+        int month = fields[base + FIELD_POSITIONS[2]];
+        int day = fields[base + FIELD_POSITIONS[3]];
+        if ((month < 1) || (month > 12) || (day < 1)
+                || (day > Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year)))) {
+            return false;
+        }
+        holder.clear();
+        holder.year = year;
+        holder.month = month;
+        holder.day = day;
+        return true;
+    }
+
+    /**
+     * Finish parsing of xs:date value, using groups converted by kernel if value matched layout
+     */
+    private static void completeDate(CharSequence value, boolean matches, byte[] fields, int base, boolean lenient,
+                                     XsTemporalHolder holder) {
+        if (matches && date(fields, base, holder)) {
+            holder.offsetSeconds = timezone(value, DATE_LENGTH, value.length(), lenient);
+        } else {
+            XsDateFormatter.parse(value, 0, value.length(), lenient, holder);
+        }
+    }
+
+    /**
+     * Finish parsing of xs:dateTime value, using groups converted by kernel if value matched layout
+     */
+    private static void completeDateTime(CharSequence value, boolean matches, byte[] fields, int base,
+                                         boolean lenient, XsTemporalHolder holder) {
+        if (matches && date(fields, base, holder)) {
+            int pos = XsTimeFormatter.timeTail(value, DELIMITER_POSITION + 1, DATE_TIME_LENGTH, value.length(),
+                    fields[base + FIELD_POSITIONS[4]], fields[base + FIELD_POSITIONS[5]],
+                    fields[base + FIELD_POSITIONS[6]], true, holder);
+            holder.offsetSeconds = timezone(value, pos, value.length(), lenient);
+        } else {
+            XsDateTimeFormatter.parse(value, 0, value.length(), lenient, holder);
+        }
+    }
+
+    /**
+     * Parse array of xs:date values
+     *
+     * @param values are values to be parsed
+     * @param lenient indicates if lenient validation should be used
+     * @param epochDays is array epoch days of values are written to
+     * @param offsetSeconds is array offsets of values (or {@link XsTimezoneFormatter#NO_OFFSET}) are written to; if
+     *                     null, timezone is validated but otherwise ignored
+     * @throws DateTimeParseException if any value is not valid; values preceding it have been written to output
+     * arrays
+     */
+    static void parseDates(CharSequence[] values, boolean lenient, long[] epochDays, @Nullable int[] offsetSeconds) {
+        checkLength(values.length, epochDays.length, "epochDays");
+        if (offsetSeconds != null) {
+            checkLength(values.length, offsetSeconds.length, "offsetSeconds");
+        }
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int index = 0; index < values.length; index++) {
+            XsDateFormatter.parse(values[index], 0, values[index].length(), lenient, holder);
+            epochDays[index] = holder.epochDay();
+            if (offsetSeconds != null) {
+                offsetSeconds[index] = holder.offsetSeconds;
+            }
+        }
+    }
+
+    /**
+     * Parse xs:date values, stored as ASCII (or UTF-8) encoded ranges of byte array
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values
+     * @param ends are end indices (exclusive) of values
+     * @param lenient indicates if lenient validation should be used
+     * @param epochDays is array epoch days of values are written to
+     * @param offsetSeconds is array offsets of values (or {@link XsTimezoneFormatter#NO_OFFSET}) are written to; if
+     *                     null, timezone is validated but otherwise ignored
+     * @throws DateTimeParseException if any value is not valid; values preceding it have been written to output
+     * arrays
+     */
+    static void parseDates(byte[] data, int[] starts, int[] ends, boolean lenient, long[] epochDays,
+                           @Nullable int[] offsetSeconds) {
+        checkLength(starts.length, ends.length, "ends");
+        checkLength(starts.length, epochDays.length, "epochDays");
+        if (offsetSeconds != null) {
+            checkLength(starts.length, offsetSeconds.length, "offsetSeconds");
+        }
+        XsLayoutKernel kernel = XsLayoutKernels.KERNEL;
+        byte[] fields = new byte[BLOCK_RECORDS * RECORD_STRIDE];
+        XsByteSequence value = new XsByteSequence();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int first = 0; first < starts.length; first += BLOCK_RECORDS) {
+            int count = Math.min(BLOCK_RECORDS, starts.length - first);
+            long valid = (kernel == null) ? 0
+                    : kernel.parseBlock(data, starts, ends, first, count, DATE_LENGTH, lenient, fields);
+            for (int record = 0; record < count; record++) {
+                int index = first + record;
+                completeDate(value.set(data, starts[index], ends[index]), ((valid >>> record) & 1) != 0, fields,
+                        record * RECORD_STRIDE, lenient, holder);
+                epochDays[index] = holder.epochDay();
+                if (offsetSeconds != null) {
+                    offsetSeconds[index] = holder.offsetSeconds;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse array of xs:dateTime values
+     *
+     * @param values are values to be parsed
+     * @param lenient indicates if lenient validation should be used
+     * @param epochSeconds is array epoch seconds of values are written to; value without timezone is interpreted
+     *                    as UTC
+     * @param nanos is array nanosecond of second of values are written to
+     * @param offsetSeconds is array offsets of values (or {@link XsTimezoneFormatter#NO_OFFSET}) are written to; if
+     *                     null, timezone is applied to epoch second, but not written
+     * @throws DateTimeParseException if any value is not valid; values preceding it have been written to output
+     * arrays
+     */
+    static void parseDateTimes(CharSequence[] values, boolean lenient, long[] epochSeconds, int[] nanos,
+                               @Nullable int[] offsetSeconds) {
+        checkLength(values.length, epochSeconds.length, "epochSeconds");
+        checkLength(values.length, nanos.length, "nanos");
+        if (offsetSeconds != null) {
+            checkLength(values.length, offsetSeconds.length, "offsetSeconds");
+        }
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int index = 0; index < values.length; index++) {
+            XsDateTimeFormatter.parse(values[index], 0, values[index].length(), lenient, holder);
+            epochSeconds[index] = holder.epochSecond();
+            nanos[index] = holder.nano;
+            if (offsetSeconds != null) {
+                offsetSeconds[index] = holder.offsetSeconds;
+            }
+        }
+    }
+
+    /**
+     * Parse xs:dateTime values, stored as ASCII (or UTF-8) encoded ranges of byte array
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values
+     * @param ends are end indices (exclusive) of values
+     * @param lenient indicates if lenient validation should be used
+     * @param epochSeconds is array epoch seconds of values are written to; value without timezone is interpreted
+     *                    as UTC
+     * @param nanos is array nanosecond of second of values are written to
+     * @param offsetSeconds is array offsets of values (or {@link XsTimezoneFormatter#NO_OFFSET}) are written to; if
+     *                     null, timezone is applied to epoch second, but not written
+     * @throws DateTimeParseException if any value is not valid; values preceding it have been written to output
+     * arrays
+     */
+    static void parseDateTimes(byte[] data, int[] starts, int[] ends, boolean lenient, long[] epochSeconds,
+                               int[] nanos, @Nullable int[] offsetSeconds) {
+        checkLength(starts.length, ends.length, "ends");
+        checkLength(starts.length, epochSeconds.length, "epochSeconds");
+        checkLength(starts.length, nanos.length, "nanos");
+        if (offsetSeconds != null) {
+            checkLength(starts.length, offsetSeconds.length, "offsetSeconds");
+        }
+        XsLayoutKernel kernel = XsLayoutKernels.KERNEL;
+        byte[] fields = new byte[BLOCK_RECORDS * RECORD_STRIDE];
+        XsByteSequence value = new XsByteSequence();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int first = 0; first < starts.length; first += BLOCK_RECORDS) {
+            int count = Math.min(BLOCK_RECORDS, starts.length - first);
+            long valid = (kernel == null) ? 0
+                    : kernel.parseBlock(data, starts, ends, first, count, DATE_TIME_LENGTH, lenient, fields);
+            for (int record = 0; record < count; record++) {
+                int index = first + record;
+                completeDateTime(value.set(data, starts[index], ends[index]), ((valid >>> record) & 1) != 0,
+                        fields, record * RECORD_STRIDE, lenient, holder);
+                epochSeconds[index] = holder.epochSecond();
+                nanos[index] = holder.nano;
+                if (offsetSeconds != null) {
+                    offsetSeconds[index] = holder.offsetSeconds;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable {@code CharSequence} view of range of byte array, decoding bytes as ISO-8859-1. Lets hand-written parsers
+ * read values directly from byte input (ASCII or UTF-8 encoded; non-ASCII characters never form valid part of xsd
+ * date / time value, thus they only need to be reported as invalid). View is mutable and not thread-safe
+ */
+final class XsByteSequence implements CharSequence {
+
+    private byte[] data;
+    private int start;
+    private int end;
+
+    XsByteSequence() {
+        this.data = new byte[0];
+    }
+
+    /**
+     * Point view to given range of byte array
+     *
+     * @return this view
+     */
+    @Nonnull
+    XsByteSequence set(byte[] data, int start, int end) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if ((index < 0) || (index >= end - start)) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (end - start));
+        }
+        return (char) (data[start + index] & 0xFF);
+    }
+
+    @Nonnull
+    @Override
+    public CharSequence subSequence(int subStart, int subEnd) {
+        if ((subStart < 0) || (subEnd > end - start) || (subStart > subEnd)) {
+            throw new IndexOutOfBoundsException("Range " + subStart + ".." + subEnd + " out of bounds for length "
+                    + (end - start));
+        }
+        return new XsByteSequence().set(data, start + subStart, start + subEnd);
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -1,16 +1,20 @@
 package com.provys.common.xsd;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.time.LocalDate;
+import java.time.Month;
 import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 import java.time.format.SignStyle;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
+import static com.provys.common.xsd.XsParseSupport.*;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
 import static java.time.temporal.ChronoField.*;
 import static java.time.temporal.ChronoField.NANO_OF_SECOND;
@@ -18,6 +22,14 @@ import static java.time.temporal.ChronoField.NANO_OF_SECOND;
 /**
  * For parsing and formatting of {@code xs:date} values with validation strictly or loosely adhering to
  * <a href="https://www.w3.org/TR/xmlschema-2/#date">XML Schema</a>.
+ * <p>
+ * Parse methods use hand-written parser that accepts exactly values matched by corresponding pattern; its fast path
+ * is tuned for four digit years, longer years are handled by slower path and years outside of range supported by
+ * {@code java.time} (more than nine digits) are reported as {@code DateTimeParseException}.
+ * <p>
+ * {@link #STRICT} and {@link #LENIENT} {@code DateTimeFormatter} constants are kept for compatibility and do not
+ * fully agree with patterns - they reject years with more than four digits, as {@code java.time} requires explicit
+ * sign for them
  */
 public final class XsDateFormatter {
 
@@ -67,6 +79,41 @@ public final class XsDateFormatter {
             .withResolverStyle(ResolverStyle.STRICT)
             .withChronology(IsoChronology.INSTANCE);
 
+    /**
+     * Parse date part of value (without timezone), starting on given position, to date fields of holder
+     *
+     * @return index after the last character of date part
+     * @throws DateTimeParseException if there is no valid date on given position
+     */
+    static int parseDatePart(CharSequence text, int start, int end, XsTemporalHolder holder) {
+        int year;
+        int pos;
+        if ((end - start >= 10) && (text.charAt(start + 4) == '-') && ((year = fourDigits(text, start, end)) >= 0)) {
+            pos = start + 4;
+        } else {
+            pos = yearEnd(text, start, end);
+            year = year(text, start, pos);
+        }
+        literal(text, pos, end, '-');
+        int month = month(text, pos + 1, end);
+        literal(text, pos + 3, end, '-');
+        holder.day = day(text, pos + 4, end, Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year)));
+        holder.year = year;
+        holder.month = month;
+        return pos + 6;
+    }
+
+    /**
+     * Parse xs:date value, occupying given range of text, to supplied holder
+     *
+     * @throws DateTimeParseException if value is not valid date
+     */
+    static void parse(CharSequence text, int start, int end, boolean lenient, XsTemporalHolder holder) {
+        holder.clear();
+        int pos = parseDatePart(text, start, end, holder);
+        holder.offsetSeconds = timezone(text, pos, end, lenient);
+    }
+
     /**
      * Convert supplied xs:date string to {@code LocalDate} using strict validation
      *
@@ -75,7 +122,51 @@ public final class XsDateFormatter {
      */
     @Nonnull
     public static LocalDate parse(String xsDate) {
-        return LocalDate.from(STRICT.parse(Objects.requireNonNull(xsDate)));
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsDate), 0, xsDate.length(), false, holder);
+        return holder.toLocalDate();
+    }
+
+    /**
+     * Parse xs:date value to supplied holder using strict validation, without allocation
+     *
+     * @param xsDate is value strictly compliant with xs:date format
+     * @param holder is holder that receives date fields and timezone; time fields are reset
+     * @throws DateTimeParseException if value is not valid
+     */
+    public static void parse(CharSequence xsDate, XsTemporalHolder holder) {
+        parse(xsDate, 0, xsDate.length(), false, holder);
+    }
+
+    /**
+     * Convert array of xs:date values to epoch days using strict validation, without per value allocation
+     *
+     * @param xsDates are values strictly compliant with xs:date format
+     * @param epochDays is array epoch days are written to, on the same index as corresponding value
+     * @param offsetSeconds is array offsets in seconds (or {@link XsDateTimeFormatter#NO_OFFSET} for values without
+     *                     timezone) are written to; if null, timezone is validated, but otherwise ignored
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochDays(CharSequence[] xsDates, long[] epochDays, @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDates(xsDates, false, epochDays, offsetSeconds);
+    }
+
+    /**
+     * Convert xs:date values, stored as ranges of ASCII (or UTF-8) encoded byte array, to epoch days using strict
+     * validation. Values are read directly from byte array; on Java 17+ with {@code jdk.incubator.vector} module
+     * available, fixed part of values is validated and converted using vectorized code
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values in data
+     * @param ends are end indices (exclusive) of values in data
+     * @param epochDays is array epoch days are written to, on the same index as corresponding value
+     * @param offsetSeconds is array offsets in seconds (or {@link XsDateTimeFormatter#NO_OFFSET} for values without
+     *                     timezone) are written to; if null, timezone is validated, but otherwise ignored
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochDays(byte[] data, int[] starts, int[] ends, long[] epochDays,
+                                      @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDates(data, starts, ends, false, epochDays, offsetSeconds);
     }
 
     /**
@@ -126,6 +217,51 @@ public final class XsDateFormatter {
      */
     @Nonnull
     public static LocalDate parseLenient(String xsDate) {
-        return LocalDate.from(LENIENT.parse(Objects.requireNonNull(xsDate)));
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsDate), 0, xsDate.length(), true, holder);
+        return holder.toLocalDate();
+    }
+
+    /**
+     * Parse xs:date value to supplied holder using lenient validation, without allocation
+     *
+     * @param xsDate is value roughly compliant with xs:date format
+     * @param holder is holder that receives date fields and timezone; time fields are reset
+     * @throws DateTimeParseException if value is not valid
+     */
+    public static void parseLenient(CharSequence xsDate, XsTemporalHolder holder) {
+        parse(xsDate, 0, xsDate.length(), true, holder);
+    }
+
+    /**
+     * Convert array of xs:date values to epoch days using lenient validation; bulk variant of
+     * {@link #parseLenient(String)}
+     *
+     * @param xsDates are values roughly compliant with xs:date format
+     * @param epochDays is array epoch days are written to, on the same index as corresponding value
+     * @param offsetSeconds is array offsets in seconds (or {@link XsDateTimeFormatter#NO_OFFSET} for values without
+     *                     timezone) are written to; if null, timezone is validated, but otherwise ignored
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochDaysLenient(CharSequence[] xsDates, long[] epochDays,
+                                             @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDates(xsDates, true, epochDays, offsetSeconds);
+    }
+
+    /**
+     * Convert xs:date values, stored as ranges of ASCII (or UTF-8) encoded byte array, to epoch days using lenient
+     * validation
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values in data
+     * @param ends are end indices (exclusive) of values in data
+     * @param epochDays is array epoch days are written to, on the same index as corresponding value
+     * @param offsetSeconds is array offsets in seconds (or {@link XsDateTimeFormatter#NO_OFFSET} for values without
+     *                     timezone) are written to; if null, timezone is validated, but otherwise ignored
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochDaysLenient(byte[] data, int[] starts, int[] ends, long[] epochDays,
+                                             @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDates(data, starts, ends, true, epochDays, offsetSeconds);
     }
 }
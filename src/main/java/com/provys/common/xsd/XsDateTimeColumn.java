@@ -0,0 +1,125 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable column of xs:dateTime values, stored in primitive arrays as epoch second, nanosecond and offset. Epoch
+ * second of value without timezone is evaluated as if value was in UTC, offset of such value is
+ * {@link XsDateTimeFormatter#NO_OFFSET}. Column is not thread-safe
+ */
+public final class XsDateTimeColumn {
+
+    private long[] epochSeconds;
+    private int[] nanos;
+    private int[] offsetSeconds;
+    private int size;
+
+    /**
+     * Create empty column with default initial capacity
+     */
+    public XsDateTimeColumn() {
+        this(16);
+    }
+
+    /**
+     * Create empty column with given initial capacity
+     */
+    public XsDateTimeColumn(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        epochSeconds = new long[initialCapacity];
+        nanos = new int[initialCapacity];
+        offsetSeconds = new int[initialCapacity];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > epochSeconds.length) {
+            int newCapacity = Math.max(capacity, epochSeconds.length + (epochSeconds.length >> 1) + 1);
+            epochSeconds = Arrays.copyOf(epochSeconds, newCapacity);
+            nanos = Arrays.copyOf(nanos, newCapacity);
+            offsetSeconds = Arrays.copyOf(offsetSeconds, newCapacity);
+        }
+    }
+
+    /**
+     * Append value to column
+     *
+     * @param epochSecond is epoch second of value
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET}
+     */
+    public void add(long epochSecond, int nano, int offsetSeconds) {
+        ensureCapacity(size + 1);
+        epochSeconds[size] = epochSecond;
+        nanos[size] = nano;
+        this.offsetSeconds[size] = offsetSeconds;
+        size++;
+    }
+
+    /**
+     * Append all values from other column
+     */
+    public void addAll(XsDateTimeColumn other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.epochSeconds, 0, epochSeconds, size, other.size);
+        System.arraycopy(other.nanos, 0, nanos, size, other.size);
+        System.arraycopy(other.offsetSeconds, 0, offsetSeconds, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * @return number of values in column
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return epoch second of value on given index
+     */
+    public long getEpochSecond(int index) {
+        return epochSeconds[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * @return nanosecond of second of value on given index
+     */
+    public int getNano(int index) {
+        return nanos[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * @return offset in seconds of value on given index or {@link XsDateTimeFormatter#NO_OFFSET} if value has no
+     * timezone
+     */
+    public int getOffsetSeconds(int index) {
+        return offsetSeconds[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * @return copy of epoch seconds of all values in column
+     */
+    @Nonnull
+    public long[] toEpochSecondArray() {
+        return Arrays.copyOf(epochSeconds, size);
+    }
+
+    /**
+     * Fill holder with value on given index
+     */
+    public void get(int index, XsTemporalHolder holder) {
+        Objects.checkIndex(index, size);
+        holder.setEpochSecond(epochSeconds[index], nanos[index], offsetSeconds[index]);
+    }
+
+    /**
+     * Append canonical representation of value on given index to builder
+     */
+    public void formatTo(int index, StringBuilder builder) {
+        Objects.checkIndex(index, size);
+        XsDateTimeFormatter.formatTo(epochSeconds[index], nanos[index], offsetSeconds[index], builder);
+    }
+}
@@ -1,9 +1,13 @@
 package com.provys.common.xsd;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 import java.util.HashMap;
 import java.util.Locale;
@@ -12,13 +16,20 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import static com.provys.common.xsd.XsParseSupport.*;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
 import static java.time.temporal.ChronoField.*;
 
 /**
  * Class provides formatter for parsing / formatting xs:dateTime values and their conversion to LocalDateTime used by
- * PROVYS system
+ * PROVYS system.
+ * <p>
+ * Parse methods use hand-written parser that accepts exactly values matched by corresponding pattern, except years
+ * outside of range supported by {@code java.time} (more than nine digits), reported as
+ * {@code DateTimeParseException}. {@link #STRICT} and {@link #LENIENT} {@code DateTimeFormatter} constants are kept
+ * for compatibility and do not fully agree with patterns - they reject years with more than four digits and
+ * fractions with more than nine digits, and {@link #STRICT} accepts single digit hour
  */
 public final class XsDateTimeFormatter {
 
@@ -27,6 +38,11 @@ public final class XsDateTimeFormatter {
      */
     private XsDateTimeFormatter() {}
 
+    /**
+     * Value used by primitive parse and format methods in place of offset in seconds to mark value without timezone
+     */
+    public static final int NO_OFFSET = XsTimezoneFormatter.NO_OFFSET;
+
     /**
      * String defining format, accepted by STRICT formatter
      */
@@ -53,6 +69,86 @@ public final class XsDateTimeFormatter {
             .toFormatter(Locale.ENGLISH)
             .withChronology(IsoChronology.INSTANCE);
 
+    /**
+     * Parse xs:dateTime value, occupying given range of text, to supplied holder. Lenient parsing accepts delimiters
+     * and time / timezone variants described in {@link #LENIENT}
+     *
+     * @throws DateTimeParseException if value is not valid dateTime
+     */
+    static void parse(CharSequence text, int start, int end, boolean lenient, XsTemporalHolder holder) {
+        holder.clear();
+        int pos = XsDateFormatter.parseDatePart(text, start, end, holder);
+        char delimiter = (pos < end) ? text.charAt(pos) : 0;
+        if ((delimiter != 'T') && !(lenient && ((delimiter == 't') || (delimiter == ' ')))) {
+            throw error("'T' expected", text, pos);
+        }
+        pos = XsTimeFormatter.parseTimePart(text, pos + 1, end, lenient, holder);
+        holder.offsetSeconds = timezone(text, pos, end, lenient);
+    }
+
+    /**
+     * Convert supplied xs:dateTime string to {@code LocalDateTime} using strict validation. Time 24:00:00 is
+     * converted to beginning of the following day
+     *
+     * @param xsDateTime is string value strictly compliant with xs:dateTime format. Timezone is completely ignored
+     * @return date and time corresponding to supplied value
+     */
+    @Nonnull
+    public static LocalDateTime parse(String xsDateTime) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsDateTime), 0, xsDateTime.length(), false, holder);
+        return holder.toLocalDateTime();
+    }
+
+    /**
+     * Parse xs:dateTime value to supplied holder using strict validation, without allocation
+     *
+     * @param xsDateTime is value strictly compliant with xs:dateTime format
+     * @param holder is holder that receives all fields
+     * @throws DateTimeParseException if value is not valid
+     */
+    public static void parse(CharSequence xsDateTime, XsTemporalHolder holder) {
+        parse(xsDateTime, 0, xsDateTime.length(), false, holder);
+    }
+
+    /**
+     * Convert array of xs:dateTime values to epoch seconds and nanoseconds using strict validation, without per value
+     * allocation
+     *
+     * @param xsDateTimes are values strictly compliant with xs:dateTime format
+     * @param epochSeconds is array epoch seconds are written to, on the same index as corresponding value; value
+     *                    without timezone is interpreted as UTC
+     * @param nanos is array nanoseconds of second are written to
+     * @param offsetSeconds is array offsets in seconds (or {@link #NO_OFFSET} for values without timezone) are
+     *                     written to; may be null if original offset is not needed
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochSeconds(CharSequence[] xsDateTimes, long[] epochSeconds, int[] nanos,
+                                         @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDateTimes(xsDateTimes, false, epochSeconds, nanos, offsetSeconds);
+    }
+
+    /**
+     * Convert xs:dateTime values, stored as ranges of ASCII (or UTF-8) encoded byte array, to epoch seconds and
+     * nanoseconds using strict validation. Values are read directly from byte array; on Java 17+ with
+     * {@code jdk.incubator.vector} module available, fixed part of values is validated and converted using vectorized
+     * code
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values in data
+     * @param ends are end indices (exclusive) of values in data
+     * @param epochSeconds is array epoch seconds are written to, on the same index as corresponding value; value
+     *                    without timezone is interpreted as UTC
+     * @param nanos is array nanoseconds of second are written to
+     * @param offsetSeconds is array offsets in seconds (or {@link #NO_OFFSET} for values without timezone) are
+     *                     written to; may be null if original offset is not needed
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochSeconds(byte[] data, int[] starts, int[] ends, long[] epochSeconds, int[] nanos,
+                                         @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDateTimes(data, starts, ends, false, epochSeconds, nanos, offsetSeconds);
+    }
+
     public static final String LENIENT_REGEX = XsDateFormatter.LENIENT_DATE_REGEX + "[ Tt]" +
             XsTimeFormatter.LENIENT_TIME_REGEX + XsTimezoneFormatter.LENIENT_REGEX + '?';
     /**
@@ -119,4 +215,101 @@ public final class XsDateTimeFormatter {
                         .toFormatter(Locale.ENGLISH)
                         .withChronology(IsoChronology.INSTANCE));
     }
+
+    /**
+     * Convert supplied xs:dateTime string to {@code LocalDateTime} using lenient validation. Completely ignores
+     * timezone information
+     *
+     * @param xsDateTime is string value roughly compliant with xs:dateTime format. Timezone is completely ignored
+     * @return date and time corresponding to supplied value
+     */
+    @Nonnull
+    public static LocalDateTime parseLenient(String xsDateTime) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsDateTime), 0, xsDateTime.length(), true, holder);
+        return holder.toLocalDateTime();
+    }
+
+    /**
+     * Parse xs:dateTime value to supplied holder using lenient validation, without allocation
+     *
+     * @param xsDateTime is value roughly compliant with xs:dateTime format
+     * @param holder is holder that receives all fields
+     * @throws DateTimeParseException if value is not valid
+     */
+    public static void parseLenient(CharSequence xsDateTime, XsTemporalHolder holder) {
+        parse(xsDateTime, 0, xsDateTime.length(), true, holder);
+    }
+
+    /**
+     * Convert array of xs:dateTime values to epoch seconds and nanoseconds using lenient validation; bulk variant of
+     * {@link #parseLenient(String)}
+     *
+     * @param xsDateTimes are values roughly compliant with xs:dateTime format
+     * @param epochSeconds is array epoch seconds are written to, on the same index as corresponding value; value
+     *                    without timezone is interpreted as UTC
+     * @param nanos is array nanoseconds of second are written to
+     * @param offsetSeconds is array offsets in seconds (or {@link #NO_OFFSET} for values without timezone) are
+     *                     written to; may be null if original offset is not needed
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochSecondsLenient(CharSequence[] xsDateTimes, long[] epochSeconds, int[] nanos,
+                                                @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDateTimes(xsDateTimes, true, epochSeconds, nanos, offsetSeconds);
+    }
+
+    /**
+     * Convert xs:dateTime values, stored as ranges of ASCII (or UTF-8) encoded byte array, to epoch seconds and
+     * nanoseconds using lenient validation
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values in data
+     * @param ends are end indices (exclusive) of values in data
+     * @param epochSeconds is array epoch seconds are written to, on the same index as corresponding value; value
+     *                    without timezone is interpreted as UTC
+     * @param nanos is array nanoseconds of second are written to
+     * @param offsetSeconds is array offsets in seconds (or {@link #NO_OFFSET} for values without timezone) are
+     *                     written to; may be null if original offset is not needed
+     * @throws DateTimeParseException if any value is not valid; values preceding it have already been converted
+     */
+    public static void parseEpochSecondsLenient(byte[] data, int[] starts, int[] ends, long[] epochSeconds,
+                                                int[] nanos, @Nullable int[] offsetSeconds) {
+        XsBulkParser.parseDateTimes(data, starts, ends, true, epochSeconds, nanos, offsetSeconds);
+    }
+
+    /**
+     * Convert supplied xs:dateTime string to {@code LocalDateTime} using lenient validation; value is converted to
+     * local date and time in default timezone. Missing timezone information is interpreted as belonging to this
+     * default timezone
+     *
+     * @param xsDateTime is string value roughly compliant with xs:dateTime format
+     * @param defOffset is default timezone offset, in any format accepted by {@link ZoneOffset#of(String)}
+     * @return date and time in default timezone corresponding to supplied value
+     */
+    @Nonnull
+    public static LocalDateTime parseLenientTZ(String xsDateTime, String defOffset) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsDateTime), 0, xsDateTime.length(), true, holder);
+        int defOffsetSeconds = ZoneOffset.of(defOffset).getTotalSeconds();
+        LocalDateTime result = holder.toLocalDateTime();
+        if (holder.offsetSeconds != XsTimezoneFormatter.NO_OFFSET) {
+            result = result.plusSeconds(defOffsetSeconds - holder.offsetSeconds);
+        }
+        return result;
+    }
+
+    /**
+     * Append canonical xs:dateTime representation of value given by primitive fields to builder, without any
+     * intermediate allocation
+     *
+     * @param epochSecond is epoch second of instant if offset is specified, otherwise epoch second of local date and
+     *                   time (as if it was in UTC)
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in which value should be written or {@link #NO_OFFSET} for value without
+     *                     timezone
+     * @param builder is builder representation is appended to
+     */
+    public static void formatTo(long epochSecond, int nano, int offsetSeconds, StringBuilder builder) {
+        XsTemporalHolder.formatDateTimeTo(epochSecond, nano, offsetSeconds, builder);
+    }
 }
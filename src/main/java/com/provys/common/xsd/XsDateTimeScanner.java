@@ -0,0 +1,638 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Extracts and parses xs:dateTime values of selected elements of XML file or selected columns of CSV file, without
+ * decoding file to strings. File is memory-mapped and scanned in parallel chunks; chunk processes elements (lines in
+ * case of CSV) that start in it and reads beyond its end to finish the last one. Values are copied in batches to
+ * byte array and parsed by bulk parser {@link XsDateTimeFormatter#parseEpochSeconds(byte[], int[], int[], long[],
+ * int[], int[])}, thus using vectorized code where available.
+ * <p>
+ * XML scanning looks for start tags of configured elements (names as they appear in file, including prefix) and
+ * takes their text content up to the next tag, with leading and trailing whitespace removed; CDATA sections and
+ * comments are not interpreted. CSV scanning supports configurable separator and double-quoted fields, but not line
+ * breaks inside quoted fields. Empty values are skipped. Single element or line must not extend more than
+ * {@link #MAX_RECORD_LENGTH} bytes beyond the end of chunk it starts in.
+ * <p>
+ * Scanner is immutable and thread-safe
+ */
+public final class XsDateTimeScanner {
+
+    /**
+     * Primitive callback receiving parsed values
+     */
+    @FunctionalInterface
+    public interface ValueConsumer {
+
+        /**
+         * Process parsed value. Method is called from worker threads, concurrently for values from different chunks;
+         * values from the same chunk are passed in order of their position in file
+         *
+         * @param field is index of element name or column in scanner configuration
+         * @param position is position of value in file
+         * @param epochSecond is epoch second of value; value without timezone is interpreted as UTC
+         * @param nano is nanosecond of second
+         * @param offsetSeconds is offset of value in seconds or {@link XsDateTimeFormatter#NO_OFFSET}
+         */
+        void accept(int field, long position, long epochSecond, int nano, int offsetSeconds);
+    }
+
+    /**
+     * Statistics of single scan
+     */
+    public static final class Statistics {
+
+        private final long bytes;
+        private final long values;
+        private final long elapsedNanos;
+
+        Statistics(long bytes, long values, long elapsedNanos) {
+            this.bytes = bytes;
+            this.values = values;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return size of scanned file in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return number of parsed values
+         */
+        public long getValues() {
+            return values;
+        }
+
+        /**
+         * @return duration of scan in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return throughput in megabytes (10^6 bytes) per second
+         */
+        public double getMegabytesPerSecond() {
+            return (elapsedNanos == 0) ? 0 : bytes * 1000.0 / elapsedNanos;
+        }
+
+        /**
+         * @return throughput in values per second
+         */
+        public double getValuesPerSecond() {
+            return (elapsedNanos == 0) ? 0 : values * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{bytes=%d, values=%d, elapsed=%.3f ms, %.1f MB/s}", bytes, values,
+                    elapsedNanos / 1e6, getMegabytesPerSecond());
+        }
+    }
+
+    /**
+     * Maximal length of the part of element or line that extends beyond the end of chunk
+     */
+    public static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    /**
+     * Maximal chunk size; chunk has to be mapped to single {@code MappedByteBuffer}
+     */
+    public static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+    private static final int BATCH_SIZE = 1024;
+
+    private final boolean csv;
+    private final byte[][] elementNames;
+    private final int[] fieldByColumn;
+    private final byte separator;
+    private final boolean header;
+    private final int fieldCount;
+    private final boolean lenient;
+    private final int parallelism;
+    private final int chunkSize;
+
+    private XsDateTimeScanner(boolean csv, byte[][] elementNames, int[] fieldByColumn, byte separator,
+                              boolean header, int fieldCount, boolean lenient, int parallelism, int chunkSize) {
+        this.csv = csv;
+        this.elementNames = elementNames;
+        this.fieldByColumn = fieldByColumn;
+        this.separator = separator;
+        this.header = header;
+        this.fieldCount = fieldCount;
+        this.lenient = lenient;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create scanner extracting text content of given XML elements. Scanner uses strict validation, parallelism
+     * equal to number of available processors and default chunk size
+     *
+     * @param elementNames are names of elements as they appear in file (including namespace prefix); their index is
+     *                    passed to consumer as field
+     * @return scanner for given elements
+     */
+    @Nonnull
+    public static XsDateTimeScanner ofXmlElements(String... elementNames) {
+        if (elementNames.length == 0) {
+            throw new IllegalArgumentException("At least one element name has to be specified");
+        }
+        byte[][] names = new byte[elementNames.length][];
+        for (int i = 0; i < elementNames.length; i++) {
+            if (elementNames[i].isEmpty()) {
+                throw new IllegalArgumentException("Element name cannot be empty");
+            }
+            names[i] = elementNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return new XsDateTimeScanner(false, names, new int[0], (byte) 0, false, names.length, false,
+                Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create scanner extracting values of given CSV columns. Scanner uses strict validation, parallelism equal to
+     * number of available processors and default chunk size
+     *
+     * @param separator is field separator; has to be ASCII character
+     * @param header indicates that the first line of file is header and should be skipped
+     * @param columns are (zero based) indices of columns; their index in this array is passed to consumer as field
+     * @return scanner for given columns
+     */
+    @Nonnull
+    public static XsDateTimeScanner ofCsvColumns(char separator, boolean header, int... columns) {
+        if ((separator >= 0x80) || (separator == '"') || (separator == '\n')) {
+            throw new IllegalArgumentException("Invalid separator " + separator);
+        }
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one column has to be specified");
+        }
+        int[] fieldByColumn = new int[Arrays.stream(columns).max().orElse(0) + 1];
+        Arrays.fill(fieldByColumn, -1);
+        for (int field = 0; field < columns.length; field++) {
+            if (columns[field] < 0) {
+                throw new IllegalArgumentException("Column index cannot be negative");
+            }
+            if (fieldByColumn[columns[field]] >= 0) {
+                throw new IllegalArgumentException("Column " + columns[field] + " specified twice");
+            }
+            fieldByColumn[columns[field]] = field;
+        }
+        return new XsDateTimeScanner(true, new byte[0][], fieldByColumn, (byte) separator, header, columns.length,
+                false, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @return scanner with the same configuration, using lenient (if true) or strict validation of values
+     */
+    @Nonnull
+    public XsDateTimeScanner withLenient(boolean newLenient) {
+        return new XsDateTimeScanner(csv, elementNames, fieldByColumn, separator, header, fieldCount, newLenient,
+                parallelism, chunkSize);
+    }
+
+    /**
+     * @return scanner with the same configuration, using given number of worker threads
+     */
+    @Nonnull
+    public XsDateTimeScanner withParallelism(int newParallelism) {
+        if (newParallelism < 1) {
+            throw new IllegalArgumentException("Parallelism has to be positive");
+        }
+        return new XsDateTimeScanner(csv, elementNames, fieldByColumn, separator, header, fieldCount, lenient,
+                newParallelism, chunkSize);
+    }
+
+    /**
+     * @return scanner with the same configuration, splitting file to chunks of given size
+     */
+    @Nonnull
+    public XsDateTimeScanner withChunkSize(int newChunkSize) {
+        if ((newChunkSize < 1) || (newChunkSize > MAX_CHUNK_SIZE)) {
+            throw new IllegalArgumentException("Chunk size has to be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        return new XsDateTimeScanner(csv, elementNames, fieldByColumn, separator, header, fieldCount, lenient,
+                parallelism, newChunkSize);
+    }
+
+    /**
+     * Scan file and pass parsed values to consumer
+     *
+     * @param file is file to be scanned
+     * @param consumer is consumer values are passed to; it is called concurrently from worker threads
+     * @return statistics of scan
+     * @throws IOException if file cannot be read or its structure is not valid
+     * @throws DateTimeParseException if any value is not valid; message contains position of value in file
+     */
+    @Nonnull
+    public Statistics scan(Path file, ValueConsumer consumer) throws IOException {
+        return scan(file, consumer, null);
+    }
+
+    /**
+     * Scan file and append parsed values to columns, in order of their position in file
+     *
+     * @param file is file to be scanned
+     * @param columns are columns values are appended to, one for each configured element or column
+     * @return statistics of scan
+     * @throws IOException if file cannot be read or its structure is not valid
+     * @throws DateTimeParseException if any value is not valid; message contains position of value in file
+     */
+    @Nonnull
+    public Statistics scan(Path file, XsDateTimeColumn[] columns) throws IOException {
+        if (columns.length != fieldCount) {
+            throw new IllegalArgumentException("Number of columns " + columns.length
+                    + " does not match number of fields " + fieldCount);
+        }
+        return scan(file, null, columns);
+    }
+
+    @Nonnull
+    private Statistics scan(Path file, @Nullable ValueConsumer consumer, @Nullable XsDateTimeColumn[] columns)
+            throws IOException {
+        long startTime = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<ChunkScanner> chunks = new ArrayList<>();
+            for (long chunkStart = 0; chunkStart < size; chunkStart += chunkSize) {
+                chunks.add(new ChunkScanner(chunkStart, Math.min(size, chunkStart + chunkSize), size, consumer));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism,
+                    chunks.size())));
+            try {
+                List<Future<?>> futures = new ArrayList<>(chunks.size());
+                for (ChunkScanner chunk : chunks) {
+                    futures.add(executor.submit(() -> {
+                        chunk.scan(channel);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    await(future);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            long values = 0;
+            for (ChunkScanner chunk : chunks) {
+                values += chunk.values;
+                if (columns != null) {
+                    for (int field = 0; field < fieldCount; field++) {
+                        columns[field].addAll(chunk.columns[field]);
+                    }
+                }
+            }
+            return new Statistics(size, values, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Wait for completion of chunk, rethrowing exception it failed with
+     */
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Scan interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return (value == ' ') || (value == '\t') || (value == '\r') || (value == '\n');
+    }
+
+    /**
+     * Scans single chunk of file; collects values to batches that are parsed using bulk parser
+     */
+    private final class ChunkScanner {
+
+        private final long chunkStart;
+        private final long chunkEnd;
+        private final long fileSize;
+        @Nullable
+        private final ValueConsumer consumer;
+        private final XsDateTimeColumn[] columns;
+        private long values;
+        // batch buffers are only allocated while chunk is being scanned
+        private byte[] data;
+        private int dataSize;
+        private int[] starts;
+        private int[] ends;
+        private int[] fields;
+        private long[] positions;
+        private long[] epochSeconds;
+        private int[] nanos;
+        private int[] offsetSeconds;
+        private int count;
+        /**
+         * File position of the first byte of mapped buffer
+         */
+        private long base;
+        /**
+         * Indicates that mapped buffer reaches end of file
+         */
+        private boolean toEnd;
+
+        ChunkScanner(long chunkStart, long chunkEnd, long fileSize, @Nullable ValueConsumer consumer) {
+            this.chunkStart = chunkStart;
+            this.chunkEnd = chunkEnd;
+            this.fileSize = fileSize;
+            this.consumer = consumer;
+            if (consumer == null) {
+                columns = new XsDateTimeColumn[fieldCount];
+                for (int field = 0; field < fieldCount; field++) {
+                    columns[field] = new XsDateTimeColumn();
+                }
+            } else {
+                columns = new XsDateTimeColumn[0];
+            }
+        }
+
+        void scan(FileChannel channel) throws IOException {
+            // mapping starts one byte before chunk, so that CSV scanner can verify that chunk starts with new line
+            base = Math.max(0, chunkStart - 1);
+            long mapEnd = Math.min(fileSize, chunkEnd + MAX_RECORD_LENGTH);
+            toEnd = (mapEnd == fileSize);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, mapEnd - base);
+            int from = (int) (chunkStart - base);
+            int owned = (int) (chunkEnd - base);
+            allocateBatch(BATCH_SIZE);
+            try {
+                if (csv) {
+                    scanCsv(buffer, from, owned);
+                } else {
+                    scanXml(buffer, from, owned);
+                }
+                flush();
+            } finally {
+                allocateBatch(0);
+            }
+        }
+
+        private void allocateBatch(int size) {
+            data = new byte[size * 32];
+            dataSize = 0;
+            starts = new int[size];
+            ends = new int[size];
+            fields = new int[size];
+            positions = new long[size];
+            epochSeconds = new long[size];
+            nanos = new int[size];
+            offsetSeconds = new int[size];
+            count = 0;
+        }
+
+        /**
+         * Find given byte in buffer
+         *
+         * @return index of byte or -1 if byte has not been found before end of file
+         * @throws IOException if byte has not been found in mapped part of file that ends before end of file
+         */
+        private int indexOf(ByteBuffer buffer, byte value, int from) throws IOException {
+            int limit = buffer.limit();
+            for (int pos = from; pos < limit; pos++) {
+                if (buffer.get(pos) == value) {
+                    return pos;
+                }
+            }
+            if (!toEnd) {
+                throw new IOException("Record at position " + (base + from) + " extends more than "
+                        + MAX_RECORD_LENGTH + " bytes beyond end of chunk");
+            }
+            return -1;
+        }
+
+        /**
+         * @return index of configured element whose name starts on given position, -1 if there is none
+         */
+        private int matchElement(ByteBuffer buffer, int pos) {
+            int limit = buffer.limit();
+            for (int field = 0; field < elementNames.length; field++) {
+                byte[] name = elementNames[field];
+                if (pos + name.length >= limit) {
+                    continue;
+                }
+                int i = 0;
+                while ((i < name.length) && (buffer.get(pos + i) == name[i])) {
+                    i++;
+                }
+                if (i == name.length) {
+                    byte next = buffer.get(pos + i);
+                    if ((next == '>') || (next == '/') || isWhitespace(next)) {
+                        return field;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private void scanXml(ByteBuffer buffer, int from, int owned) throws IOException {
+            int pos = from;
+            while (pos < owned) {
+                if (buffer.get(pos) != '<') {
+                    pos++;
+                    continue;
+                }
+                int field = matchElement(buffer, pos + 1);
+                if (field < 0) {
+                    pos++;
+                    continue;
+                }
+                int tagEnd = indexOf(buffer, (byte) '>', pos + 1);
+                if (tagEnd < 0) {
+                    throw new IOException("Unterminated start tag at position " + (base + pos));
+                }
+                if (buffer.get(tagEnd - 1) == '/') {
+                    // empty element
+                    pos = tagEnd + 1;
+                    continue;
+                }
+                int contentEnd = indexOf(buffer, (byte) '<', tagEnd + 1);
+                if (contentEnd < 0) {
+                    throw new IOException("Unterminated element at position " + (base + pos));
+                }
+                addValue(buffer, field, tagEnd + 1, contentEnd);
+                pos = contentEnd;
+            }
+        }
+
+        private void scanCsv(ByteBuffer buffer, int from, int owned) throws IOException {
+            int pos = from;
+            if ((chunkStart > 0) || header) {
+                // skip line that started in previous chunk (or header); if chunk starts on new line, byte before
+                // chunk start is new line character and nothing is skipped
+                int lineEnd = indexOf(buffer, (byte) '\n', (chunkStart > 0) ? from - 1 : from);
+                pos = (lineEnd < 0) ? buffer.limit() : lineEnd + 1;
+            }
+            while (pos < owned) {
+                pos = scanCsvLine(buffer, pos);
+            }
+        }
+
+        /**
+         * Scan line starting on given position
+         *
+         * @return position of the next line
+         */
+        private int scanCsvLine(ByteBuffer buffer, int lineStart) throws IOException {
+            int limit = buffer.limit();
+            int pos = lineStart;
+            int column = 0;
+            while (true) {
+                int valueStart = pos;
+                int valueEnd = -1;
+                if ((pos < limit) && (buffer.get(pos) == '"')) {
+                    int quote = indexOf(buffer, (byte) '"', pos + 1);
+                    // doubled quote represents quote inside field
+                    while ((quote >= 0) && (quote + 1 < limit) && (buffer.get(quote + 1) == '"')) {
+                        quote = indexOf(buffer, (byte) '"', quote + 2);
+                    }
+                    if (quote < 0) {
+                        throw new IOException("Unterminated quoted field at position " + (base + pos));
+                    }
+                    valueStart = pos + 1;
+                    valueEnd = quote;
+                    pos = quote + 1;
+                }
+                while ((pos < limit) && (buffer.get(pos) != separator) && (buffer.get(pos) != '\n')) {
+                    pos++;
+                }
+                if ((pos == limit) && !toEnd) {
+                    throw new IOException("Record at position " + (base + lineStart) + " extends more than "
+                            + MAX_RECORD_LENGTH + " bytes beyond end of chunk");
+                }
+                int field = (column < fieldByColumn.length) ? fieldByColumn[column] : -1;
+                if (field >= 0) {
+                    addValue(buffer, field, valueStart, (valueEnd < 0) ? pos : valueEnd);
+                }
+                if (pos == limit) {
+                    return limit;
+                }
+                if (buffer.get(pos) == '\n') {
+                    return pos + 1;
+                }
+                pos++;
+                column++;
+            }
+        }
+
+        /**
+         * Add value occupying given range of buffer to batch; surrounding whitespace is removed and empty values are
+         * ignored
+         */
+        private void addValue(ByteBuffer buffer, int field, int start, int end) {
+            while ((start < end) && isWhitespace(buffer.get(start))) {
+                start++;
+            }
+            while ((end > start) && isWhitespace(buffer.get(end - 1))) {
+                end--;
+            }
+            if (start == end) {
+                return;
+            }
+            int length = end - start;
+            if (dataSize + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataSize + length));
+            }
+            for (int i = 0; i < length; i++) {
+                data[dataSize + i] = buffer.get(start + i);
+            }
+            starts[count] = dataSize;
+            ends[count] = dataSize + length;
+            fields[count] = field;
+            positions[count] = base + start;
+            dataSize += length;
+            count++;
+            if (count == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Parse values collected in batch and pass them to consumer or columns
+         */
+        private void flush() {
+            if (count == 0) {
+                return;
+            }
+            int[] batchStarts = (count == BATCH_SIZE) ? starts : Arrays.copyOf(starts, count);
+            int[] batchEnds = (count == BATCH_SIZE) ? ends : Arrays.copyOf(ends, count);
+            try {
+                if (lenient) {
+                    XsDateTimeFormatter.parseEpochSecondsLenient(data, batchStarts, batchEnds, epochSeconds, nanos,
+                            offsetSeconds);
+                } else {
+                    XsDateTimeFormatter.parseEpochSeconds(data, batchStarts, batchEnds, epochSeconds, nanos,
+                            offsetSeconds);
+                }
+            } catch (DateTimeParseException e) {
+                throw locateError();
+            }
+            for (int i = 0; i < count; i++) {
+                if (consumer != null) {
+                    consumer.accept(fields[i], positions[i], epochSeconds[i], nanos[i], offsetSeconds[i]);
+                } else {
+                    columns[fields[i]].add(epochSeconds[i], nanos[i], offsetSeconds[i]);
+                }
+            }
+            values += count;
+            count = 0;
+            dataSize = 0;
+        }
+
+        /**
+         * Find the first invalid value in batch
+         *
+         * @return exception describing failure, including position of value in file
+         */
+        @Nonnull
+        private DateTimeParseException locateError() {
+            XsByteSequence value = new XsByteSequence();
+            XsTemporalHolder holder = new XsTemporalHolder();
+            for (int i = 0; i < count; i++) {
+                value.set(data, starts[i], ends[i]);
+                try {
+                    XsDateTimeFormatter.parse(value, 0, value.length(), lenient, holder);
+                } catch (DateTimeParseException e) {
+                    return new DateTimeParseException("Invalid xs:dateTime value at position " + positions[i]
+                            + " in file: " + e.getMessage(), e.getParsedString(), e.getErrorIndex(), e);
+                }
+            }
+            throw new IllegalStateException("Bulk parser failed, but no invalid value has been found");
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+
+/**
+ * Custom lenient dialect of xs:date, xs:time and xs:dateTime lexical forms. Accepted variations (delimiters between
+ * date and time, case of letters, optional seconds, single digit hour, fraction precision, timezone presence and
+ * format, default offset) are declared once using {@link Builder}; resulting dialect is immutable and parses values
+ * by single hand-written parser, driven by fields and precomputed character tables of the dialect. Parser is not
+ * specialized per dialect - each setting is checked when parsing every value - but each variation only costs single
+ * branch on dialect setting at the point where it applies, unlike trying sequence of {@code DateTimeFormatter}s.
+ * <p>
+ * Year, month and day always follow xsd rules (at least four digit year with optional minus sign, two digit month
+ * and day). Dialect is thread-safe and can be shared
+ */
+public final class XsDialect {
+
+    /**
+     * Handling of timezone in parsed values
+     */
+    public enum TimezonePolicy {
+        /**
+         * Timezone may or may not be present
+         */
+        OPTIONAL,
+        /**
+         * Value without timezone is rejected
+         */
+        REQUIRED,
+        /**
+         * Value with timezone is rejected
+         */
+        FORBIDDEN
+    }
+
+    /**
+     * Builder of dialect; default settings correspond to strict xsd validation
+     */
+    public static final class Builder {
+
+        private String delimiters = "T";
+        private boolean caseInsensitive;
+        private boolean optionalSeconds;
+        private boolean singleDigitHour;
+        private int minFractionDigits;
+        private int maxFractionDigits = Integer.MAX_VALUE;
+        private TimezonePolicy timezonePolicy = TimezonePolicy.OPTIONAL;
+        private boolean lenientOffsets;
+        private int defaultOffsetSeconds = XsTimezoneFormatter.NO_OFFSET;
+
+        private Builder() {
+        }
+
+        /**
+         * Set characters accepted as delimiter between date and time; default is "T"
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder delimiters(String delimiters) {
+            if (delimiters.isEmpty()) {
+                throw new IllegalArgumentException("At least one delimiter must be accepted");
+            }
+            for (int i = 0; i < delimiters.length(); i++) {
+                if (delimiters.charAt(i) >= DELIMITER_TABLE_SIZE) {
+                    throw new IllegalArgumentException("Only ASCII characters can be used as delimiters");
+                }
+            }
+            this.delimiters = delimiters;
+            return this;
+        }
+
+        /**
+         * Set if letters (date / time delimiter and Z timezone) are accepted in any case; default is false
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder caseInsensitive(boolean caseInsensitive) {
+            this.caseInsensitive = caseInsensitive;
+            return this;
+        }
+
+        /**
+         * Set if seconds may be omitted; default is false
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder optionalSeconds(boolean optionalSeconds) {
+            this.optionalSeconds = optionalSeconds;
+            return this;
+        }
+
+        /**
+         * Set if hour may be written using single digit; default is false
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder singleDigitHour(boolean singleDigitHour) {
+            this.singleDigitHour = singleDigitHour;
+            return this;
+        }
+
+        /**
+         * Set accepted number of fraction digits; default is 0 to unlimited. Maximum 0 forbids fraction, minimum
+         * greater than 0 makes it mandatory. Digits beyond nanosecond precision are truncated
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder fractionDigits(int min, int max) {
+            if ((min < 0) || (max < min)) {
+                throw new IllegalArgumentException("Invalid range of fraction digits " + min + " - " + max);
+            }
+            this.minFractionDigits = min;
+            this.maxFractionDigits = max;
+            return this;
+        }
+
+        /**
+         * Set handling of timezone; default is {@link TimezonePolicy#OPTIONAL}
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder timezone(TimezonePolicy timezonePolicy) {
+            this.timezonePolicy = Objects.requireNonNull(timezonePolicy);
+            return this;
+        }
+
+        /**
+         * Set if offsets may use lenient forms (single or two digit hour without minutes, offset with seconds) as
+         * defined by {@link XsTimezoneFormatter#LENIENT_REGEX}; default is false
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder lenientOffsets(boolean lenientOffsets) {
+            this.lenientOffsets = lenientOffsets;
+            return this;
+        }
+
+        /**
+         * Set offset assigned to values without timezone; default is {@link XsDateTimeFormatter#NO_OFFSET}, meaning
+         * values without timezone are kept without it
+         *
+         * @return this builder
+         */
+        @Nonnull
+        public Builder defaultOffsetSeconds(int defaultOffsetSeconds) {
+            if (defaultOffsetSeconds != XsTimezoneFormatter.NO_OFFSET) {
+                XsTimezoneFormatter.ofTotalSeconds(defaultOffsetSeconds);
+            }
+            this.defaultOffsetSeconds = defaultOffsetSeconds;
+            return this;
+        }
+
+        /**
+         * @return dialect with settings of this builder
+         */
+        @Nonnull
+        public XsDialect build() {
+            return new XsDialect(this);
+        }
+    }
+
+    private static final int DELIMITER_TABLE_SIZE = 128;
+
+    /**
+     * Accepted date / time delimiters, indexed by character
+     */
+    private final boolean[] delimiterTable;
+    private final boolean caseInsensitive;
+    private final boolean optionalSeconds;
+    private final boolean singleDigitHour;
+    private final int minFractionDigits;
+    private final int maxFractionDigits;
+    private final TimezonePolicy timezonePolicy;
+    private final boolean lenientOffsets;
+    private final int defaultOffsetSeconds;
+
+    private XsDialect(Builder builder) {
+        delimiterTable = new boolean[DELIMITER_TABLE_SIZE];
+        for (int i = 0; i < builder.delimiters.length(); i++) {
+            char delimiter = builder.delimiters.charAt(i);
+            delimiterTable[delimiter] = true;
+            if (builder.caseInsensitive) {
+                delimiterTable[Character.toLowerCase(delimiter)] = true;
+                delimiterTable[Character.toUpperCase(delimiter)] = true;
+            }
+        }
+        caseInsensitive = builder.caseInsensitive;
+        optionalSeconds = builder.optionalSeconds;
+        singleDigitHour = builder.singleDigitHour;
+        minFractionDigits = builder.minFractionDigits;
+        maxFractionDigits = builder.maxFractionDigits;
+        timezonePolicy = builder.timezonePolicy;
+        lenientOffsets = builder.lenientOffsets;
+        defaultOffsetSeconds = builder.defaultOffsetSeconds;
+    }
+
+    /**
+     * @return new builder with default (strict) settings
+     */
+    @Nonnull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Parse time part of value (without timezone), starting on given position, to time fields of holder
+     *
+     * @return index after the last character of time part
+     */
+    private int timePart(CharSequence text, int start, int end, XsTemporalHolder holder) {
+        int pos = start;
+        int hour;
+        if (singleDigitHour && (digit(text, pos + 1, end) < 0)) {
+            hour = digit(text, pos, end);
+            if (hour < 0) {
+                throw error("Hour expected", text, pos);
+            }
+            pos++;
+        } else {
+            hour = twoDigits(text, pos, end);
+            pos += 2;
+        }
+        literal(text, pos, end, ':');
+        int minute = twoDigits(text, pos + 1, end);
+        pos += 3;
+        int second = 0;
+        boolean hasSeconds = !optionalSeconds || ((pos < end) && (text.charAt(pos) == ':'));
+        if (hasSeconds) {
+            literal(text, pos, end, ':');
+            second = twoDigits(text, pos + 1, end);
+            pos += 3;
+        }
+        int nano = 0;
+        int fractionStart = pos;
+        if (hasSeconds && (pos < end) && (text.charAt(pos) == '.')) {
+            fractionStart = ++pos;
+            int scale = 100_000_000;
+            int digit;
+            while ((digit = digit(text, pos, end)) >= 0) {
+                nano += digit * scale;
+                scale /= 10;
+                pos++;
+            }
+            if (pos == fractionStart) {
+                throw error("Fraction digit expected", text, pos);
+            }
+        }
+        int fractionDigits = pos - fractionStart;
+        if ((fractionDigits < minFractionDigits) || (fractionDigits > maxFractionDigits)) {
+            throw error("Fraction with " + minFractionDigits + " to " + maxFractionDigits + " digits expected", text,
+                    fractionStart);
+        }
+        if ((hour == 24) && (nano != 0)) {
+            throw error("Only 24:00:00 is permitted with hour 24", text, start);
+        }
+        XsTimeFormatter.timeTail(text, start, pos, end, hour, minute, second, false, holder);
+        holder.nano = nano;
+        return pos;
+    }
+
+    /**
+     * Parse timezone suffix, spanning from given position to the end of parsed range, and apply timezone policy and
+     * default offset
+     *
+     * @return offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET}
+     */
+    private int timezonePart(CharSequence text, int pos, int end) {
+        if (pos >= end) {
+            if (timezonePolicy == TimezonePolicy.REQUIRED) {
+                throw error("Timezone expected", text, pos);
+            }
+            return defaultOffsetSeconds;
+        }
+        if (timezonePolicy == TimezonePolicy.FORBIDDEN) {
+            throw error("Timezone not permitted", text, pos);
+        }
+        if (end - pos == 1) {
+            char zone = text.charAt(pos);
+            if ((zone == 'Z') || (caseInsensitive && (zone == 'z'))) {
+                return 0;
+            }
+            throw error("Invalid timezone", text, pos);
+        }
+        return lenientOffsets ? XsTimezoneFormatter.parseLenientSeconds(text, pos, end)
+                : XsTimezoneFormatter.parseStrictSeconds(text, pos, end);
+    }
+
+    /**
+     * Parse xs:date value in this dialect to supplied holder; time fields are reset
+     *
+     * @throws DateTimeParseException if value is not valid in this dialect
+     */
+    public void parseDate(CharSequence text, XsTemporalHolder holder) {
+        holder.clear();
+        int pos = XsDateFormatter.parseDatePart(text, 0, text.length(), holder);
+        holder.offsetSeconds = timezonePart(text, pos, text.length());
+    }
+
+    /**
+     * Parse xs:time value in this dialect to supplied holder; date fields are reset
+     *
+     * @throws DateTimeParseException if value is not valid in this dialect
+     */
+    public void parseTime(CharSequence text, XsTemporalHolder holder) {
+        holder.clear();
+        int pos = timePart(text, 0, text.length(), holder);
+        holder.offsetSeconds = timezonePart(text, pos, text.length());
+    }
+
+    /**
+     * Parse xs:dateTime value in this dialect to supplied holder
+     *
+     * @throws DateTimeParseException if value is not valid in this dialect
+     */
+    public void parseDateTime(CharSequence text, XsTemporalHolder holder) {
+        int end = text.length();
+        holder.clear();
+        int pos = XsDateFormatter.parseDatePart(text, 0, end, holder);
+        char delimiter = (pos < end) ? text.charAt(pos) : 0;
+        if ((delimiter >= DELIMITER_TABLE_SIZE) || !delimiterTable[delimiter]) {
+            throw error("Date / time delimiter expected", text, pos);
+        }
+        pos = timePart(text, pos + 1, end, holder);
+        holder.offsetSeconds = timezonePart(text, pos, end);
+    }
+
+    /**
+     * Convert xs:date value in this dialect to {@code LocalDate}; timezone is ignored
+     *
+     * @throws DateTimeParseException if value is not valid in this dialect
+     */
+    @Nonnull
+    public LocalDate parseLocalDate(CharSequence text) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parseDate(text, holder);
+        return holder.toLocalDate();
+    }
+
+    /**
+     * Convert xs:time value in this dialect to {@code LocalTime}; timezone is ignored
+     *
+     * @throws DateTimeParseException if value is not valid in this dialect
+     */
+    @Nonnull
+    public LocalTime parseLocalTime(CharSequence text) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parseTime(text, holder);
+        return holder.toLocalTime();
+    }
+
+    /**
+     * Convert xs:dateTime value in this dialect to {@code LocalDateTime}; timezone is ignored
+     *
+     * @throws DateTimeParseException if value is not valid in this dialect
+     */
+    @Nonnull
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parseDateTime(text, holder);
+        return holder.toLocalDateTime();
+    }
+}
@@ -0,0 +1,433 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+
+/**
+ * For parsing and formatting of {@code xs:duration}, {@code xs:dayTimeDuration} and {@code xs:yearMonthDuration}
+ * values with validation strictly or loosely adhering to
+ * <a href="https://www.w3.org/TR/xmlschema11-2/#duration">XML Schema</a>.
+ * <p>
+ * Duration is represented by two primitive values, as in XSD 1.1 value space - number of months (year-month part)
+ * and number of nanoseconds (day-time part, day being always 24 hours). Parse methods either fill both components
+ * to caller-supplied array (at indices {@link #MONTHS_INDEX} and {@link #NANOS_INDEX}) or return one of them, in
+ * both cases without any allocation; canonical writer accepts both components and appends canonical
+ * representation to supplied {@code StringBuilder}
+ */
+public final class XsDurationFormatter {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsDurationFormatter() {}
+
+    /**
+     * Index of year-month component (in months) in array filled by {@link #parse(CharSequence, long[])}
+     */
+    public static final int MONTHS_INDEX = 0;
+
+    /**
+     * Index of day-time component (in nanoseconds) in array filled by {@link #parse(CharSequence, long[])}
+     */
+    public static final int NANOS_INDEX = 1;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MINUTE = 60 * NANOS_PER_SECOND;
+    private static final long NANOS_PER_HOUR = 60 * NANOS_PER_MINUTE;
+    private static final long NANOS_PER_DAY = 24 * NANOS_PER_HOUR;
+
+    /**
+     * String defining time part of format, accepted by STRICT formatter
+     */
+    static final String STRICT_TIME_REGEX = "(T(?=[0-9])([0-9]+H)?([0-9]+M)?([0-9]+(\\.[0-9]+)?S)?)";
+
+    /**
+     * String defining format, accepted by STRICT formatter
+     */
+    public static final String STRICT_REGEX = "-?P(?=[0-9T])([0-9]+Y)?([0-9]+M)?([0-9]+D)?" + STRICT_TIME_REGEX +
+            '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX);
+
+    /**
+     * String defining format of {@code xs:dayTimeDuration}, accepted by STRICT formatter
+     */
+    public static final String STRICT_DAY_TIME_REGEX = "-?P(?=[0-9T])([0-9]+D)?" + STRICT_TIME_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to {@code xs:dayTimeDuration} strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_DAY_TIME_PATTERN = Pattern.compile(STRICT_DAY_TIME_REGEX);
+
+    /**
+     * String defining format of {@code xs:yearMonthDuration}, accepted by STRICT formatter
+     */
+    public static final String STRICT_YEAR_MONTH_REGEX = "-?P(?=[0-9])([0-9]+Y)?([0-9]+M)?";
+
+    /**
+     * Pattern that corresponds to {@code xs:yearMonthDuration} strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_YEAR_MONTH_PATTERN = Pattern.compile(STRICT_YEAR_MONTH_REGEX);
+
+    /**
+     * String defining time part of format, accepted by LENIENT formatter
+     */
+    static final String LENIENT_TIME_REGEX =
+            "([Tt](?=[0-9])([0-9]+[Hh])?([0-9]+[Mm])?([0-9]+([.,][0-9]+)?[Ss])?)";
+
+    /**
+     * String defining format, accepted by LENIENT formatter. Compared to strict format, it accepts designators
+     * regardless of upper/lower-case, explicit plus sign and comma as decimal separator
+     */
+    public static final String LENIENT_REGEX = "[-+]?[Pp](?=[0-9Tt])([0-9]+[Yy])?([0-9]+[Mm])?([0-9]+[Dd])?" +
+            LENIENT_TIME_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by LENIENT formatter
+     */
+    public static final Pattern LENIENT_PATTERN = Pattern.compile(LENIENT_REGEX);
+
+    /**
+     * Designators in order they can appear in duration; index in this string is used to verify order of components
+     */
+    private static final String DESIGNATORS = "YMDTHMS";
+
+    private static final int YEARS = 0;
+    private static final int MONTHS = 1;
+    private static final int DAYS = 2;
+    private static final int TIME = 3;
+    private static final int HOURS = 4;
+    private static final int MINUTES = 5;
+    private static final int SECONDS = 6;
+
+    /**
+     * Parse duration and return one of its components, optionally storing both components to supplied array
+     *
+     * @param text is duration being parsed
+     * @param lenient defines if lenient or strict validation should be used
+     * @param yearMonth defines if year-month part (years and months) is permitted
+     * @param dayTime defines if day-time part (days, hours, minutes and seconds) is permitted
+     * @param nanos defines if day-time component (in nanoseconds) or year-month component (in months) is returned
+     * @param result is array both components are stored to, null if only returned component is needed
+     * @return requested component of parsed duration
+     */
+    private static long parse(CharSequence text, boolean lenient, boolean yearMonth, boolean dayTime,
+            boolean nanos, @Nullable long[] result) {
+        int end = text.length();
+        int pos = 0;
+        boolean negative = false;
+        if ((pos < end) && ((text.charAt(pos) == '-') || (lenient && (text.charAt(pos) == '+')))) {
+            negative = (text.charAt(pos) == '-');
+            pos++;
+        }
+        if ((pos >= end) || ((text.charAt(pos) != 'P') && !(lenient && (text.charAt(pos) == 'p')))) {
+            throw error("'P' expected", text, pos);
+        }
+        pos++;
+        long months = 0;
+        long total = 0;
+        // component that is not requested is validated, but not accumulated, thus it cannot overflow
+        boolean sumMonths = (result != null) || !nanos;
+        boolean sumTotal = (result != null) || nanos;
+        int last = -1;
+        try {
+            while (pos < end) {
+                char c = text.charAt(pos);
+                if ((c == 'T') || (lenient && (c == 't'))) {
+                    if ((last >= TIME) || !dayTime) {
+                        throw error("Unexpected 'T'", text, pos);
+                    }
+                    last = TIME;
+                    if (digit(text, ++pos, end) < 0) {
+                        throw error("Time component expected after 'T'", text, pos);
+                    }
+                    continue;
+                }
+                int numberStart = pos;
+                long value = 0;
+                int digit;
+                while ((digit = digit(text, pos, end)) >= 0) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), digit);
+                    pos++;
+                }
+                if (pos == numberStart) {
+                    throw error("Digit expected", text, pos);
+                }
+                long fraction = 0;
+                boolean hasFraction = false;
+                if ((pos < end) && ((text.charAt(pos) == '.') || (lenient && (text.charAt(pos) == ',')))) {
+                    hasFraction = true;
+                    int fractionStart = ++pos;
+                    long scale = NANOS_PER_SECOND;
+                    while ((digit = digit(text, pos, end)) >= 0) {
+                        // digits beyond nanosecond precision are truncated
+                        scale /= 10;
+                        fraction += digit * scale;
+                        pos++;
+                    }
+                    if (pos == fractionStart) {
+                        throw error("Digit expected", text, pos);
+                    }
+                }
+                if (pos >= end) {
+                    throw error("Designator expected", text, pos);
+                }
+                char designator = lenient ? Character.toUpperCase(text.charAt(pos)) : text.charAt(pos);
+                int component = DESIGNATORS.indexOf(designator, (last >= TIME) ? TIME + 1 : 0);
+                if ((component < 0) || (component == TIME) || (component <= last)
+                        || ((last < TIME) && (component > TIME)) || (hasFraction && (component != SECONDS))
+                        || ((component <= MONTHS) ? !yearMonth : !dayTime)) {
+                    throw error("Unexpected designator", text, pos);
+                }
+                if ((component <= MONTHS) ? !sumMonths : !sumTotal) {
+                    last = component;
+                    pos++;
+                    continue;
+                }
+                switch (component) {
+                    case YEARS:
+                        months = Math.addExact(months, Math.multiplyExact(value, 12));
+                        break;
+                    case MONTHS:
+                        months = Math.addExact(months, value);
+                        break;
+                    case DAYS:
+                        total = Math.addExact(total, Math.multiplyExact(value, NANOS_PER_DAY));
+                        break;
+                    case HOURS:
+                        total = Math.addExact(total, Math.multiplyExact(value, NANOS_PER_HOUR));
+                        break;
+                    case MINUTES:
+                        total = Math.addExact(total, Math.multiplyExact(value, NANOS_PER_MINUTE));
+                        break;
+                    default:
+                        total = Math.addExact(total, Math.addExact(Math.multiplyExact(value, NANOS_PER_SECOND),
+                                fraction));
+                }
+                last = component;
+                pos++;
+            }
+        } catch (ArithmeticException e) {
+            throw error("Duration out of range", text, pos);
+        }
+        if (last < 0) {
+            throw error("Duration component expected", text, pos);
+        }
+        if (negative) {
+            months = -months;
+            total = -total;
+        }
+        if (result != null) {
+            result[MONTHS_INDEX] = months;
+            result[NANOS_INDEX] = total;
+        }
+        return nanos ? total : months;
+    }
+
+    private static long[] checkResult(long[] result) {
+        if (result.length < 2) {
+            throw new IllegalArgumentException("Result array must have at least two elements, not "
+                    + result.length);
+        }
+        return result;
+    }
+
+    /**
+     * Parse supplied xs:duration value using strict validation, storing both its components to supplied array
+     * without any allocation
+     *
+     * @param xsDuration is value strictly compliant with xs:duration format
+     * @param result is array number of months is stored to at index {@link #MONTHS_INDEX} and number of
+     *              nanoseconds at index {@link #NANOS_INDEX}
+     * @throws DateTimeParseException if supplied value is not valid duration or day-time part does not fit in long
+     * @throws IllegalArgumentException if result array has less than two elements
+     */
+    public static void parse(CharSequence xsDuration, long[] result) {
+        parse(xsDuration, false, true, true, true, checkResult(result));
+    }
+
+    /**
+     * Parse supplied xs:duration value using lenient validation, storing both its components to supplied array
+     * without any allocation
+     *
+     * @param xsDuration is value roughly compliant with xs:duration format
+     * @param result is array number of months is stored to at index {@link #MONTHS_INDEX} and number of
+     *              nanoseconds at index {@link #NANOS_INDEX}
+     * @throws DateTimeParseException if supplied value is not valid duration or day-time part does not fit in long
+     * @throws IllegalArgumentException if result array has less than two elements
+     */
+    public static void parseLenient(CharSequence xsDuration, long[] result) {
+        parse(xsDuration, true, true, true, true, checkResult(result));
+    }
+
+    /**
+     * Parse month component of supplied xs:duration value using strict validation, without any allocation
+     *
+     * @param xsDuration is value strictly compliant with xs:duration format
+     * @return number of months in year-month part of duration
+     * @throws DateTimeParseException if supplied value is not valid duration or year-month part does not fit in long
+     */
+    public static long parseMonths(CharSequence xsDuration) {
+        return parse(xsDuration, false, true, true, false, null);
+    }
+
+    /**
+     * Parse nanosecond component of supplied xs:duration value using strict validation, without any allocation
+     *
+     * @param xsDuration is value strictly compliant with xs:duration format
+     * @return number of nanoseconds in day-time part of duration
+     * @throws DateTimeParseException if supplied value is not valid duration or day-time part does not fit in long
+     */
+    public static long parseNanos(CharSequence xsDuration) {
+        return parse(xsDuration, false, true, true, true, null);
+    }
+
+    /**
+     * Parse month component of supplied xs:duration value using lenient validation, without any allocation
+     *
+     * @param xsDuration is value roughly compliant with xs:duration format
+     * @return number of months in year-month part of duration
+     * @throws DateTimeParseException if supplied value is not valid duration or year-month part does not fit in long
+     */
+    public static long parseMonthsLenient(CharSequence xsDuration) {
+        return parse(xsDuration, true, true, true, false, null);
+    }
+
+    /**
+     * Parse nanosecond component of supplied xs:duration value using lenient validation, without any allocation
+     *
+     * @param xsDuration is value roughly compliant with xs:duration format
+     * @return number of nanoseconds in day-time part of duration
+     * @throws DateTimeParseException if supplied value is not valid duration or day-time part does not fit in long
+     */
+    public static long parseNanosLenient(CharSequence xsDuration) {
+        return parse(xsDuration, true, true, true, true, null);
+    }
+
+    /**
+     * Parse supplied xs:yearMonthDuration value using strict validation, without any allocation
+     *
+     * @param xsYearMonthDuration is value strictly compliant with xs:yearMonthDuration format
+     * @return number of months in duration
+     * @throws DateTimeParseException if supplied value is not valid year-month duration
+     */
+    public static long parseYearMonthMonths(CharSequence xsYearMonthDuration) {
+        return parse(xsYearMonthDuration, false, true, false, false, null);
+    }
+
+    /**
+     * Parse supplied xs:dayTimeDuration value using strict validation, without any allocation
+     *
+     * @param xsDayTimeDuration is value strictly compliant with xs:dayTimeDuration format
+     * @return number of nanoseconds in duration
+     * @throws DateTimeParseException if supplied value is not valid day-time duration
+     */
+    public static long parseDayTimeNanos(CharSequence xsDayTimeDuration) {
+        return parse(xsDayTimeDuration, false, false, true, true, null);
+    }
+
+    /**
+     * Convert supplied xs:yearMonthDuration string to {@code Period} using strict validation
+     *
+     * @param xsYearMonthDuration is string value strictly compliant with xs:yearMonthDuration format
+     * @return normalized period (years and months) corresponding to supplied value
+     */
+    @Nonnull
+    public static Period parsePeriod(String xsYearMonthDuration) {
+        return Period.ofMonths(Math.toIntExact(parseYearMonthMonths(Objects.requireNonNull(xsYearMonthDuration))))
+                .normalized();
+    }
+
+    /**
+     * Convert supplied xs:dayTimeDuration string to {@code Duration} using strict validation
+     *
+     * @param xsDayTimeDuration is string value strictly compliant with xs:dayTimeDuration format
+     * @return duration corresponding to supplied value
+     */
+    @Nonnull
+    public static Duration parseDuration(String xsDayTimeDuration) {
+        return Duration.ofNanos(parseDayTimeNanos(Objects.requireNonNull(xsDayTimeDuration)));
+    }
+
+    /**
+     * Append number with designator to builder, if number is not zero
+     */
+    private static void appendComponent(StringBuilder builder, long value, char designator) {
+        if (value != 0) {
+            builder.append(value).append(designator);
+        }
+    }
+
+    /**
+     * Append canonical representation of duration to supplied builder, without any intermediate allocation
+     *
+     * @param months is year-month component of duration
+     * @param nanos is day-time component of duration, in nanoseconds
+     * @param builder is builder representation is appended to
+     * @throws IllegalArgumentException if components have different signs
+     */
+    public static void formatTo(long months, long nanos, StringBuilder builder) {
+        if (((months < 0) && (nanos > 0)) || ((months > 0) && (nanos < 0))) {
+            throw new IllegalArgumentException("Duration components must have the same sign (months " + months
+                    + ", nanoseconds " + nanos + ")");
+        }
+        if ((months == Long.MIN_VALUE) || (nanos == Long.MIN_VALUE)) {
+            throw new IllegalArgumentException("Duration out of range");
+        }
+        if ((months < 0) || (nanos < 0)) {
+            builder.append('-');
+            months = -months;
+            nanos = -nanos;
+        }
+        builder.append('P');
+        appendComponent(builder, months / 12, 'Y');
+        appendComponent(builder, months % 12, 'M');
+        appendComponent(builder, nanos / NANOS_PER_DAY, 'D');
+        long timeNanos = nanos % NANOS_PER_DAY;
+        if ((timeNanos != 0) || ((months == 0) && (nanos == 0))) {
+            builder.append('T');
+            appendComponent(builder, timeNanos / NANOS_PER_HOUR, 'H');
+            appendComponent(builder, (timeNanos / NANOS_PER_MINUTE) % 60, 'M');
+            long seconds = (timeNanos / NANOS_PER_SECOND) % 60;
+            int fraction = (int) (timeNanos % NANOS_PER_SECOND);
+            if ((seconds != 0) || (fraction != 0) || (timeNanos == 0)) {
+                builder.append(seconds);
+                if (fraction != 0) {
+                    builder.append('.');
+                    int divisor = 100_000_000;
+                    while (fraction != 0) {
+                        builder.append((char) ('0' + fraction / divisor));
+                        fraction %= divisor;
+                        divisor /= 10;
+                    }
+                }
+                builder.append('S');
+            }
+        }
+    }
+
+    /**
+     * Return canonical representation of duration
+     *
+     * @param months is year-month component of duration
+     * @param nanos is day-time component of duration, in nanoseconds
+     * @return canonical xs:duration representation of supplied value
+     * @throws IllegalArgumentException if components have different signs
+     */
+    @Nonnull
+    public static String format(long months, long nanos) {
+        StringBuilder builder = new StringBuilder(32);
+        formatTo(months, nanos, builder);
+        return builder.toString();
+    }
+}
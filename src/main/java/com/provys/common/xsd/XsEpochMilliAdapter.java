@@ -0,0 +1,85 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JAXB adapter mapping xs:dateTime to {@code Long} milliseconds since epoch, using strict validation; value without
+ * timezone is interpreted as UTC, fraction beyond milliseconds is truncated. Values are converted without any
+ * intermediate temporal objects and marshalled in UTC
+ */
+public class XsEpochMilliAdapter extends XmlAdapter<String, Long> {
+
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    /**
+     * Variant of adapter using lenient validation, as {@link XsDateTimeFormatter#LENIENT}
+     */
+    public static class Lenient extends XsEpochMilliAdapter {
+
+        public Lenient() {
+            super(true, 0);
+        }
+    }
+
+    /**
+     * Variant of adapter using lenient validation, interpreting values without timezone as belonging to default
+     * timezone, as {@link XsDateTimeFormatter#getLenientTZ(String)}; marshalled values are written in default
+     * timezone. Can be registered on {@code Marshaller} / {@code Unmarshaller} as instance or subclassed with no-arg
+     * constructor for use in annotations
+     */
+    public static class LenientTZ extends XsEpochMilliAdapter {
+
+        /**
+         * Create adapter with given default offset
+         *
+         * @param defOffset is default offset in any format accepted by {@code ZoneOffset.of} (e.g. {@code +01:00})
+         */
+        public LenientTZ(String defOffset) {
+            super(true, XsAdapterSupport.defaultOffset(defOffset));
+        }
+    }
+
+    private final boolean lenient;
+    private final int defaultOffset;
+
+    /**
+     * Create adapter using strict validation
+     */
+    public XsEpochMilliAdapter() {
+        this(false, 0);
+    }
+
+    XsEpochMilliAdapter(boolean lenient, int defaultOffset) {
+        this.lenient = lenient;
+        this.defaultOffset = defaultOffset;
+    }
+
+    /**
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    @Nullable
+    @Override
+    public Long unmarshal(@Nullable String value) {
+        String xsDateTime = XsAdapterSupport.collapse(value);
+        if (xsDateTime == null) {
+            return null;
+        }
+        XsTemporalHolder holder = XsAdapterSupport.parseDateTime(xsDateTime, lenient, defaultOffset);
+        return holder.epochSecond() * MILLIS_PER_SECOND + holder.nano / NANOS_PER_MILLI;
+    }
+
+    @Nullable
+    @Override
+    public String marshal(@Nullable Long value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(35);
+        XsDateTimeFormatter.formatTo(Math.floorDiv(value, MILLIS_PER_SECOND),
+                Math.floorMod(value, MILLIS_PER_SECOND) * NANOS_PER_MILLI, defaultOffset, builder);
+        return builder.toString();
+    }
+}
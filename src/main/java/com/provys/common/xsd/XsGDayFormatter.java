@@ -0,0 +1,123 @@
+package com.provys.common.xsd;
+
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+import static java.time.temporal.ChronoField.DAY_OF_MONTH;
+
+/**
+ * For parsing and formatting of {@code xs:gDay} values with validation strictly or loosely adhering to
+ * <a href="https://www.w3.org/TR/xmlschema-2/#gDay">XML Schema</a>.
+ * As there is no {@code java.time} type representing day of month, values are parsed to int
+ */
+public final class XsGDayFormatter {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsGDayFormatter() {}
+
+    /**
+     * String defining day part of format, accepted by STRICT formatter
+     */
+    static final String STRICT_DAY_REGEX = "---(0[1-9]|[12][0-9]|3[01])";
+
+    /**
+     * Formatter that parses day part
+     */
+    static final DateTimeFormatter STRICT_DAY = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .appendLiteral("---")
+            .appendValue(DAY_OF_MONTH, 2)
+            .toFormatter();
+
+    /**
+     * String defining format, accepted by STRICT formatter
+     */
+    public static final String STRICT_REGEX = STRICT_DAY_REGEX + XsTimezoneFormatter.STRICT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gDay} values with validation strictly adhering to
+     * <a href="https://www.w3.org/TR/xmlschema-2/#gDay">XML Schema</a>.
+     */
+    public static final DateTimeFormatter STRICT = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .append(STRICT_DAY)
+            .optionalStart()
+            .append(XsTimezoneFormatter.STRICT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Parse supplied xs:gDay value, occupying given range of text
+     *
+     * @return day of month; timezone is validated, but otherwise ignored
+     */
+    static int parseDay(CharSequence text, int start, int end, boolean lenient) {
+        literal(text, start, end, '-');
+        literal(text, start + 1, end, '-');
+        literal(text, start + 2, end, '-');
+        int day = day(text, start + 3, end, 31);
+        timezone(text, start + 5, end, lenient);
+        return day;
+    }
+
+    /**
+     * Convert supplied xs:gDay value to day of month using strict validation, without any allocation
+     *
+     * @param xsGDay is value strictly compliant with xs:gDay format. Timezone is completely ignored
+     * @return day of month corresponding to supplied value
+     */
+    public static int parseDay(CharSequence xsGDay) {
+        return parseDay(xsGDay, 0, xsGDay.length(), false);
+    }
+
+    /**
+     * String defining day part of format, accepted by LENIENT formatter
+     */
+    static final String LENIENT_DAY_REGEX = "---(0[1-9]|[12][0-9]|3[01])";
+
+    /**
+     * String defining format, accepted by LENIENT formatter
+     */
+    public static final String LENIENT_REGEX = LENIENT_DAY_REGEX + XsTimezoneFormatter.LENIENT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by LENIENT formatter
+     */
+    public static final Pattern LENIENT_PATTERN = Pattern.compile(LENIENT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gDay} values with lenient validation
+     */
+    public static final DateTimeFormatter LENIENT = new DateTimeFormatterBuilder()
+            .append(STRICT_DAY)
+            .optionalStart()
+            .append(XsTimezoneFormatter.LENIENT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Convert supplied xs:gDay value to day of month using lenient validation, without any allocation
+     *
+     * @param xsGDay is value roughly compliant with xs:gDay format. Timezone is completely ignored
+     * @return day of month corresponding to supplied value
+     */
+    public static int parseDayLenient(CharSequence xsGDay) {
+        return parseDay(xsGDay, 0, xsGDay.length(), true);
+    }
+}
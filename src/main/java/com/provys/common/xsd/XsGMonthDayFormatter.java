@@ -0,0 +1,161 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+import static java.time.temporal.ChronoField.DAY_OF_MONTH;
+import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
+
+/**
+ * For parsing and formatting of {@code xs:gMonthDay} values with validation strictly or loosely adhering to
+ * <a href="https://www.w3.org/TR/xmlschema-2/#gMonthDay">XML Schema</a>.
+ * Allocation-free parse methods return value packed to int as month * 100 + day (e.g. 1231 for {@code --12-31})
+ */
+public final class XsGMonthDayFormatter {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsGMonthDayFormatter() {}
+
+    /**
+     * String defining month and day part of format, accepted by STRICT formatter
+     */
+    static final String STRICT_MONTH_DAY_REGEX = "--(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])";
+
+    /**
+     * Formatter that parses month and day part
+     */
+    static final DateTimeFormatter STRICT_MONTH_DAY = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .appendLiteral("--")
+            .appendValue(MONTH_OF_YEAR, 2)
+            .appendLiteral('-')
+            .appendValue(DAY_OF_MONTH, 2)
+            .toFormatter();
+
+    /**
+     * String defining format, accepted by STRICT formatter
+     */
+    public static final String STRICT_REGEX = STRICT_MONTH_DAY_REGEX + XsTimezoneFormatter.STRICT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gMonthDay} values with validation strictly adhering to
+     * <a href="https://www.w3.org/TR/xmlschema-2/#gMonthDay">XML Schema</a>.
+     */
+    public static final DateTimeFormatter STRICT = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .append(STRICT_MONTH_DAY)
+            .optionalStart()
+            .append(XsTimezoneFormatter.STRICT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Parse supplied xs:gMonthDay value, occupying given range of text
+     *
+     * @return month and day packed as month * 100 + day; timezone is validated, but otherwise ignored
+     */
+    static int parsePacked(CharSequence text, int start, int end, boolean lenient) {
+        literal(text, start, end, '-');
+        literal(text, start + 1, end, '-');
+        int month = month(text, start + 2, end);
+        literal(text, start + 4, end, '-');
+        int day = day(text, start + 5, end, Month.of(month).maxLength());
+        timezone(text, start + 7, end, lenient);
+        return month * 100 + day;
+    }
+
+    /**
+     * Convert supplied xs:gMonthDay value to packed int using strict validation, without any allocation
+     *
+     * @param xsGMonthDay is value strictly compliant with xs:gMonthDay format. Timezone is completely ignored
+     * @return month * 100 + day corresponding to supplied value
+     */
+    public static int parsePacked(CharSequence xsGMonthDay) {
+        return parsePacked(xsGMonthDay, 0, xsGMonthDay.length(), false);
+    }
+
+    /**
+     * Convert packed value, returned by allocation-free parse methods, to {@code MonthDay}
+     */
+    @Nonnull
+    public static MonthDay ofPacked(int packed) {
+        return MonthDay.of(packed / 100, packed % 100);
+    }
+
+    /**
+     * Convert supplied xs:gMonthDay string to {@code MonthDay} using strict validation
+     *
+     * @param xsGMonthDay is string value strictly compliant with xs:gMonthDay format. Timezone is completely ignored
+     * @return month and day corresponding to supplied value
+     */
+    @Nonnull
+    public static MonthDay parse(String xsGMonthDay) {
+        return ofPacked(parsePacked(Objects.requireNonNull(xsGMonthDay)));
+    }
+
+    /**
+     * String defining month and day part of format, accepted by LENIENT formatter
+     */
+    static final String LENIENT_MONTH_DAY_REGEX = "--(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])";
+
+    /**
+     * String defining format, accepted by LENIENT formatter
+     */
+    public static final String LENIENT_REGEX = LENIENT_MONTH_DAY_REGEX + XsTimezoneFormatter.LENIENT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by LENIENT formatter
+     */
+    public static final Pattern LENIENT_PATTERN = Pattern.compile(LENIENT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gMonthDay} values with lenient validation
+     */
+    public static final DateTimeFormatter LENIENT = new DateTimeFormatterBuilder()
+            .append(STRICT_MONTH_DAY)
+            .optionalStart()
+            .append(XsTimezoneFormatter.LENIENT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Convert supplied xs:gMonthDay value to packed int using lenient validation, without any allocation
+     *
+     * @param xsGMonthDay is value roughly compliant with xs:gMonthDay format. Timezone is completely ignored
+     * @return month * 100 + day corresponding to supplied value
+     */
+    public static int parsePackedLenient(CharSequence xsGMonthDay) {
+        return parsePacked(xsGMonthDay, 0, xsGMonthDay.length(), true);
+    }
+
+    /**
+     * Convert supplied xs:gMonthDay string to {@code MonthDay} using lenient validation
+     *
+     * @param xsGMonthDay is string value roughly compliant with xs:gMonthDay format. Timezone is completely ignored
+     * @return month and day corresponding to supplied value
+     */
+    @Nonnull
+    public static MonthDay parseLenient(String xsGMonthDay) {
+        return ofPacked(parsePackedLenient(Objects.requireNonNull(xsGMonthDay)));
+    }
+}
@@ -0,0 +1,154 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.Month;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
+
+/**
+ * For parsing and formatting of {@code xs:gMonth} values with validation strictly or loosely adhering to
+ * <a href="https://www.w3.org/TR/xmlschema-2/#gMonth">XML Schema</a>.
+ */
+public final class XsGMonthFormatter {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsGMonthFormatter() {}
+
+    /**
+     * String defining month part of format, accepted by STRICT formatter
+     */
+    static final String STRICT_MONTH_REGEX = "--(0[1-9]|1[0-2])";
+
+    /**
+     * Formatter that parses month part
+     */
+    static final DateTimeFormatter STRICT_MONTH = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .appendLiteral("--")
+            .appendValue(MONTH_OF_YEAR, 2)
+            .toFormatter();
+
+    /**
+     * String defining format, accepted by STRICT formatter
+     */
+    public static final String STRICT_REGEX = STRICT_MONTH_REGEX + XsTimezoneFormatter.STRICT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gMonth} values with validation strictly adhering to
+     * <a href="https://www.w3.org/TR/xmlschema-2/#gMonth">XML Schema</a>.
+     */
+    public static final DateTimeFormatter STRICT = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .append(STRICT_MONTH)
+            .optionalStart()
+            .append(XsTimezoneFormatter.STRICT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Parse supplied xs:gMonth value, occupying given range of text. Lenient parsing also accepts {@code --MM--}
+     * format, defined in original XML Schema 1.0 recommendation
+     *
+     * @return month; timezone is validated, but otherwise ignored
+     */
+    static int parseMonth(CharSequence text, int start, int end, boolean lenient) {
+        literal(text, start, end, '-');
+        literal(text, start + 1, end, '-');
+        int month = month(text, start + 2, end);
+        int pos = start + 4;
+        if (lenient && (end - pos >= 2) && (text.charAt(pos) == '-') && (text.charAt(pos + 1) == '-')) {
+            pos += 2;
+        }
+        timezone(text, pos, end, lenient);
+        return month;
+    }
+
+    /**
+     * Convert supplied xs:gMonth value to month number using strict validation, without any allocation
+     *
+     * @param xsGMonth is value strictly compliant with xs:gMonth format. Timezone is completely ignored
+     * @return month (1-12) corresponding to supplied value
+     */
+    public static int parseMonth(CharSequence xsGMonth) {
+        return parseMonth(xsGMonth, 0, xsGMonth.length(), false);
+    }
+
+    /**
+     * Convert supplied xs:gMonth string to {@code Month} using strict validation
+     *
+     * @param xsGMonth is string value strictly compliant with xs:gMonth format. Timezone is completely ignored
+     * @return month corresponding to supplied value
+     */
+    @Nonnull
+    public static Month parse(String xsGMonth) {
+        return Month.of(parseMonth(Objects.requireNonNull(xsGMonth)));
+    }
+
+    /**
+     * String defining month part of format, accepted by LENIENT formatter
+     */
+    static final String LENIENT_MONTH_REGEX = "--(0[1-9]|1[0-2])(--)?";
+
+    /**
+     * String defining format, accepted by LENIENT formatter
+     */
+    public static final String LENIENT_REGEX = LENIENT_MONTH_REGEX + XsTimezoneFormatter.LENIENT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by LENIENT formatter
+     */
+    public static final Pattern LENIENT_PATTERN = Pattern.compile(LENIENT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gMonth} values with lenient validation
+     */
+    public static final DateTimeFormatter LENIENT = new DateTimeFormatterBuilder()
+            .append(STRICT_MONTH)
+            .optionalStart()
+            .appendLiteral("--")
+            .optionalEnd()
+            .optionalStart()
+            .append(XsTimezoneFormatter.LENIENT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Convert supplied xs:gMonth value to month number using lenient validation, without any allocation
+     *
+     * @param xsGMonth is value roughly compliant with xs:gMonth format. Timezone is completely ignored
+     * @return month (1-12) corresponding to supplied value
+     */
+    public static int parseMonthLenient(CharSequence xsGMonth) {
+        return parseMonth(xsGMonth, 0, xsGMonth.length(), true);
+    }
+
+    /**
+     * Convert supplied xs:gMonth string to {@code Month} using lenient validation
+     *
+     * @param xsGMonth is string value roughly compliant with xs:gMonth format. Timezone is completely ignored
+     * @return month corresponding to supplied value
+     */
+    @Nonnull
+    public static Month parseLenient(String xsGMonth) {
+        return Month.of(parseMonthLenient(Objects.requireNonNull(xsGMonth)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.Year;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+import static java.time.temporal.ChronoField.YEAR;
+
+/**
+ * For parsing and formatting of {@code xs:gYear} values with validation strictly or loosely adhering to
+ * <a href="https://www.w3.org/TR/xmlschema-2/#gYear">XML Schema</a>.
+ */
+public final class XsGYearFormatter {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsGYearFormatter() {}
+
+    /**
+     * String defining year part of format, accepted by STRICT formatter
+     */
+    static final String STRICT_YEAR_REGEX = "-?([1-9][0-9]{3,}|0[0-9]{3})";
+
+    /**
+     * Formatter that parses year part
+     */
+    static final DateTimeFormatter STRICT_YEAR = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .appendValue(YEAR, 4, 10, SignStyle.EXCEEDS_PAD)
+            .toFormatter();
+
+    /**
+     * String defining format, accepted by STRICT formatter
+     */
+    public static final String STRICT_REGEX = STRICT_YEAR_REGEX + XsTimezoneFormatter.STRICT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gYear} values with validation strictly adhering to
+     * <a href="https://www.w3.org/TR/xmlschema-2/#gYear">XML Schema</a>.
+     */
+    public static final DateTimeFormatter STRICT = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .append(STRICT_YEAR)
+            .optionalStart()
+            .append(XsTimezoneFormatter.STRICT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Parse year from supplied xs:gYear value, occupying given range of text
+     *
+     * @return year; timezone is validated, but otherwise ignored
+     */
+    static int parseYear(CharSequence text, int start, int end, boolean lenient) {
+        int yearEnd = yearEnd(text, start, end);
+        int year = year(text, start, yearEnd);
+        timezone(text, yearEnd, end, lenient);
+        return year;
+    }
+
+    /**
+     * Convert supplied xs:gYear value to year using strict validation, without any allocation
+     *
+     * @param xsGYear is value strictly compliant with xs:gYear format. Timezone is completely ignored
+     * @return year corresponding to supplied value
+     */
+    public static int parseYear(CharSequence xsGYear) {
+        return parseYear(xsGYear, 0, xsGYear.length(), false);
+    }
+
+    /**
+     * Convert supplied xs:gYear string to {@code Year} using strict validation
+     *
+     * @param xsGYear is string value strictly compliant with xs:gYear format. Timezone is completely ignored
+     * @return year corresponding to supplied value
+     */
+    @Nonnull
+    public static Year parse(String xsGYear) {
+        return Year.of(parseYear(Objects.requireNonNull(xsGYear)));
+    }
+
+    /**
+     * String defining year part of format, accepted by LENIENT formatter
+     */
+    static final String LENIENT_YEAR_REGEX = "-?([1-9][0-9]{3,}|0[0-9]{3})";
+
+    /**
+     * String defining format, accepted by LENIENT formatter
+     */
+    public static final String LENIENT_REGEX = LENIENT_YEAR_REGEX + XsTimezoneFormatter.LENIENT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by LENIENT formatter
+     */
+    public static final Pattern LENIENT_PATTERN = Pattern.compile(LENIENT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gYear} values with lenient validation
+     */
+    public static final DateTimeFormatter LENIENT = new DateTimeFormatterBuilder()
+            .append(STRICT_YEAR)
+            .optionalStart()
+            .append(XsTimezoneFormatter.LENIENT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Convert supplied xs:gYear value to year using lenient validation, without any allocation
+     *
+     * @param xsGYear is value roughly compliant with xs:gYear format. Timezone is completely ignored
+     * @return year corresponding to supplied value
+     */
+    public static int parseYearLenient(CharSequence xsGYear) {
+        return parseYear(xsGYear, 0, xsGYear.length(), true);
+    }
+
+    /**
+     * Convert supplied xs:gYear string to {@code Year} using lenient validation
+     *
+     * @param xsGYear is string value roughly compliant with xs:gYear format. Timezone is completely ignored
+     * @return year corresponding to supplied value
+     */
+    @Nonnull
+    public static Year parseLenient(String xsGYear) {
+        return Year.of(parseYearLenient(Objects.requireNonNull(xsGYear)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.YearMonth;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static com.provys.common.xsd.XsParseSupport.*;
+import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
+
+/**
+ * For parsing and formatting of {@code xs:gYearMonth} values with validation strictly or loosely adhering to
+ * <a href="https://www.w3.org/TR/xmlschema-2/#gYearMonth">XML Schema</a>.
+ * Allocation-free parse methods return value encoded as proleptic month, same as
+ * {@link java.time.temporal.ChronoField#PROLEPTIC_MONTH} (year * 12 + month - 1)
+ */
+public final class XsGYearMonthFormatter {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsGYearMonthFormatter() {}
+
+    /**
+     * String defining year and month part of format, accepted by STRICT formatter
+     */
+    static final String STRICT_YEAR_MONTH_REGEX = XsGYearFormatter.STRICT_YEAR_REGEX + "-(0[1-9]|1[0-2])";
+
+    /**
+     * Formatter that parses year and month part
+     */
+    static final DateTimeFormatter STRICT_YEAR_MONTH = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .append(XsGYearFormatter.STRICT_YEAR)
+            .appendLiteral('-')
+            .appendValue(MONTH_OF_YEAR, 2)
+            .toFormatter();
+
+    /**
+     * String defining format, accepted by STRICT formatter
+     */
+    public static final String STRICT_REGEX = STRICT_YEAR_MONTH_REGEX + XsTimezoneFormatter.STRICT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by STRICT formatter
+     */
+    public static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gYearMonth} values with validation strictly adhering to
+     * <a href="https://www.w3.org/TR/xmlschema-2/#gYearMonth">XML Schema</a>.
+     */
+    public static final DateTimeFormatter STRICT = new DateTimeFormatterBuilder()
+            .parseCaseSensitive()
+            .append(STRICT_YEAR_MONTH)
+            .optionalStart()
+            .append(XsTimezoneFormatter.STRICT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Parse supplied xs:gYearMonth value, occupying given range of text
+     *
+     * @return proleptic month; timezone is validated, but otherwise ignored
+     */
+    static long parseProlepticMonth(CharSequence text, int start, int end, boolean lenient) {
+        int yearEnd = yearEnd(text, start, end);
+        int year = year(text, start, yearEnd);
+        literal(text, yearEnd, end, '-');
+        int month = month(text, yearEnd + 1, end);
+        timezone(text, yearEnd + 3, end, lenient);
+        return year * 12L + month - 1;
+    }
+
+    /**
+     * Convert supplied xs:gYearMonth value to proleptic month using strict validation, without any allocation
+     *
+     * @param xsGYearMonth is value strictly compliant with xs:gYearMonth format. Timezone is completely ignored
+     * @return proleptic month (year * 12 + month - 1) corresponding to supplied value
+     */
+    public static long parseProlepticMonth(CharSequence xsGYearMonth) {
+        return parseProlepticMonth(xsGYearMonth, 0, xsGYearMonth.length(), false);
+    }
+
+    /**
+     * Convert proleptic month, returned by allocation-free parse methods, to {@code YearMonth}
+     */
+    @Nonnull
+    public static YearMonth ofProlepticMonth(long prolepticMonth) {
+        return YearMonth.of(Math.toIntExact(Math.floorDiv(prolepticMonth, 12)),
+                Math.floorMod(prolepticMonth, 12) + 1);
+    }
+
+    /**
+     * Convert supplied xs:gYearMonth string to {@code YearMonth} using strict validation
+     *
+     * @param xsGYearMonth is string value strictly compliant with xs:gYearMonth format. Timezone is completely
+     *                    ignored
+     * @return year and month corresponding to supplied value
+     */
+    @Nonnull
+    public static YearMonth parse(String xsGYearMonth) {
+        return ofProlepticMonth(parseProlepticMonth(Objects.requireNonNull(xsGYearMonth)));
+    }
+
+    /**
+     * String defining year and month part of format, accepted by LENIENT formatter
+     */
+    static final String LENIENT_YEAR_MONTH_REGEX = XsGYearFormatter.LENIENT_YEAR_REGEX + "-(0[1-9]|1[0-2])";
+
+    /**
+     * String defining format, accepted by LENIENT formatter
+     */
+    public static final String LENIENT_REGEX = LENIENT_YEAR_MONTH_REGEX + XsTimezoneFormatter.LENIENT_REGEX + '?';
+
+    /**
+     * Pattern that corresponds to strings, accepted by LENIENT formatter
+     */
+    public static final Pattern LENIENT_PATTERN = Pattern.compile(LENIENT_REGEX);
+
+    /**
+     * For parsing and formatting of {@code xs:gYearMonth} values with lenient validation
+     */
+    public static final DateTimeFormatter LENIENT = new DateTimeFormatterBuilder()
+            .append(STRICT_YEAR_MONTH)
+            .optionalStart()
+            .append(XsTimezoneFormatter.LENIENT)
+            .optionalEnd()
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.STRICT)
+            .withChronology(IsoChronology.INSTANCE);
+
+    /**
+     * Convert supplied xs:gYearMonth value to proleptic month using lenient validation, without any allocation
+     *
+     * @param xsGYearMonth is value roughly compliant with xs:gYearMonth format. Timezone is completely ignored
+     * @return proleptic month (year * 12 + month - 1) corresponding to supplied value
+     */
+    public static long parseProlepticMonthLenient(CharSequence xsGYearMonth) {
+        return parseProlepticMonth(xsGYearMonth, 0, xsGYearMonth.length(), true);
+    }
+
+    /**
+     * Convert supplied xs:gYearMonth string to {@code YearMonth} using lenient validation
+     *
+     * @param xsGYearMonth is string value roughly compliant with xs:gYearMonth format. Timezone is completely ignored
+     * @return year and month corresponding to supplied value
+     */
+    @Nonnull
+    public static YearMonth parseLenient(String xsGYearMonth) {
+        return ofProlepticMonth(parseProlepticMonthLenient(Objects.requireNonNull(xsGYearMonth)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.provys.common.xsd;
+
+/**
+ * Kernel validating fixed layout part of xs:date and xs:dateTime values ({@code dddd-dd-ddTdd:dd:dd}) and converting
+ * its two digit groups to numbers for blocks of values at once. Used by bulk parse methods on byte input; values
+ * whose fixed part does not match the layout (expanded or negative years, lenient variants, invalid values) are left
+ * to scalar parser. Only vectorized implementation exists, see {@link XsLayoutKernels}
+ */
+interface XsLayoutKernel {
+
+    /**
+     * Number of bytes of field buffer used by single value
+     */
+    int RECORD_STRIDE = 32;
+
+    /**
+     * Maximal number of values in one block
+     */
+    int BLOCK_RECORDS = 64;
+
+    /**
+     * Layout of fixed part of xs:dateTime value; 'd' represents digit, other characters represent themselves
+     */
+    String DATE_TIME_LAYOUT = "dddd-dd-ddTdd:dd:dd";
+
+    /**
+     * Length of fixed part of xs:date value
+     */
+    int DATE_LENGTH = 10;
+
+    /**
+     * Length of fixed part of xs:dateTime value
+     */
+    int DATE_TIME_LENGTH = 19;
+
+    /**
+     * Position of date / time delimiter; lenient parsing accepts 'T', 't' and space on this position
+     */
+    int DELIMITER_POSITION = 10;
+
+    /**
+     * Positions of two digit groups - century, year of century, month, day, hour, minute and second
+     */
+    int[] FIELD_POSITIONS = {0, 2, 5, 8, 11, 14, 17};
+
+    /**
+     * Validate and convert block of values
+     *
+     * @param data is byte array containing values
+     * @param starts are start indices of values in data
+     * @param ends are end indices (exclusive) of values in data
+     * @param first is index of the first value of block in starts and ends
+     * @param count is number of values in block, at most {@link #BLOCK_RECORDS}
+     * @param length is length of fixed part, {@link #DATE_LENGTH} or {@link #DATE_TIME_LENGTH}
+     * @param lenient indicates if lenient date / time delimiter should be accepted
+     * @param fields is buffer for converted values, with space for {@link #BLOCK_RECORDS} records
+     * @return bit mask of values whose fixed part matches layout; for these values, byte
+     * {@code fields[i * RECORD_STRIDE + FIELD_POSITIONS[n]]} contains value of n-th two digit group of i-th value in
+     * block. Content of other bytes in fields is undefined
+     */
+    long parseBlock(byte[] data, int[] starts, int[] ends, int first, int count, int length, boolean lenient,
+                    byte[] fields);
+}
@@ -0,0 +1,24 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+
+/**
+ * Selects layout kernel used by bulk parse methods. This implementation is used on Java 11 - 16, where no kernel is
+ * available; multi-release jar contains Java 17 variant that selects vectorized kernel when
+ * {@code jdk.incubator.vector} module is available
+ */
+final class XsLayoutKernels {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsLayoutKernels() {}
+
+    /**
+     * Kernel to be used by bulk parse methods. Null if vectorized kernel is not available; bulk parse methods then
+     * parse values one by one, as validating fixed part of values in separate scalar pass is slower than direct
+     * parsing
+     */
+    @Nullable
+    static final XsLayoutKernel KERNEL = null;
+}
@@ -0,0 +1,316 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Cursor over xs:list of xs:date, xs:time or xs:dateTime values. Walks whitespace separated list in place, in
+ * {@code CharSequence} or {@code char[]}, and parses items one by one to primitive fields, without allocation of
+ * strings or temporal objects. Typical usage:
+ * <pre>{@code
+ * XsListCursor cursor = new XsListCursor(false).reset(text);
+ * while (cursor.nextDateTime()) {
+ *     consume(cursor.getEpochSecond(), cursor.getNano(), cursor.getOffsetSeconds());
+ * }
+ * }</pre>
+ * Cursor is mutable and not thread-safe; it can be reused for multiple lists via {@code reset} methods.
+ */
+public final class XsListCursor {
+
+    /**
+     * Reusable {@code CharSequence} view of range of another {@code CharSequence}
+     */
+    private static final class Window implements CharSequence {
+
+        private CharSequence source = "";
+        private int start;
+        private int end;
+
+        @Nonnull
+        Window set(CharSequence source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return source.charAt(start + Objects.checkIndex(index, end - start));
+        }
+
+        @Nonnull
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            Objects.checkFromToIndex(from, to, end - start);
+            return source.subSequence(start + from, start + to);
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return source.subSequence(start, end).toString();
+        }
+    }
+
+    /**
+     * Reusable {@code CharSequence} view of char array
+     */
+    private static final class CharArraySequence implements CharSequence {
+
+        private char[] chars = new char[0];
+
+        @Nonnull
+        CharArraySequence set(char[] chars) {
+            this.chars = chars;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return chars.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @Nonnull
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return new String(chars);
+        }
+    }
+
+    private final boolean lenient;
+    private final XsTemporalHolder holder = new XsTemporalHolder();
+    private final Window token = new Window();
+    private final CharArraySequence charArray = new CharArraySequence();
+    private CharSequence text = "";
+    private int pos;
+    private int end;
+    private int tokenStart;
+    private int tokenEnd;
+
+    /**
+     * Create cursor over empty list
+     *
+     * @param lenient indicates if lenient validation should be used for list items
+     */
+    public XsListCursor(boolean lenient) {
+        this.lenient = lenient;
+    }
+
+    /**
+     * Position cursor to the beginning of list given by whole text
+     *
+     * @return this cursor
+     */
+    @Nonnull
+    public XsListCursor reset(CharSequence text) {
+        return reset(text, 0, text.length());
+    }
+
+    /**
+     * Position cursor to the beginning of list occupying given range of text
+     *
+     * @return this cursor
+     */
+    @Nonnull
+    public XsListCursor reset(CharSequence text, int start, int end) {
+        Objects.checkFromToIndex(start, end, text.length());
+        this.text = text;
+        this.pos = start;
+        this.end = end;
+        this.tokenStart = start;
+        this.tokenEnd = start;
+        return this;
+    }
+
+    /**
+     * Position cursor to the beginning of list occupying given range of char array
+     *
+     * @return this cursor
+     */
+    @Nonnull
+    public XsListCursor reset(char[] chars, int start, int end) {
+        return reset(charArray.set(chars), start, end);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\r');
+    }
+
+    /**
+     * Skip whitespace preceding the next item
+     *
+     * @return true if there is another item in list
+     */
+    public boolean hasNext() {
+        while ((pos < end) && isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos < end;
+    }
+
+    /**
+     * Move to the next item
+     *
+     * @return false if there is no other item in list
+     */
+    private boolean nextToken() {
+        if (!hasNext()) {
+            tokenStart = pos;
+            tokenEnd = pos;
+            return false;
+        }
+        tokenStart = pos;
+        while ((pos < end) && !isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        tokenEnd = pos;
+        token.set(text, tokenStart, tokenEnd);
+        return true;
+    }
+
+    /**
+     * Create exception reporting invalid item; error index is position in whole text
+     */
+    @Nonnull
+    private DateTimeParseException invalidItem(String type, DateTimeParseException cause) {
+        return new DateTimeParseException("Invalid " + type + " list item '" + token + "' at index " + tokenStart
+                + ": " + cause.getMessage(), text, tokenStart + cause.getErrorIndex(), cause);
+    }
+
+    /**
+     * Parse the next item as xs:date value; result is available via {@link #getEpochDay()} and
+     * {@link #getOffsetSeconds()}
+     *
+     * @return false if there is no other item in list
+     * @throws DateTimeParseException if item is not valid; cursor is moved after invalid item, thus parsing can
+     * continue with the next one
+     */
+    public boolean nextDate() {
+        if (!nextToken()) {
+            return false;
+        }
+        try {
+            XsDateFormatter.parse(token, 0, token.length(), lenient, holder);
+        } catch (DateTimeParseException e) {
+            throw invalidItem("xs:date", e);
+        }
+        return true;
+    }
+
+    /**
+     * Parse the next item as xs:time value; result is available via {@link #getNanoOfDay()} and
+     * {@link #getOffsetSeconds()}
+     *
+     * @return false if there is no other item in list
+     * @throws DateTimeParseException if item is not valid; cursor is moved after invalid item, thus parsing can
+     * continue with the next one
+     */
+    public boolean nextTime() {
+        if (!nextToken()) {
+            return false;
+        }
+        try {
+            XsTimeFormatter.parse(token, 0, token.length(), lenient, holder);
+        } catch (DateTimeParseException e) {
+            throw invalidItem("xs:time", e);
+        }
+        return true;
+    }
+
+    /**
+     * Parse the next item as xs:dateTime value; result is available via {@link #getEpochSecond()},
+     * {@link #getNano()} and {@link #getOffsetSeconds()}
+     *
+     * @return false if there is no other item in list
+     * @throws DateTimeParseException if item is not valid; cursor is moved after invalid item, thus parsing can
+     * continue with the next one
+     */
+    public boolean nextDateTime() {
+        if (!nextToken()) {
+            return false;
+        }
+        try {
+            XsDateTimeFormatter.parse(token, 0, token.length(), lenient, holder);
+        } catch (DateTimeParseException e) {
+            throw invalidItem("xs:dateTime", e);
+        }
+        return true;
+    }
+
+    /**
+     * Copy fields of the last parsed value to holder
+     */
+    public void get(XsTemporalHolder target) {
+        target.set(holder);
+    }
+
+    /**
+     * @return start index (in whole text) of the last item
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * @return end index (exclusive, in whole text) of the last item
+     */
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    /**
+     * @return epoch day of the last parsed xs:date value (or of date part of xs:dateTime value)
+     */
+    public long getEpochDay() {
+        return holder.epochDay();
+    }
+
+    /**
+     * @return nanosecond of day of the last parsed xs:time value (or of time part of xs:dateTime value); 24:00:00
+     * is returned as 0
+     */
+    public long getNanoOfDay() {
+        return holder.nanoOfDay();
+    }
+
+    /**
+     * @return epoch second of the last parsed xs:dateTime value; value without timezone is evaluated as if it was
+     * in UTC
+     */
+    public long getEpochSecond() {
+        return holder.epochSecond();
+    }
+
+    /**
+     * @return nanosecond of second of the last parsed value
+     */
+    public int getNano() {
+        return holder.nano;
+    }
+
+    /**
+     * @return offset of the last parsed value in seconds or {@link XsDateTimeFormatter#NO_OFFSET} if value has no
+     * timezone
+     */
+    public int getOffsetSeconds() {
+        return holder.offsetSeconds;
+    }
+}
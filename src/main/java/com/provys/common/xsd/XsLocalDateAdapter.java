@@ -0,0 +1,62 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JAXB adapter mapping xs:date to {@code LocalDate}, using strict validation; timezone is ignored. Values are parsed
+ * by hand-written parser and formatted to canonical representation without {@code DateTimeFormatter}
+ */
+public class XsLocalDateAdapter extends XmlAdapter<String, LocalDate> {
+
+    /**
+     * Variant of adapter using lenient validation, as {@link XsDateFormatter#LENIENT}
+     */
+    public static class Lenient extends XsLocalDateAdapter {
+
+        public Lenient() {
+            super(true);
+        }
+    }
+
+    private final boolean lenient;
+
+    /**
+     * Create adapter using strict validation
+     */
+    public XsLocalDateAdapter() {
+        this(false);
+    }
+
+    XsLocalDateAdapter(boolean lenient) {
+        this.lenient = lenient;
+    }
+
+    /**
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    @Nullable
+    @Override
+    public LocalDate unmarshal(@Nullable String value) {
+        String xsDate = XsAdapterSupport.collapse(value);
+        if (xsDate == null) {
+            return null;
+        }
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateFormatter.parse(xsDate, 0, xsDate.length(), lenient, holder);
+        return holder.toLocalDate();
+    }
+
+    @Nullable
+    @Override
+    public String marshal(@Nullable LocalDate value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(10);
+        XsTemporalHolder.formatDateTo(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), builder);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JAXB adapter mapping xs:dateTime to {@code LocalDateTime}, using strict validation; timezone is ignored. Values
+ * are parsed by hand-written parser and formatted to canonical representation without {@code DateTimeFormatter}
+ */
+public class XsLocalDateTimeAdapter extends XmlAdapter<String, LocalDateTime> {
+
+    /**
+     * Variant of adapter using lenient validation, as {@link XsDateTimeFormatter#LENIENT}
+     */
+    public static class Lenient extends XsLocalDateTimeAdapter {
+
+        public Lenient() {
+            super(true, XsTimezoneFormatter.NO_OFFSET);
+        }
+    }
+
+    /**
+     * Variant of adapter using lenient validation and converting values to local date and time in default timezone,
+     * as {@link XsDateTimeFormatter#parseLenientTZ(String, String)}. Values without timezone are interpreted as
+     * belonging to default timezone; marshalled values are written with default timezone. Can be registered on
+     * {@code Marshaller} / {@code Unmarshaller} as instance or subclassed with no-arg constructor for use in
+     * annotations
+     */
+    public static class LenientTZ extends XsLocalDateTimeAdapter {
+
+        /**
+         * Create adapter with given default offset
+         *
+         * @param defOffset is default offset in any format accepted by {@code ZoneOffset.of} (e.g. {@code +01:00})
+         */
+        public LenientTZ(String defOffset) {
+            super(true, XsAdapterSupport.defaultOffset(defOffset));
+        }
+    }
+
+    private final boolean lenient;
+    private final int defaultOffset;
+
+    /**
+     * Create adapter using strict validation
+     */
+    public XsLocalDateTimeAdapter() {
+        this(false, XsTimezoneFormatter.NO_OFFSET);
+    }
+
+    XsLocalDateTimeAdapter(boolean lenient, int defaultOffset) {
+        this.lenient = lenient;
+        this.defaultOffset = defaultOffset;
+    }
+
+    /**
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    @Nullable
+    @Override
+    public LocalDateTime unmarshal(@Nullable String value) {
+        String xsDateTime = XsAdapterSupport.collapse(value);
+        if (xsDateTime == null) {
+            return null;
+        }
+        if (defaultOffset == XsTimezoneFormatter.NO_OFFSET) {
+            XsTemporalHolder holder = new XsTemporalHolder();
+            XsDateTimeFormatter.parse(xsDateTime, 0, xsDateTime.length(), lenient, holder);
+            return holder.toLocalDateTime();
+        }
+        XsTemporalHolder holder = XsAdapterSupport.parseDateTime(xsDateTime, lenient, defaultOffset);
+        return LocalDateTime.ofEpochSecond(holder.epochSecond() + defaultOffset, holder.nano, ZoneOffset.UTC);
+    }
+
+    @Nullable
+    @Override
+    public String marshal(@Nullable LocalDateTime value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(35);
+        long localEpochSecond = value.toEpochSecond(ZoneOffset.UTC);
+        if (defaultOffset == XsTimezoneFormatter.NO_OFFSET) {
+            XsDateTimeFormatter.formatTo(localEpochSecond, value.getNano(), XsTimezoneFormatter.NO_OFFSET, builder);
+        } else {
+            XsDateTimeFormatter.formatTo(localEpochSecond - defaultOffset, value.getNano(), defaultOffset, builder);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JAXB adapter mapping xs:time to {@code LocalTime}, using strict validation; timezone is ignored. Values are parsed
+ * by hand-written parser and formatted to canonical representation without {@code DateTimeFormatter}
+ */
+public class XsLocalTimeAdapter extends XmlAdapter<String, LocalTime> {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_DAY = 86400 * NANOS_PER_SECOND;
+
+    /**
+     * Variant of adapter using lenient validation, as {@link XsTimeFormatter#LENIENT}
+     */
+    public static class Lenient extends XsLocalTimeAdapter {
+
+        public Lenient() {
+            super(true, XsTimezoneFormatter.NO_OFFSET);
+        }
+    }
+
+    /**
+     * Variant of adapter using lenient validation and converting values to local time in default timezone, as
+     * {@link XsTimeFormatter#parseLenientTZ(String, String)}. Values without timezone are interpreted as belonging to
+     * default timezone; marshalled values are written with default timezone. Can be registered on
+     * {@code Marshaller} / {@code Unmarshaller} as instance or subclassed with no-arg constructor for use in
+     * annotations
+     */
+    public static class LenientTZ extends XsLocalTimeAdapter {
+
+        /**
+         * Create adapter with given default offset
+         *
+         * @param defOffset is default offset in any format accepted by {@code ZoneOffset.of} (e.g. {@code +01:00})
+         */
+        public LenientTZ(String defOffset) {
+            super(true, XsAdapterSupport.defaultOffset(defOffset));
+        }
+    }
+
+    private final boolean lenient;
+    private final int defaultOffset;
+
+    /**
+     * Create adapter using strict validation
+     */
+    public XsLocalTimeAdapter() {
+        this(false, XsTimezoneFormatter.NO_OFFSET);
+    }
+
+    XsLocalTimeAdapter(boolean lenient, int defaultOffset) {
+        this.lenient = lenient;
+        this.defaultOffset = defaultOffset;
+    }
+
+    /**
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    @Nullable
+    @Override
+    public LocalTime unmarshal(@Nullable String value) {
+        String xsTime = XsAdapterSupport.collapse(value);
+        if (xsTime == null) {
+            return null;
+        }
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsTimeFormatter.parse(xsTime, 0, xsTime.length(), lenient, holder);
+        long nanoOfDay = holder.nanoOfDay();
+        if ((defaultOffset != XsTimezoneFormatter.NO_OFFSET)
+                && (holder.offsetSeconds != XsTimezoneFormatter.NO_OFFSET)) {
+            nanoOfDay = Math.floorMod(nanoOfDay + (defaultOffset - holder.offsetSeconds) * NANOS_PER_SECOND,
+                    NANOS_PER_DAY);
+        }
+        return LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    @Nullable
+    @Override
+    public String marshal(@Nullable LocalTime value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(24);
+        XsTemporalHolder.formatTimeTo(value.getHour(), value.getMinute(), value.getSecond(), value.getNano(),
+                builder);
+        if (defaultOffset != XsTimezoneFormatter.NO_OFFSET) {
+            XsTimezoneFormatter.formatTo(defaultOffset, builder);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,405 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Fixed-capacity column of xs:date or xs:dateTime values stored outside of Java heap, in direct {@code ByteBuffer}
+ * (or any other buffer supplied by caller, e.g. memory-mapped file or {@code MemorySegment.asByteBuffer()} on newer
+ * Java versions). Values can be parsed directly to column and formatted back to canonical lexical form without
+ * creation of temporal objects.
+ * <p>
+ * Column of capacity n occupies {@link #byteSize(Type, int)} bytes, composed of following regions, all in little
+ * endian byte order and in this order:
+ * <ul>
+ *     <li>null bitmap - (n + 63) / 64 longs; bit {@code i % 64} of long {@code i / 64} is set if value {@code i} is
+ *     null; padding bits after the last value are clear</li>
+ *     <li>values - n longs; epoch day of xs:date, epoch second of xs:dateTime (value without timezone is evaluated
+ *     as if it was in UTC)</li>
+ *     <li>offsets - n ints; offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET} for value without
+ *     timezone</li>
+ *     <li>nanos - n ints, only present in xs:dateTime column; nanosecond of second</li>
+ * </ul>
+ * Content of null values is undefined. Column is not thread-safe for modification, as bits of null bitmap are shared
+ * by adjacent values; concurrent reads are safe.
+ */
+public final class XsOffHeapColumn {
+
+    /**
+     * Type of values stored in column
+     */
+    public enum Type {
+        /**
+         * xs:date values
+         */
+        DATE,
+        /**
+         * xs:dateTime values
+         */
+        DATE_TIME
+    }
+
+    private static final int BATCH_SIZE = 1024;
+
+    @Nonnull
+    private final Type type;
+    private final int capacity;
+    @Nonnull
+    private final ByteBuffer buffer;
+    private final int valuesOffset;
+    private final int offsetsOffset;
+    private final int nanosOffset;
+    /**
+     * Holder used for parsing of individual values; column is not thread-safe for modification anyway
+     */
+    private final XsTemporalHolder holder = new XsTemporalHolder();
+
+    private XsOffHeapColumn(Type type, int capacity, ByteBuffer buffer) {
+        this.type = type;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.valuesOffset = bitmapSize(capacity);
+        this.offsetsOffset = valuesOffset + capacity * Long.BYTES;
+        this.nanosOffset = offsetsOffset + capacity * Integer.BYTES;
+    }
+
+    private static int bitmapSize(int capacity) {
+        return ((capacity + 63) >>> 6) * Long.BYTES;
+    }
+
+    /**
+     * Number of bytes needed for column of given type and capacity
+     *
+     * @throws IllegalArgumentException if capacity is negative or column would not fit to single buffer
+     */
+    public static int byteSize(Type type, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        long size = bitmapSize(capacity) + (long) capacity
+                * ((type == Type.DATE_TIME) ? Long.BYTES + 2 * Integer.BYTES : Long.BYTES + Integer.BYTES);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity " + capacity + " exceeds limit of single buffer");
+        }
+        return (int) size;
+    }
+
+    /**
+     * Allocate column in new direct buffer; all values are initially null
+     *
+     * @param type is type of values in column
+     * @param capacity is number of values in column
+     * @return new column
+     */
+    @Nonnull
+    public static XsOffHeapColumn allocate(Type type, int capacity) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(byteSize(type, capacity)).order(ByteOrder.LITTLE_ENDIAN);
+        XsOffHeapColumn result = new XsOffHeapColumn(type, capacity, buffer);
+        for (int i = 0; i < capacity; i += Long.SIZE) {
+            // padding bits after the last value are left clear
+            buffer.putLong(i >>> 3, (capacity - i >= Long.SIZE) ? -1L : (1L << (capacity - i)) - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Create column in supplied buffer, starting at its current position. Content of buffer is kept, thus column can
+     * be used to read values written by other process or stored in memory-mapped file
+     *
+     * @param type is type of values in column
+     * @param buffer is buffer containing column; must have at least {@link #byteSize(Type, int)} bytes remaining
+     * @param capacity is number of values in column
+     * @return column backed by given buffer
+     */
+    @Nonnull
+    public static XsOffHeapColumn wrap(Type type, ByteBuffer buffer, int capacity) {
+        int size = byteSize(Objects.requireNonNull(type), capacity);
+        if (buffer.remaining() < size) {
+            throw new IllegalArgumentException("Buffer has only " + buffer.remaining() + " bytes remaining, column of "
+                    + capacity + " values needs " + size);
+        }
+        ByteBuffer slice = buffer.slice();
+        slice.limit(size);
+        return new XsOffHeapColumn(type, capacity, slice.order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * @return type of values in column
+     */
+    @Nonnull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return number of values in column
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return buffer containing whole column, with independent position and limit
+     */
+    @Nonnull
+    public ByteBuffer getBuffer() {
+        return buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Nonnull
+    private ByteBuffer region(int offset, int length) {
+        ByteBuffer result = buffer.duplicate();
+        result.position(offset).limit(offset + length);
+        return result.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return view of region of values (epoch days or epoch seconds)
+     */
+    @Nonnull
+    public LongBuffer getValues() {
+        return region(valuesOffset, capacity * Long.BYTES).asLongBuffer();
+    }
+
+    /**
+     * @return view of region of offsets
+     */
+    @Nonnull
+    public IntBuffer getOffsets() {
+        return region(offsetsOffset, capacity * Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * @return view of region of nanoseconds of second
+     * @throws UnsupportedOperationException if column is not xs:dateTime column
+     */
+    @Nonnull
+    public IntBuffer getNanos() {
+        checkDateTime();
+        return region(nanosOffset, capacity * Integer.BYTES).asIntBuffer();
+    }
+
+    private void checkDateTime() {
+        if (type != Type.DATE_TIME) {
+            throw new UnsupportedOperationException("Column of type " + type + " has no nanoseconds");
+        }
+    }
+
+    private int bitmapIndex(int index) {
+        return (Objects.checkIndex(index, capacity) >>> 6) * Long.BYTES;
+    }
+
+    /**
+     * @return true if value on given index is null
+     */
+    public boolean isNull(int index) {
+        return (buffer.getLong(bitmapIndex(index)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Set value on given index to null
+     */
+    public void setNull(int index) {
+        int bitmapIndex = bitmapIndex(index);
+        buffer.putLong(bitmapIndex, buffer.getLong(bitmapIndex) | (1L << index));
+    }
+
+    private void setNotNull(int index) {
+        int bitmapIndex = bitmapIndex(index);
+        long bitmap = buffer.getLong(bitmapIndex);
+        if ((bitmap & (1L << index)) != 0) {
+            buffer.putLong(bitmapIndex, bitmap & ~(1L << index));
+        }
+    }
+
+    /**
+     * Store xs:date value
+     *
+     * @param index is index of value
+     * @param epochDay is epoch day of date
+     * @param offsetSeconds is offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET}
+     * @throws UnsupportedOperationException if column is not xs:date column
+     */
+    public void setDate(int index, long epochDay, int offsetSeconds) {
+        if (type != Type.DATE) {
+            throw new UnsupportedOperationException("Column of type " + type + " cannot hold date");
+        }
+        setNotNull(index);
+        buffer.putLong(valuesOffset + index * Long.BYTES, epochDay);
+        buffer.putInt(offsetsOffset + index * Integer.BYTES, offsetSeconds);
+    }
+
+    /**
+     * Store xs:dateTime value
+     *
+     * @param index is index of value
+     * @param epochSecond is epoch second of value; value without timezone is evaluated as if it was in UTC
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET}
+     * @throws UnsupportedOperationException if column is not xs:dateTime column
+     */
+    public void setDateTime(int index, long epochSecond, int nano, int offsetSeconds) {
+        checkDateTime();
+        setNotNull(index);
+        buffer.putLong(valuesOffset + index * Long.BYTES, epochSecond);
+        buffer.putInt(offsetsOffset + index * Integer.BYTES, offsetSeconds);
+        buffer.putInt(nanosOffset + index * Integer.BYTES, nano);
+    }
+
+    /**
+     * @return epoch day (xs:date column) or epoch second (xs:dateTime column) of value on given index; undefined for
+     * null value
+     */
+    public long getValue(int index) {
+        return buffer.getLong(valuesOffset + Objects.checkIndex(index, capacity) * Long.BYTES);
+    }
+
+    /**
+     * @return offset of value in seconds or {@link XsDateTimeFormatter#NO_OFFSET}; undefined for null value
+     */
+    public int getOffsetSeconds(int index) {
+        return buffer.getInt(offsetsOffset + Objects.checkIndex(index, capacity) * Integer.BYTES);
+    }
+
+    /**
+     * @return nanosecond of second of value; 0 for xs:date column, undefined for null value
+     */
+    public int getNano(int index) {
+        return (type == Type.DATE_TIME) ? buffer.getInt(nanosOffset + Objects.checkIndex(index, capacity)
+                * Integer.BYTES) : 0;
+    }
+
+    private void store(int index) {
+        if (type == Type.DATE) {
+            setDate(index, holder.epochDay(), holder.offsetSeconds);
+        } else {
+            setDateTime(index, holder.epochSecond(), holder.nano, holder.offsetSeconds);
+        }
+    }
+
+    /**
+     * Parse value and store it on given index
+     *
+     * @param index is index of value
+     * @param text is lexical value
+     * @param lenient indicates if lenient validation should be used
+     * @throws DateTimeParseException if value is not valid; content of column is not modified in such case
+     */
+    public void parse(int index, CharSequence text, boolean lenient) {
+        Objects.checkIndex(index, capacity);
+        if (type == Type.DATE) {
+            XsDateFormatter.parse(text, 0, text.length(), lenient, holder);
+        } else {
+            XsDateTimeFormatter.parse(text, 0, text.length(), lenient, holder);
+        }
+        store(index);
+    }
+
+    /**
+     * Parse values, stored as ranges of ASCII (or UTF-8) encoded byte array, and store them to consecutive indices
+     * of column. Values are parsed in batches by bulk parser (using vectorized code where available); empty ranges
+     * are stored as null values
+     *
+     * @param data is array containing values
+     * @param starts are start indices of values in data
+     * @param ends are end indices (exclusive) of values in data
+     * @param index is index in column where the first value is stored
+     * @param lenient indicates if lenient validation should be used
+     * @throws DateTimeParseException if any value is not valid; values in batches preceding it have been stored, no
+     * value (including nulls) of batch containing it has been stored
+     */
+    public void parse(byte[] data, int[] starts, int[] ends, int index, boolean lenient) {
+        if (ends.length < starts.length) {
+            throw new IllegalArgumentException("Array ends is shorter than number of values");
+        }
+        Objects.checkFromIndexSize(index, starts.length, capacity);
+        int[] batchStarts = new int[BATCH_SIZE];
+        int[] batchEnds = new int[BATCH_SIZE];
+        int[] batchIndices = new int[BATCH_SIZE];
+        int[] nullIndices = new int[BATCH_SIZE];
+        long[] values = new long[BATCH_SIZE];
+        int[] nanos = new int[BATCH_SIZE];
+        int[] offsets = new int[BATCH_SIZE];
+        for (int first = 0; first < starts.length; first += BATCH_SIZE) {
+            int count = 0;
+            int nullCount = 0;
+            for (int i = first; i < Math.min(first + BATCH_SIZE, starts.length); i++) {
+                if (starts[i] == ends[i]) {
+                    // nulls are only stored after batch has been parsed successfully
+                    nullIndices[nullCount++] = index + i;
+                } else {
+                    batchStarts[count] = starts[i];
+                    batchEnds[count] = ends[i];
+                    batchIndices[count] = index + i;
+                    count++;
+                }
+            }
+            // bulk parser processes whole arrays
+            int[] parseStarts = (count == BATCH_SIZE) ? batchStarts : Arrays.copyOf(batchStarts, count);
+            int[] parseEnds = (count == BATCH_SIZE) ? batchEnds : Arrays.copyOf(batchEnds, count);
+            if (type == Type.DATE) {
+                XsBulkParser.parseDates(data, parseStarts, parseEnds, lenient, values, offsets);
+                for (int i = 0; i < count; i++) {
+                    setDate(batchIndices[i], values[i], offsets[i]);
+                }
+            } else {
+                XsBulkParser.parseDateTimes(data, parseStarts, parseEnds, lenient, values, nanos, offsets);
+                for (int i = 0; i < count; i++) {
+                    setDateTime(batchIndices[i], values[i], nanos[i], offsets[i]);
+                }
+            }
+            for (int i = 0; i < nullCount; i++) {
+                setNull(nullIndices[i]);
+            }
+        }
+    }
+
+    /**
+     * Fill holder with value on given index; time fields are reset in case of xs:date column
+     *
+     * @return false if value is null, in which case holder is not modified
+     */
+    public boolean get(int index, XsTemporalHolder holder) {
+        if (isNull(index)) {
+            return false;
+        }
+        if (type == Type.DATE) {
+            holder.clear();
+            holder.setEpochDay(getValue(index));
+            holder.offsetSeconds = getOffsetSeconds(index);
+        } else {
+            holder.setEpochSecond(getValue(index), getNano(index), getOffsetSeconds(index));
+        }
+        return true;
+    }
+
+    /**
+     * Append canonical lexical representation of value on given index to builder. Value is formatted directly from
+     * stored fields, without creation of temporal objects
+     *
+     * @return false if value is null, in which case nothing is appended
+     */
+    public boolean formatTo(int index, StringBuilder builder) {
+        if (isNull(index)) {
+            return false;
+        }
+        if (type == Type.DATE) {
+            long civilDate = XsTemporalHolder.civilDate(getValue(index));
+            XsTemporalHolder.formatDateTo(civilDate >> 9, (int) (civilDate >> 5) & 0xF, (int) civilDate & 0x1F,
+                    builder);
+            int offsetSeconds = getOffsetSeconds(index);
+            if (offsetSeconds != XsDateTimeFormatter.NO_OFFSET) {
+                XsTimezoneFormatter.formatTo(offsetSeconds, builder);
+            }
+        } else {
+            XsTemporalHolder.formatDateTimeTo(getValue(index), getNano(index), getOffsetSeconds(index), builder);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * JAXB adapter mapping xs:dateTime to {@code OffsetDateTime}, using strict validation; values without timezone are
+ * rejected. Values are parsed by hand-written parser and formatted to canonical representation (in their own offset)
+ * without {@code DateTimeFormatter}
+ */
+public class XsOffsetDateTimeAdapter extends XmlAdapter<String, OffsetDateTime> {
+
+    /**
+     * Variant of adapter using lenient validation, as {@link XsDateTimeFormatter#LENIENT}; values without timezone
+     * are rejected
+     */
+    public static class Lenient extends XsOffsetDateTimeAdapter {
+
+        public Lenient() {
+            super(true, XsTimezoneFormatter.NO_OFFSET);
+        }
+    }
+
+    /**
+     * Variant of adapter using lenient validation, interpreting values without timezone as belonging to default
+     * timezone, as {@link XsDateTimeFormatter#getLenientTZ(String)}. Can be registered on {@code Unmarshaller} as
+     * instance or subclassed with no-arg constructor for use in annotations
+     */
+    public static class LenientTZ extends XsOffsetDateTimeAdapter {
+
+        /**
+         * Create adapter with given default offset
+         *
+         * @param defOffset is default offset in any format accepted by {@code ZoneOffset.of} (e.g. {@code +01:00})
+         */
+        public LenientTZ(String defOffset) {
+            super(true, XsAdapterSupport.defaultOffset(defOffset));
+        }
+    }
+
+    private final boolean lenient;
+    private final int defaultOffset;
+
+    /**
+     * Create adapter using strict validation
+     */
+    public XsOffsetDateTimeAdapter() {
+        this(false, XsTimezoneFormatter.NO_OFFSET);
+    }
+
+    XsOffsetDateTimeAdapter(boolean lenient, int defaultOffset) {
+        this.lenient = lenient;
+        this.defaultOffset = defaultOffset;
+    }
+
+    /**
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     * @throws DateTimeException if value has no timezone and adapter has no default offset
+     */
+    @Nullable
+    @Override
+    public OffsetDateTime unmarshal(@Nullable String value) {
+        String xsDateTime = XsAdapterSupport.collapse(value);
+        if (xsDateTime == null) {
+            return null;
+        }
+        return XsAdapterSupport.parseDateTime(xsDateTime, lenient, defaultOffset).toOffsetDateTime();
+    }
+
+    @Nullable
+    @Override
+    public String marshal(@Nullable OffsetDateTime value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(35);
+        XsDateTimeFormatter.formatTo(value.toEpochSecond(), value.getNano(), value.getOffset().getTotalSeconds(),
+                builder);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,421 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive processor parsing stream of lexical xs:date, xs:time or xs:dateTime values to batches of primitive
+ * columns. Values are parsed on arrival by hand-written parser with shared holder directly to primitive arrays of
+ * batch being filled, without per-value allocation; downstream receives one signal per batch instead of one per value.
+ * <p>
+ * Processor honors backpressure - demand of downstream subscriber is counted in batches and processor requests from
+ * upstream only as many values as needed to fill requested batches. Invalid values do not fail the stream; they are
+ * passed to {@link InvalidValueHandler} and replaced by requesting another value from upstream. When upstream
+ * completes, the last (incomplete) batch is published before completion; error of upstream is passed to downstream
+ * immediately, discarding unpublished batches.
+ * <p>
+ * Processor supports single subscriber and can only be subscribed to single publisher
+ */
+public final class XsParseProcessor implements Flow.Processor<CharSequence, XsParseProcessor.Batch> {
+
+    /**
+     * Type of parsed values
+     */
+    public enum ValueType {
+        /**
+         * xs:date values; value in batch is epoch day
+         */
+        DATE {
+            @Override
+            void parse(CharSequence text, boolean lenient, XsTemporalHolder holder) {
+                XsDateFormatter.parse(text, 0, text.length(), lenient, holder);
+            }
+
+            @Override
+            long value(XsTemporalHolder holder) {
+                return holder.epochDay();
+            }
+        },
+        /**
+         * xs:time values; value in batch is nanosecond of day (24:00:00 is represented as 0), nanosecond of second is
+         * always 0
+         */
+        TIME {
+            @Override
+            void parse(CharSequence text, boolean lenient, XsTemporalHolder holder) {
+                XsTimeFormatter.parse(text, 0, text.length(), lenient, holder);
+            }
+
+            @Override
+            long value(XsTemporalHolder holder) {
+                return holder.nanoOfDay();
+            }
+        },
+        /**
+         * xs:dateTime values; value in batch is epoch second of instant, value without timezone is interpreted as
+         * UTC
+         */
+        DATE_TIME {
+            @Override
+            void parse(CharSequence text, boolean lenient, XsTemporalHolder holder) {
+                XsDateTimeFormatter.parse(text, 0, text.length(), lenient, holder);
+            }
+
+            @Override
+            long value(XsTemporalHolder holder) {
+                return holder.epochSecond();
+            }
+
+            @Override
+            int nano(XsTemporalHolder holder) {
+                return holder.nano;
+            }
+        };
+
+        abstract void parse(CharSequence text, boolean lenient, XsTemporalHolder holder);
+
+        abstract long value(XsTemporalHolder holder);
+
+        int nano(XsTemporalHolder holder) {
+            return 0;
+        }
+    }
+
+    /**
+     * Error channel receiving values that cannot be parsed
+     */
+    @FunctionalInterface
+    public interface InvalidValueHandler {
+
+        /**
+         * Process invalid value. Called from thread delivering values from upstream, in order of values
+         *
+         * @param index is index of value in stream of values received from upstream
+         * @param value is invalid value
+         * @param exception is exception describing problem
+         */
+        void invalid(long index, CharSequence value, DateTimeParseException exception);
+    }
+
+    /**
+     * Batch of parsed values in primitive columns. Batch is not modified after it has been published
+     */
+    public static final class Batch {
+
+        private final long[] indices;
+        private final long[] values;
+        private final int[] nanos;
+        private final int[] offsetSeconds;
+        private int size;
+
+        Batch(int capacity) {
+            indices = new long[capacity];
+            values = new long[capacity];
+            nanos = new int[capacity];
+            offsetSeconds = new int[capacity];
+        }
+
+        boolean isFull() {
+            return size == values.length;
+        }
+
+        void add(long index, long value, int nano, int offset) {
+            indices[size] = index;
+            values[size] = value;
+            nanos[size] = nano;
+            offsetSeconds[size] = offset;
+            size++;
+        }
+
+        /**
+         * @return number of values in batch
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return index of value in stream of values received from upstream, including invalid values
+         */
+        public long getIndex(int index) {
+            return indices[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * @return value on given index; epoch day, nanosecond of day or epoch second, depending on
+         * {@link ValueType}
+         */
+        public long getValue(int index) {
+            return values[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * @return nanosecond of second of value on given index; always 0 for other types than
+         * {@link ValueType#DATE_TIME}
+         */
+        public int getNano(int index) {
+            return nanos[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * @return offset of value on given index in seconds or {@link XsDateTimeFormatter#NO_OFFSET} if value has no
+         * timezone
+         */
+        public int getOffsetSeconds(int index) {
+            return offsetSeconds[Objects.checkIndex(index, size)];
+        }
+    }
+
+    private final ValueType valueType;
+    private final boolean lenient;
+    private final int batchSize;
+    private final int defaultOffsetSeconds;
+    @Nonnull
+    private final InvalidValueHandler invalidValueHandler;
+    private final XsTemporalHolder holder = new XsTemporalHolder();
+
+    @Nullable
+    private volatile Flow.Subscription upstream;
+    @Nullable
+    private volatile Flow.Subscriber<? super Batch> downstream;
+    /**
+     * Number of batches requested by downstream and not yet published
+     */
+    private final AtomicLong demand = new AtomicLong();
+    /**
+     * Number of values requested from upstream and not yet received
+     */
+    private final AtomicLong outstanding = new AtomicLong();
+    /**
+     * Number of valid values received from upstream and not yet published
+     */
+    private final AtomicLong buffered = new AtomicLong();
+    private final Queue<Batch> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    /**
+     * Batch being filled; only accessed from thread delivering values from upstream
+     */
+    @Nullable
+    private Batch current;
+    private long received;
+    private volatile boolean done;
+    @Nullable
+    private volatile Throwable error;
+    private volatile boolean terminated;
+
+    /**
+     * Create processor keeping values without timezone as they are
+     *
+     * @param valueType is type of parsed values
+     * @param lenient indicates if lenient validation should be used
+     * @param batchSize is number of values in published batch
+     * @param invalidValueHandler receives values that cannot be parsed
+     */
+    public XsParseProcessor(ValueType valueType, boolean lenient, int batchSize,
+                            InvalidValueHandler invalidValueHandler) {
+        this(valueType, lenient, batchSize, XsDateTimeFormatter.NO_OFFSET, invalidValueHandler);
+    }
+
+    /**
+     * Create processor
+     *
+     * @param valueType is type of parsed values
+     * @param lenient indicates if lenient validation should be used
+     * @param batchSize is number of values in published batch
+     * @param defaultOffsetSeconds is offset assigned to values without timezone or
+     *                            {@link XsDateTimeFormatter#NO_OFFSET} if such values should be kept without timezone
+     * @param invalidValueHandler receives values that cannot be parsed
+     */
+    public XsParseProcessor(ValueType valueType, boolean lenient, int batchSize, int defaultOffsetSeconds,
+                            InvalidValueHandler invalidValueHandler) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (defaultOffsetSeconds != XsDateTimeFormatter.NO_OFFSET) {
+            XsTimezoneFormatter.ofTotalSeconds(defaultOffsetSeconds);
+        }
+        this.valueType = Objects.requireNonNull(valueType);
+        this.lenient = lenient;
+        this.batchSize = batchSize;
+        this.defaultOffsetSeconds = defaultOffsetSeconds;
+        this.invalidValueHandler = Objects.requireNonNull(invalidValueHandler);
+    }
+
+    private static long addCap(long a, long b) {
+        long result = a + b;
+        return (result < 0) ? Long.MAX_VALUE : result;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Batch> subscriber) {
+        Objects.requireNonNull(subscriber);
+        boolean accepted;
+        synchronized (this) {
+            accepted = (downstream == null);
+            if (accepted) {
+                downstream = subscriber;
+            }
+        }
+        if (accepted) {
+            subscriber.onSubscribe(new BatchSubscription());
+            drain();
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(new IllegalStateException("Processor supports only single subscriber"));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(CharSequence item) {
+        Objects.requireNonNull(item);
+        outstanding.decrementAndGet();
+        long index = received++;
+        try {
+            valueType.parse(item, lenient, holder);
+        } catch (DateTimeParseException e) {
+            invalidValueHandler.invalid(index, item, e);
+            // value has to be replaced by another one
+            drain();
+            return;
+        }
+        long value = valueType.value(holder);
+        int offset = holder.offsetSeconds;
+        if ((offset == XsDateTimeFormatter.NO_OFFSET) && (defaultOffsetSeconds != XsDateTimeFormatter.NO_OFFSET)) {
+            offset = defaultOffsetSeconds;
+            if (valueType == ValueType.DATE_TIME) {
+                value -= offset;
+            }
+        }
+        if (current == null) {
+            current = new Batch(batchSize);
+        }
+        current.add(index, value, valueType.nano(holder), offset);
+        buffered.incrementAndGet();
+        if (current.isFull()) {
+            ready.offer(current);
+            current = null;
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = Objects.requireNonNull(throwable);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (current != null) {
+            ready.offer(current);
+            current = null;
+        }
+        done = true;
+        drain();
+    }
+
+    /**
+     * Publish ready batches and request values from upstream. Method may be invoked from any thread; only one thread
+     * at time performs the work, other invocations just make it repeat
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super Batch> subscriber = downstream;
+            Flow.Subscription subscription = upstream;
+            if ((subscriber != null) && !terminated) {
+                Throwable throwable = error;
+                if (throwable != null) {
+                    terminated = true;
+                    ready.clear();
+                    subscriber.onError(throwable);
+                } else {
+                    Batch batch;
+                    while ((demand.get() > 0) && !terminated && ((batch = ready.poll()) != null)) {
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        buffered.addAndGet(-batch.size());
+                        subscriber.onNext(batch);
+                    }
+                    if (done) {
+                        if (ready.isEmpty() && !terminated) {
+                            terminated = true;
+                            subscriber.onComplete();
+                        }
+                    } else if ((subscription != null) && !terminated) {
+                        long wanted = demand.get();
+                        wanted = (wanted > Long.MAX_VALUE / batchSize) ? Long.MAX_VALUE : wanted * batchSize;
+                        long needed = wanted - buffered.get() - outstanding.get();
+                        if (needed > 0) {
+                            outstanding.getAndAccumulate(needed, XsParseProcessor::addCap);
+                            subscription.request(needed);
+                        }
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Subscription of downstream subscriber
+     */
+    private final class BatchSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Number of requested batches must be positive");
+                cancelUpstream();
+            } else {
+                demand.getAndAccumulate(n, XsParseProcessor::addCap);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            terminated = true;
+            cancelUpstream();
+            ready.clear();
+        }
+
+        private void cancelUpstream() {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Support class for hand-written parsers of xsd date / time values. Contains low level routines for reading digits and
+ * literals from {@code CharSequence} without allocation; failures are reported using {@code DateTimeParseException},
+ * same as in case of {@code DateTimeFormatter} based parsing
+ */
+final class XsParseSupport {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsParseSupport() {}
+
+    /**
+     * Create exception reporting failure when parsing given text
+     *
+     * @param message is description of problem
+     * @param text is text being parsed
+     * @param pos is position in text where problem has been found
+     * @return exception that can be thrown by caller
+     */
+    @Nonnull
+    static DateTimeParseException error(String message, CharSequence text, int pos) {
+        return new DateTimeParseException(message + " at index " + pos + " in '" + text + "'", text, pos);
+    }
+
+    /**
+     * Read decimal digit at given position
+     *
+     * @return value of digit or -1 if position is outside of parsed range or there is no digit on given position
+     */
+    static int digit(CharSequence text, int pos, int end) {
+        if (pos >= end) {
+            return -1;
+        }
+        int digit = text.charAt(pos) - '0';
+        return ((digit >= 0) && (digit <= 9)) ? digit : -1;
+    }
+
+    /**
+     * Read two digit number starting on given position
+     *
+     * @return value of two digit number
+     * @throws DateTimeParseException if there are not two digits on given position
+     */
+    static int twoDigits(CharSequence text, int pos, int end) {
+        int high = digit(text, pos, end);
+        int low = digit(text, pos + 1, end);
+        if ((high < 0) || (low < 0)) {
+            throw error("Two digits expected", text, pos);
+        }
+        return high * 10 + low;
+    }
+
+    /**
+     * Read four digit number starting on given position, used as fast path for the most common year format
+     *
+     * @return value of four digit number or -1 if there are not four digits on given position
+     */
+    static int fourDigits(CharSequence text, int pos, int end) {
+        int d0 = digit(text, pos, end);
+        int d1 = digit(text, pos + 1, end);
+        int d2 = digit(text, pos + 2, end);
+        int d3 = digit(text, pos + 3, end);
+        if ((d0 | d1 | d2 | d3) < 0) {
+            return -1;
+        }
+        return ((d0 * 10 + d1) * 10 + d2) * 10 + d3;
+    }
+
+    /**
+     * Verify that given character is on given position
+     *
+     * @throws DateTimeParseException if there is different character on given position
+     */
+    static void literal(CharSequence text, int pos, int end, char expected) {
+        if ((pos >= end) || (text.charAt(pos) != expected)) {
+            throw error("'" + expected + "' expected", text, pos);
+        }
+    }
+
+    /**
+     * Maximal number of digits in year that can be represented by {@code java.time} types
+     */
+    static final int MAX_YEAR_DIGITS = 9;
+
+    /**
+     * Find end of year starting on given position, verifying it is valid xsd year (optional minus sign, at least four
+     * digits, no leading zero if more than four digits are present)
+     *
+     * @return index after the last digit of year
+     * @throws DateTimeParseException if year is not valid or is outside of range supported by {@code java.time}
+     */
+    static int yearEnd(CharSequence text, int start, int end) {
+        int digitsStart = ((start < end) && (text.charAt(start) == '-')) ? start + 1 : start;
+        int pos = digitsStart;
+        while (digit(text, pos, end) >= 0) {
+            pos++;
+        }
+        int digits = pos - digitsStart;
+        if (digits < 4) {
+            throw error("Year must have at least four digits", text, digitsStart);
+        }
+        if ((digits > 4) && (text.charAt(digitsStart) == '0')) {
+            throw error("Year with more than four digits must not start with zero", text, digitsStart);
+        }
+        if (digits > MAX_YEAR_DIGITS) {
+            throw error("Year out of supported range", text, digitsStart);
+        }
+        return pos;
+    }
+
+    /**
+     * Evaluate year occupying given range; range must have been verified by {@link #yearEnd}
+     */
+    static int year(CharSequence text, int start, int yearEnd) {
+        boolean negative = (text.charAt(start) == '-');
+        int value = 0;
+        for (int pos = negative ? start + 1 : start; pos < yearEnd; pos++) {
+            value = value * 10 + (text.charAt(pos) - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Read two digit month on given position
+     *
+     * @return month (1-12)
+     * @throws DateTimeParseException if there is no valid month on given position
+     */
+    static int month(CharSequence text, int pos, int end) {
+        int month = twoDigits(text, pos, end);
+        if ((month < 1) || (month > 12)) {
+            throw error("Invalid month " + month, text, pos);
+        }
+        return month;
+    }
+
+    /**
+     * Read two digit day on given position, verifying it fits in month with given maximal length
+     *
+     * @return day of month
+     * @throws DateTimeParseException if there is no valid day on given position
+     */
+    static int day(CharSequence text, int pos, int end, int maxDay) {
+        int day = twoDigits(text, pos, end);
+        if ((day < 1) || (day > maxDay)) {
+            throw error("Invalid day " + day, text, pos);
+        }
+        return day;
+    }
+
+    /**
+     * Validate optional timezone suffix, starting on given position and spanning to the end of parsed range
+     *
+     * @return offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} if timezone is not present
+     * @throws DateTimeParseException if suffix is not valid timezone
+     */
+    static int timezone(CharSequence text, int pos, int end, boolean lenient) {
+        if (pos >= end) {
+            return XsTimezoneFormatter.NO_OFFSET;
+        }
+        return lenient ? XsTimezoneFormatter.parseLenientSeconds(text, pos, end)
+                : XsTimezoneFormatter.parseStrictSeconds(text, pos, end);
+    }
+}
@@ -0,0 +1,575 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Encoding of {@code xs:dateTime}, {@code xs:date} and {@code xs:time} values to fixed-width keys, comparable as
+ * unsigned byte sequences (e.g. using {@link Arrays#compareUnsigned(byte[], int, int, byte[], int, int)} or by
+ * off-heap sort buffers and LSM-store indexes). Order of keys corresponds to order of represented instants, values
+ * representing the same instant are ordered by their original offset.
+ * <p>
+ * Key has {@value #KEY_LENGTH} bytes and is big-endian encoding of 96 bit unsigned number composed of
+ * <ul>
+ *     <li>48 bits - UTC epoch second, biased by 2^47</li>
+ *     <li>30 bits - nanosecond of second</li>
+ *     <li>18 bits - original offset in seconds, biased by 64801; zero is used for values without timezone</li>
+ * </ul>
+ * Values without timezone are placed on timeline as if they were in UTC. Date is encoded as its start (00:00:00 in
+ * its timezone), time is placed on reference date 1972-12-31, as defined by XML Schema 1.1 for comparison of
+ * {@code xs:time} values. Encoded values must lie within approximately 4.4 million years from 1970.
+ */
+public final class XsSortKey {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsSortKey() {}
+
+    /**
+     * Length of encoded key in bytes
+     */
+    public static final int KEY_LENGTH = 12;
+
+    private static final long SECONDS_BIAS = 1L << 47;
+    private static final long SECONDS_LIMIT = 1L << 48;
+    private static final int OFFSET_BIAS = 64801;
+    private static final int OFFSET_MASK = (1 << 18) - 1;
+    private static final long NANO_HIGH_MASK = (1L << 16) - 1;
+
+    /**
+     * Epoch day of reference date 1972-12-31, used for encoding of time values
+     */
+    private static final long TIME_REFERENCE_EPOCH_DAY = XsTemporalHolder.epochDay(1972, 12, 31);
+
+    /**
+     * Evaluate first eight bytes of key
+     */
+    private static long high(long epochSecond, int nano) {
+        long biased = epochSecond + SECONDS_BIAS;
+        if ((biased < 0) || (biased >= SECONDS_LIMIT)) {
+            throw new DateTimeException("Value out of range supported by sort key: epoch second " + epochSecond);
+        }
+        if ((nano < 0) || (nano > 999_999_999)) {
+            throw new DateTimeException("Invalid nanosecond of second: " + nano);
+        }
+        return (biased << 16) | (nano >>> 14);
+    }
+
+    /**
+     * Evaluate last four bytes of key
+     */
+    private static int low(int nano, int offsetSeconds) {
+        int offsetCode;
+        if (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+            offsetCode = 0;
+        } else if ((offsetSeconds < -64800) || (offsetSeconds > 64800)) {
+            throw new DateTimeException("Offset out of range supported by sort key: " + offsetSeconds);
+        } else {
+            offsetCode = offsetSeconds + OFFSET_BIAS;
+        }
+        return ((nano & 0x3FFF) << 18) | offsetCode;
+    }
+
+    private static void put(long high, int low, byte[] target, int offset) {
+        for (int i = 7; i >= 0; i--) {
+            target[offset + i] = (byte) high;
+            high >>>= 8;
+        }
+        for (int i = 11; i >= 8; i--) {
+            target[offset + i] = (byte) low;
+            low >>>= 8;
+        }
+    }
+
+    private static void put(long high, int low, ByteBuffer target, int index) {
+        if (target.order() == ByteOrder.BIG_ENDIAN) {
+            target.putLong(index, high);
+            target.putInt(index + 8, low);
+        } else {
+            target.putLong(index, Long.reverseBytes(high));
+            target.putInt(index + 8, Integer.reverseBytes(low));
+        }
+    }
+
+    private static long getHigh(byte[] key, int offset) {
+        long high = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (key[offset + i] & 0xFF);
+        }
+        return high;
+    }
+
+    private static int getLow(byte[] key, int offset) {
+        int low = 0;
+        for (int i = 8; i < 12; i++) {
+            low = (low << 8) | (key[offset + i] & 0xFF);
+        }
+        return low;
+    }
+
+    private static long getHigh(ByteBuffer key, int index) {
+        long high = key.getLong(index);
+        return (key.order() == ByteOrder.BIG_ENDIAN) ? high : Long.reverseBytes(high);
+    }
+
+    private static int getLow(ByteBuffer key, int index) {
+        int low = key.getInt(index + 8);
+        return (key.order() == ByteOrder.BIG_ENDIAN) ? low : Integer.reverseBytes(low);
+    }
+
+    /**
+     * Write key of value given by primitive fields to byte array
+     *
+     * @param epochSecond is epoch second of instant (of local date and time if value has no timezone)
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is original offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET}
+     * @param target is array key is written to
+     * @param offset is index of the first byte of key in target array
+     * @throws DateTimeException if value is outside of range supported by key
+     */
+    public static void encode(long epochSecond, int nano, int offsetSeconds, byte[] target, int offset) {
+        put(high(epochSecond, nano), low(nano, offsetSeconds), target, offset);
+    }
+
+    /**
+     * Write key of value given by primitive fields to buffer on given absolute index, regardless of buffer's byte
+     * order
+     *
+     * @param epochSecond is epoch second of instant (of local date and time if value has no timezone)
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is original offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET}
+     * @param target is buffer key is written to
+     * @param index is index of the first byte of key in target buffer
+     * @throws DateTimeException if value is outside of range supported by key
+     */
+    public static void encode(long epochSecond, int nano, int offsetSeconds, ByteBuffer target, int index) {
+        put(high(epochSecond, nano), low(nano, offsetSeconds), target, index);
+    }
+
+    private static void encode(XsTemporalHolder holder, byte[] target, int offset) {
+        encode(holder.epochSecond(), holder.nano, holder.offsetSeconds, target, offset);
+    }
+
+    private static void encode(XsTemporalHolder holder, ByteBuffer target, int index) {
+        encode(holder.epochSecond(), holder.nano, holder.offsetSeconds, target, index);
+    }
+
+    /**
+     * Parse time value to holder and move it to reference date used for comparison of time values
+     */
+    private static XsTemporalHolder parseTime(CharSequence xsTime, boolean lenient, XsTemporalHolder holder) {
+        XsTimeFormatter.parse(xsTime, 0, xsTime.length(), lenient, holder);
+        holder.setEpochDay(TIME_REFERENCE_EPOCH_DAY);
+        return holder;
+    }
+
+    private static XsTemporalHolder parseDate(CharSequence xsDate, boolean lenient, XsTemporalHolder holder) {
+        XsDateFormatter.parse(xsDate, 0, xsDate.length(), lenient, holder);
+        return holder;
+    }
+
+    private static XsTemporalHolder parseDateTime(CharSequence xsDateTime, boolean lenient,
+                                                  XsTemporalHolder holder) {
+        XsDateTimeFormatter.parse(xsDateTime, 0, xsDateTime.length(), lenient, holder);
+        return holder;
+    }
+
+    /**
+     * Parse xs:dateTime value using strict validation and write its key to byte array. Allocates temporary holder, use
+     * {@link #encodeDateTime(CharSequence, byte[], int, XsTemporalHolder)} when encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTime(CharSequence xsDateTime, byte[] target, int offset) {
+        encodeDateTime(xsDateTime, target, offset, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:dateTime value using strict validation and write its key to byte array without any allocation, using
+     * supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTime(CharSequence xsDateTime, byte[] target, int offset, XsTemporalHolder holder) {
+        encode(parseDateTime(xsDateTime, false, holder), target, offset);
+    }
+
+    /**
+     * Parse xs:dateTime value using strict validation and write its key to buffer on given absolute index. Allocates
+     * temporary holder, use {@link #encodeDateTime(CharSequence, ByteBuffer, int, XsTemporalHolder)} when encoding
+     * values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTime(CharSequence xsDateTime, ByteBuffer target, int index) {
+        encodeDateTime(xsDateTime, target, index, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:dateTime value using strict validation and write its key to buffer on given absolute index without any
+     * allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTime(CharSequence xsDateTime, ByteBuffer target, int index, XsTemporalHolder holder) {
+        encode(parseDateTime(xsDateTime, false, holder), target, index);
+    }
+
+    /**
+     * Parse xs:dateTime value using lenient validation and write its key to byte array. Allocates temporary holder, use
+     * {@link #encodeDateTimeLenient(CharSequence, byte[], int, XsTemporalHolder)} when encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTimeLenient(CharSequence xsDateTime, byte[] target, int offset) {
+        encodeDateTimeLenient(xsDateTime, target, offset, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:dateTime value using lenient validation and write its key to byte array without any allocation, using
+     * supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTimeLenient(CharSequence xsDateTime, byte[] target, int offset,
+                                             XsTemporalHolder holder) {
+        encode(parseDateTime(xsDateTime, true, holder), target, offset);
+    }
+
+    /**
+     * Parse xs:dateTime value using lenient validation and write its key to buffer on given absolute index. Allocates
+     * temporary holder, use {@link #encodeDateTimeLenient(CharSequence, ByteBuffer, int, XsTemporalHolder)} when
+     * encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTimeLenient(CharSequence xsDateTime, ByteBuffer target, int index) {
+        encodeDateTimeLenient(xsDateTime, target, index, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:dateTime value using lenient validation and write its key to buffer on given absolute index without any
+     * allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:dateTime
+     */
+    public static void encodeDateTimeLenient(CharSequence xsDateTime, ByteBuffer target, int index,
+                                             XsTemporalHolder holder) {
+        encode(parseDateTime(xsDateTime, true, holder), target, index);
+    }
+
+    /**
+     * Parse xs:date value using strict validation and write key of its start to byte array. Allocates temporary holder,
+     * use {@link #encodeDate(CharSequence, byte[], int, XsTemporalHolder)} when encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDate(CharSequence xsDate, byte[] target, int offset) {
+        encodeDate(xsDate, target, offset, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:date value using strict validation and write key of its start to byte array without any allocation,
+     * using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDate(CharSequence xsDate, byte[] target, int offset, XsTemporalHolder holder) {
+        encode(parseDate(xsDate, false, holder), target, offset);
+    }
+
+    /**
+     * Parse xs:date value using strict validation and write key of its start to buffer on given absolute index.
+     * Allocates temporary holder, use {@link #encodeDate(CharSequence, ByteBuffer, int, XsTemporalHolder)} when
+     * encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDate(CharSequence xsDate, ByteBuffer target, int index) {
+        encodeDate(xsDate, target, index, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:date value using strict validation and write key of its start to buffer on given absolute index without
+     * any allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDate(CharSequence xsDate, ByteBuffer target, int index, XsTemporalHolder holder) {
+        encode(parseDate(xsDate, false, holder), target, index);
+    }
+
+    /**
+     * Parse xs:date value using lenient validation and write key of its start to byte array. Allocates temporary
+     * holder, use {@link #encodeDateLenient(CharSequence, byte[], int, XsTemporalHolder)} when encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDateLenient(CharSequence xsDate, byte[] target, int offset) {
+        encodeDateLenient(xsDate, target, offset, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:date value using lenient validation and write key of its start to byte array without any allocation,
+     * using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDateLenient(CharSequence xsDate, byte[] target, int offset, XsTemporalHolder holder) {
+        encode(parseDate(xsDate, true, holder), target, offset);
+    }
+
+    /**
+     * Parse xs:date value using lenient validation and write key of its start to buffer on given absolute index.
+     * Allocates temporary holder, use {@link #encodeDateLenient(CharSequence, ByteBuffer, int, XsTemporalHolder)} when
+     * encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDateLenient(CharSequence xsDate, ByteBuffer target, int index) {
+        encodeDateLenient(xsDate, target, index, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:date value using lenient validation and write key of its start to buffer on given absolute index without
+     * any allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:date
+     */
+    public static void encodeDateLenient(CharSequence xsDate, ByteBuffer target, int index, XsTemporalHolder holder) {
+        encode(parseDate(xsDate, true, holder), target, index);
+    }
+
+    /**
+     * Parse xs:time value using strict validation and write its key (on reference date 1972-12-31) to byte array.
+     * Allocates temporary holder, use {@link #encodeTime(CharSequence, byte[], int, XsTemporalHolder)} when encoding
+     * values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTime(CharSequence xsTime, byte[] target, int offset) {
+        encodeTime(xsTime, target, offset, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:time value using strict validation and write its key (on reference date 1972-12-31) to byte array
+     * without any allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTime(CharSequence xsTime, byte[] target, int offset, XsTemporalHolder holder) {
+        encode(parseTime(xsTime, false, holder), target, offset);
+    }
+
+    /**
+     * Parse xs:time value using strict validation and write its key (on reference date 1972-12-31) to buffer on given
+     * absolute index. Allocates temporary holder, use {@link #encodeTime(CharSequence, ByteBuffer, int,
+     * XsTemporalHolder)} when encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTime(CharSequence xsTime, ByteBuffer target, int index) {
+        encodeTime(xsTime, target, index, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:time value using strict validation and write its key (on reference date 1972-12-31) to buffer on given
+     * absolute index without any allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTime(CharSequence xsTime, ByteBuffer target, int index, XsTemporalHolder holder) {
+        encode(parseTime(xsTime, false, holder), target, index);
+    }
+
+    /**
+     * Parse xs:time value using lenient validation and write its key (on reference date 1972-12-31) to byte array.
+     * Allocates temporary holder, use {@link #encodeTimeLenient(CharSequence, byte[], int, XsTemporalHolder)} when
+     * encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTimeLenient(CharSequence xsTime, byte[] target, int offset) {
+        encodeTimeLenient(xsTime, target, offset, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:time value using lenient validation and write its key (on reference date 1972-12-31) to byte array
+     * without any allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTimeLenient(CharSequence xsTime, byte[] target, int offset, XsTemporalHolder holder) {
+        encode(parseTime(xsTime, true, holder), target, offset);
+    }
+
+    /**
+     * Parse xs:time value using lenient validation and write its key (on reference date 1972-12-31) to buffer on given
+     * absolute index. Allocates temporary holder, use {@link #encodeTimeLenient(CharSequence, ByteBuffer, int,
+     * XsTemporalHolder)} when encoding values in bulk
+     *
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTimeLenient(CharSequence xsTime, ByteBuffer target, int index) {
+        encodeTimeLenient(xsTime, target, index, new XsTemporalHolder());
+    }
+
+    /**
+     * Parse xs:time value using lenient validation and write its key (on reference date 1972-12-31) to buffer on given
+     * absolute index without any allocation, using supplied holder for intermediate value
+     *
+     * @param holder is holder value is parsed to; its previous content is overwritten
+     * @throws DateTimeParseException if value is not valid xs:time
+     */
+    public static void encodeTimeLenient(CharSequence xsTime, ByteBuffer target, int index, XsTemporalHolder holder) {
+        encode(parseTime(xsTime, true, holder), target, index);
+    }
+
+    /**
+     * Compare two keys as unsigned byte sequences
+     *
+     * @return negative number, zero or positive number if the first key is less than, equal to or greater than the
+     * second key
+     */
+    public static int compare(byte[] key1, int offset1, byte[] key2, int offset2) {
+        return Arrays.compareUnsigned(key1, offset1, offset1 + KEY_LENGTH, key2, offset2, offset2 + KEY_LENGTH);
+    }
+
+    private static long epochSecond(long high) {
+        return (high >>> 16) - SECONDS_BIAS;
+    }
+
+    private static int nano(long high, int low) {
+        return (int) ((high & NANO_HIGH_MASK) << 14) | (low >>> 18);
+    }
+
+    private static int offsetSeconds(int low) {
+        int offsetCode = low & OFFSET_MASK;
+        return (offsetCode == 0) ? XsTimezoneFormatter.NO_OFFSET : offsetCode - OFFSET_BIAS;
+    }
+
+    /**
+     * @return UTC epoch second of value encoded in key (epoch second of local date and time for values without
+     * timezone)
+     */
+    public static long decodeEpochSecond(byte[] key, int offset) {
+        return epochSecond(getHigh(key, offset));
+    }
+
+    /**
+     * @return UTC epoch second of value encoded in key (epoch second of local date and time for values without
+     * timezone)
+     */
+    public static long decodeEpochSecond(ByteBuffer key, int index) {
+        return epochSecond(getHigh(key, index));
+    }
+
+    /**
+     * @return nanosecond of second of value encoded in key
+     */
+    public static int decodeNano(byte[] key, int offset) {
+        return nano(getHigh(key, offset), getLow(key, offset));
+    }
+
+    /**
+     * @return nanosecond of second of value encoded in key
+     */
+    public static int decodeNano(ByteBuffer key, int index) {
+        return nano(getHigh(key, index), getLow(key, index));
+    }
+
+    /**
+     * @return original offset of value encoded in key in seconds or {@link XsDateTimeFormatter#NO_OFFSET} if value
+     * has no timezone
+     */
+    public static int decodeOffsetSeconds(byte[] key, int offset) {
+        return offsetSeconds(getLow(key, offset));
+    }
+
+    /**
+     * @return original offset of value encoded in key in seconds or {@link XsDateTimeFormatter#NO_OFFSET} if value
+     * has no timezone
+     */
+    public static int decodeOffsetSeconds(ByteBuffer key, int index) {
+        return offsetSeconds(getLow(key, index));
+    }
+
+    @Nonnull
+    private static XsTemporalHolder decode(long high, int low) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        holder.setEpochSecond(epochSecond(high), nano(high, low), offsetSeconds(low));
+        return holder;
+    }
+
+    /**
+     * Decode local date and time (in original offset) of value encoded in key
+     */
+    @Nonnull
+    public static LocalDateTime decodeLocalDateTime(byte[] key, int offset) {
+        return decode(getHigh(key, offset), getLow(key, offset)).toLocalDateTime();
+    }
+
+    /**
+     * Decode local date and time (in original offset) of value encoded in key
+     */
+    @Nonnull
+    public static LocalDateTime decodeLocalDateTime(ByteBuffer key, int index) {
+        return decode(getHigh(key, index), getLow(key, index)).toLocalDateTime();
+    }
+
+    /**
+     * Decode date and time in original offset of value encoded in key
+     *
+     * @throws DateTimeException if encoded value has no timezone
+     */
+    @Nonnull
+    public static OffsetDateTime decodeOffsetDateTime(byte[] key, int offset) {
+        return decode(getHigh(key, offset), getLow(key, offset)).toOffsetDateTime();
+    }
+
+    /**
+     * Decode date and time in original offset of value encoded in key
+     *
+     * @throws DateTimeException if encoded value has no timezone
+     */
+    @Nonnull
+    public static OffsetDateTime decodeOffsetDateTime(ByteBuffer key, int index) {
+        return decode(getHigh(key, index), getLow(key, index)).toOffsetDateTime();
+    }
+
+    /**
+     * Append canonical xs:dateTime representation (in original offset) of value encoded in key to builder
+     */
+    public static void formatTo(byte[] key, int offset, StringBuilder builder) {
+        long high = getHigh(key, offset);
+        int low = getLow(key, offset);
+        XsTemporalHolder.formatDateTimeTo(epochSecond(high), nano(high, low), offsetSeconds(low), builder);
+    }
+
+    /**
+     * Append canonical xs:dateTime representation (in original offset) of value encoded in key to builder
+     */
+    public static void formatTo(ByteBuffer key, int index, StringBuilder builder) {
+        long high = getHigh(key, index);
+        int low = getLow(key, index);
+        XsTemporalHolder.formatDateTimeTo(epochSecond(high), nano(high, low), offsetSeconds(low), builder);
+    }
+}
@@ -0,0 +1,394 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nonnull;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+
+/**
+ * Mutable holder of fields of parsed xsd date / time value. Used by hand-written parsers to pass results between
+ * parsers of individual parts of value without allocation, and available to callers that want to parse values
+ * without producing garbage - single holder (e.g. per thread) can be filled by {@code parse} methods of
+ * {@link XsDateFormatter}, {@link XsTimeFormatter} and {@link XsDateTimeFormatter} (as well as by
+ * {@link XsListCursor} and column classes) and converted to epoch values, java.time objects or canonical lexical
+ * representation on demand.
+ * <p>
+ * Fields not present in parsed value keep their default values (0000-01-01, 00:00:00). Time 24:00:00 is normalized
+ * to 00:00:00 with {@link #isEndOfDay()} flag set; conversions that involve date move value to the following day.
+ * Holder is not thread-safe
+ */
+public final class XsTemporalHolder {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int SECONDS_PER_DAY = 86400;
+    /**
+     * Number of days in 400 year cycle of Gregorian calendar
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+    /**
+     * Number of days between 0000-03-01 and 1970-01-01
+     */
+    private static final long DAYS_0000_03_01_TO_1970 = 719468;
+
+    int year;
+    int month;
+    int day;
+    int hour;
+    int minute;
+    int second;
+    int nano;
+    /**
+     * Offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET} if value has no timezone
+     */
+    int offsetSeconds;
+    /**
+     * Indicates that time has been specified as 24:00:00; time fields are normalized to 00:00:00 and value represents
+     * beginning of the following day
+     */
+    boolean endOfDay;
+
+    /**
+     * Create holder initialized to 0000-01-01T00:00:00 without timezone
+     */
+    public XsTemporalHolder() {
+        clear();
+    }
+
+    /**
+     * Reset holder to 0000-01-01T00:00:00 without timezone
+     */
+    public void clear() {
+        year = 0;
+        month = 1;
+        day = 1;
+        hour = 0;
+        minute = 0;
+        second = 0;
+        nano = 0;
+        offsetSeconds = XsTimezoneFormatter.NO_OFFSET;
+        endOfDay = false;
+    }
+
+    /**
+     * Copy all fields from another holder
+     */
+    public void set(XsTemporalHolder other) {
+        year = other.year;
+        month = other.month;
+        day = other.day;
+        hour = other.hour;
+        minute = other.minute;
+        second = other.second;
+        nano = other.nano;
+        offsetSeconds = other.offsetSeconds;
+        endOfDay = other.endOfDay;
+    }
+
+    /**
+     * @return year (proleptic, 0 is 1 BC)
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return month of year, 1 to 12
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * @return day of month
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return hour of day; 0 if time has been specified as 24:00:00
+     */
+    public int getHour() {
+        return hour;
+    }
+
+    /**
+     * @return minute of hour
+     */
+    public int getMinute() {
+        return minute;
+    }
+
+    /**
+     * @return second of minute
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    /**
+     * @return nanosecond of second
+     */
+    public int getNano() {
+        return nano;
+    }
+
+    /**
+     * @return offset in seconds or {@link XsDateTimeFormatter#NO_OFFSET} if value has no timezone
+     */
+    public int getOffsetSeconds() {
+        return offsetSeconds;
+    }
+
+    /**
+     * @return true if value has timezone
+     */
+    public boolean hasTimezone() {
+        return offsetSeconds != XsTimezoneFormatter.NO_OFFSET;
+    }
+
+    /**
+     * @return true if time has been specified as 24:00:00 and has been normalized to 00:00:00 of the following day
+     */
+    public boolean isEndOfDay() {
+        return endOfDay;
+    }
+
+    /**
+     * @return nanosecond of day of time fields
+     */
+    public long nanoOfDay() {
+        return (hour * 3600L + minute * 60L + second) * NANOS_PER_SECOND + nano;
+    }
+
+    /**
+     * @return date fields as {@code LocalDate}
+     */
+    @Nonnull
+    public LocalDate toLocalDate() {
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * @return time fields as {@code LocalTime}
+     */
+    @Nonnull
+    public LocalTime toLocalTime() {
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * @return date and time fields as {@code LocalDateTime}; time 24:00:00 is converted to beginning of the
+     * following day
+     */
+    @Nonnull
+    public LocalDateTime toLocalDateTime() {
+        LocalDateTime result = LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        return endOfDay ? result.plusDays(1) : result;
+    }
+
+    /**
+     * @return date and time fields with offset as {@code OffsetDateTime}
+     * @throws DateTimeException if value has no timezone
+     */
+    @Nonnull
+    public OffsetDateTime toOffsetDateTime() {
+        if (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+            throw new DateTimeException("Value has no timezone");
+        }
+        return OffsetDateTime.of(toLocalDateTime(), XsTimezoneFormatter.ofTotalSeconds(offsetSeconds));
+    }
+
+    /**
+     * @return time fields with offset as {@code OffsetTime}
+     * @throws DateTimeException if value has no timezone
+     */
+    @Nonnull
+    public OffsetTime toOffsetTime() {
+        if (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) {
+            throw new DateTimeException("Value has no timezone");
+        }
+        return OffsetTime.of(toLocalTime(), XsTimezoneFormatter.ofTotalSeconds(offsetSeconds));
+    }
+
+    /**
+     * Evaluate epoch day of given date in proleptic Gregorian calendar, without allocation of {@code LocalDate}.
+     * Uses civil calendar algorithm counting years from March, thus leap day is the last day of year
+     */
+    static long epochDay(int year, int month, int day) {
+        long marchYear = (month <= 2) ? year - 1L : year;
+        long cycle = Math.floorDiv(marchYear, 400);
+        long yearOfCycle = marchYear - cycle * 400;
+        int dayOfYear = (153 * ((month > 2) ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + dayOfYear;
+        return cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_0000_03_01_TO_1970;
+    }
+
+    /**
+     * Evaluate date in proleptic Gregorian calendar from epoch day; inverse of {@link #epochDay(int, int, int)}
+     *
+     * @return date packed to long as year &lt;&lt; 9 | month &lt;&lt; 5 | day
+     */
+    static long civilDate(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_03_01_TO_1970;
+        long cycle = Math.floorDiv(zeroDay, DAYS_PER_CYCLE);
+        long dayOfCycle = zeroDay - cycle * DAYS_PER_CYCLE;
+        long yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+        int dayOfYear = (int) (dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100));
+        int marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        int month = (marchMonth < 10) ? marchMonth + 3 : marchMonth - 9;
+        long year = yearOfCycle + cycle * 400 + ((month <= 2) ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * Set date fields to given epoch day; time fields and timezone are kept, end of day flag is reset
+     */
+    public void setEpochDay(long epochDay) {
+        endOfDay = false;
+        long civilDate = civilDate(epochDay);
+        year = Math.toIntExact(civilDate >> 9);
+        month = (int) (civilDate >> 5) & 0xF;
+        day = (int) civilDate & 0x1F;
+    }
+
+    /**
+     * @return epoch day of date fields; time 24:00:00 moves value to the following day
+     */
+    public long epochDay() {
+        return endOfDay ? epochDay(year, month, day) + 1 : epochDay(year, month, day);
+    }
+
+    /**
+     * @return epoch second of date and time fields, ignoring timezone
+     */
+    public long localEpochSecond() {
+        return epochDay() * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * @return epoch second of represented instant; value without timezone is interpreted as UTC
+     */
+    public long epochSecond() {
+        return (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) ? localEpochSecond()
+                : localEpochSecond() - offsetSeconds;
+    }
+
+    /**
+     * Set all fields from epoch second of instant, nanosecond and offset; inverse of {@link #epochSecond()}
+     *
+     * @param epochSecond is epoch second of instant (or of local date and time if value has no timezone)
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET}
+     */
+    public void setEpochSecond(long epochSecond, int nano, int offsetSeconds) {
+        long local = (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) ? epochSecond : epochSecond + offsetSeconds;
+        setEpochDay(Math.floorDiv(local, SECONDS_PER_DAY));
+        int secondOfDay = Math.floorMod(local, SECONDS_PER_DAY);
+        hour = secondOfDay / 3600;
+        minute = (secondOfDay / 60) % 60;
+        second = secondOfDay % 60;
+        this.nano = nano;
+        this.offsetSeconds = offsetSeconds;
+        endOfDay = false;
+    }
+
+    /**
+     * Append two digit number to builder
+     */
+    private static void appendTwoDigits(int value, StringBuilder builder) {
+        builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Append canonical representation of date (without timezone) to builder
+     */
+    static void formatDateTo(long year, int month, int day, StringBuilder builder) {
+        long absYear = Math.abs(year);
+        if (year < 0) {
+            builder.append('-');
+        }
+        if (absYear < 1000) {
+            builder.append((absYear < 10) ? "000" : (absYear < 100) ? "00" : "0");
+        }
+        builder.append(absYear).append('-');
+        appendTwoDigits(month, builder);
+        builder.append('-');
+        appendTwoDigits(day, builder);
+    }
+
+    /**
+     * Append canonical representation of time (without timezone) to builder. Fraction of second is written only if
+     * not zero and without trailing zeroes
+     */
+    static void formatTimeTo(int hour, int minute, int second, int nano, StringBuilder builder) {
+        appendTwoDigits(hour, builder);
+        builder.append(':');
+        appendTwoDigits(minute, builder);
+        builder.append(':');
+        appendTwoDigits(second, builder);
+        if (nano != 0) {
+            builder.append('.');
+            int fraction = nano;
+            int divisor = 100_000_000;
+            while (fraction != 0) {
+                builder.append((char) ('0' + fraction / divisor));
+                fraction %= divisor;
+                divisor /= 10;
+            }
+        }
+    }
+
+    /**
+     * Append canonical xs:dateTime representation of value given by primitive fields to builder, without allocation
+     *
+     * @param epochSecond is epoch second of instant (or of local date and time if value has no timezone)
+     * @param nano is nanosecond of second
+     * @param offsetSeconds is offset in seconds or {@link XsTimezoneFormatter#NO_OFFSET}
+     * @param builder is builder representation is appended to
+     */
+    static void formatDateTimeTo(long epochSecond, int nano, int offsetSeconds, StringBuilder builder) {
+        long local = (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) ? epochSecond : epochSecond + offsetSeconds;
+        long civilDate = civilDate(Math.floorDiv(local, SECONDS_PER_DAY));
+        int secondOfDay = Math.floorMod(local, SECONDS_PER_DAY);
+        formatDateTo(civilDate >> 9, (int) (civilDate >> 5) & 0xF, (int) civilDate & 0x1F, builder);
+        builder.append('T');
+        formatTimeTo(secondOfDay / 3600, (secondOfDay / 60) % 60, secondOfDay % 60, nano, builder);
+        if (offsetSeconds != XsTimezoneFormatter.NO_OFFSET) {
+            XsTimezoneFormatter.formatTo(offsetSeconds, builder);
+        }
+    }
+
+    /**
+     * Append canonical xs:dateTime representation of holder to builder; time 24:00:00 is written as beginning of
+     * the following day, as required by canonical representation
+     */
+    public void formatDateTimeTo(StringBuilder builder) {
+        formatDateTimeTo(epochSecond(), nano, offsetSeconds, builder);
+    }
+
+    /**
+     * Append canonical xs:date representation of date fields and timezone of holder to builder
+     */
+    public void formatDateTo(StringBuilder builder) {
+        formatDateTo(year, month, day, builder);
+        if (offsetSeconds != XsTimezoneFormatter.NO_OFFSET) {
+            XsTimezoneFormatter.formatTo(offsetSeconds, builder);
+        }
+    }
+
+    /**
+     * Append canonical xs:time representation of time fields and timezone of holder to builder; time 24:00:00 is
+     * written as 00:00:00, as required by canonical representation
+     */
+    public void formatTimeTo(StringBuilder builder) {
+        formatTimeTo(hour, minute, second, nano, builder);
+        if (offsetSeconds != XsTimezoneFormatter.NO_OFFSET) {
+            XsTimezoneFormatter.formatTo(offsetSeconds, builder);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.provys.common.xsd;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Truncation of xs:dateTime values to time buckets and shifting between offsets, working on epoch second / offset
+ * representation used by {@link XsDateTimeColumn} and {@link XsTemporalHolder#epochSecond()} instead of
+ * {@code OffsetDateTime} objects.
+ * <p>
+ * Bucket is identified by number of whole units between 1970-01-01T00:00:00 and beginning of bucket in local time of
+ * target offset (for {@link ChronoUnit#WEEKS}, between Monday 1969-12-29 and beginning of ISO week). Supported units
+ * are {@link ChronoUnit#SECONDS}, {@link ChronoUnit#MINUTES}, {@link ChronoUnit#HOURS}, {@link ChronoUnit#HALF_DAYS},
+ * {@link ChronoUnit#DAYS}, {@link ChronoUnit#WEEKS}, {@link ChronoUnit#MONTHS} and {@link ChronoUnit#YEARS}; buckets
+ * of other fixed length (e.g. 15 minutes) can be evaluated using methods with bucket length in seconds, aligned to
+ * 1970-01-01T00:00:00 local time. Array methods process range of source array and store results on the same indices
+ * of result array, that can be the same as source array. They are plain counted loops over primitive arrays, so that
+ * JIT can unroll them and vectorize arithmetic where platform supports it
+ */
+public final class XsTimeBuckets {
+
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_PER_WEEK = 7;
+    /**
+     * Epoch day 0 (1970-01-01) is Thursday; shift to make ISO week starting on Monday start on multiple of 7
+     */
+    private static final int EPOCH_DAY_TO_MONDAY = 3;
+    private static final int EPOCH_YEAR = 1970;
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsTimeBuckets() {}
+
+    /**
+     * @return length of unit in seconds or 0 for units of variable length (months and years)
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    private static long unitSeconds(ChronoUnit unit) {
+        switch (unit) {
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+            case HALF_DAYS:
+            case DAYS:
+                return unit.getDuration().getSeconds();
+            case WEEKS:
+            case MONTHS:
+            case YEARS:
+                return 0;
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported bucket unit " + unit);
+        }
+    }
+
+    private static void checkBucketSeconds(long bucketSeconds) {
+        if (bucketSeconds <= 0) {
+            throw new IllegalArgumentException("Bucket length must be positive, not " + bucketSeconds);
+        }
+    }
+
+    /**
+     * Month bucket of given epoch day
+     */
+    private static long epochMonth(long epochDay) {
+        long civilDate = XsTemporalHolder.civilDate(epochDay);
+        return ((civilDate >> 9) - EPOCH_YEAR) * 12 + ((civilDate >> 5) & 0xF) - 1;
+    }
+
+    /**
+     * Bucket of variable length unit (weeks, months, years) containing given local epoch second
+     */
+    private static long variableBucket(long localEpochSecond, ChronoUnit unit) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        switch (unit) {
+            case WEEKS:
+                return Math.floorDiv(epochDay + EPOCH_DAY_TO_MONDAY, DAYS_PER_WEEK);
+            case MONTHS:
+                return epochMonth(epochDay);
+            default:
+                return (XsTemporalHolder.civilDate(epochDay) >> 9) - EPOCH_YEAR;
+        }
+    }
+
+    /**
+     * Local epoch second of beginning of bucket of variable length unit
+     */
+    private static long variableBucketStart(long bucket, ChronoUnit unit) {
+        switch (unit) {
+            case WEEKS:
+                return (bucket * DAYS_PER_WEEK - EPOCH_DAY_TO_MONDAY) * SECONDS_PER_DAY;
+            case MONTHS:
+                return XsTemporalHolder.epochDay(Math.toIntExact(Math.floorDiv(bucket, 12) + EPOCH_YEAR),
+                        Math.floorMod(bucket, 12) + 1, 1) * SECONDS_PER_DAY;
+            default:
+                return XsTemporalHolder.epochDay(Math.toIntExact(bucket + EPOCH_YEAR), 1, 1) * SECONDS_PER_DAY;
+        }
+    }
+
+    /**
+     * Local epoch second of beginning of bucket of variable length unit containing given local epoch second; for
+     * weeks and months evaluated directly from day of week / day of month instead of going through bucket number
+     */
+    private static long variableTruncate(long localEpochSecond, ChronoUnit unit) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        switch (unit) {
+            case WEEKS:
+                return (epochDay - Math.floorMod(epochDay + EPOCH_DAY_TO_MONDAY, DAYS_PER_WEEK)) * SECONDS_PER_DAY;
+            case MONTHS:
+                return (epochDay - (XsTemporalHolder.civilDate(epochDay) & 0x1F) + 1) * SECONDS_PER_DAY;
+            default:
+                return variableBucketStart(variableBucket(localEpochSecond, unit), unit);
+        }
+    }
+
+    /**
+     * Shift epoch second of value without timezone to default offset. Epoch second of value without timezone is
+     * evaluated as if value was in UTC; this method gives epoch second of the same local date and time in default
+     * offset, interpreting missing timezone the same way as {@link XsDateTimeFormatter#parseLenientTZ(String, String)}.
+     * Epoch second of value with timezone is returned unchanged
+     *
+     * @param epochSecond is epoch second of value
+     * @param offsetSeconds is offset of value or {@link XsTimezoneFormatter#NO_OFFSET}
+     * @param defaultOffset is offset in seconds used for value without timezone
+     * @return epoch second of instant represented by value
+     */
+    public static long withDefaultOffset(long epochSecond, int offsetSeconds, int defaultOffset) {
+        return (offsetSeconds == XsTimezoneFormatter.NO_OFFSET) ? epochSecond - defaultOffset : epochSecond;
+    }
+
+    /**
+     * Shift epoch seconds of values without timezone in given range to default offset and set their offset to
+     * default offset, in place; see {@link #withDefaultOffset(long, int, int)}
+     *
+     * @param epochSeconds are epoch seconds of values
+     * @param offsetSeconds are offsets of values, {@link XsTimezoneFormatter#NO_OFFSET} for values without timezone
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param defaultOffset is offset in seconds used for values without timezone
+     */
+    public static void withDefaultOffset(long[] epochSeconds, int[] offsetSeconds, int from, int to,
+                                         int defaultOffset) {
+        for (int i = from; i < to; i++) {
+            boolean noOffset = offsetSeconds[i] == XsTimezoneFormatter.NO_OFFSET;
+            epochSeconds[i] -= noOffset ? defaultOffset : 0;
+            offsetSeconds[i] = noOffset ? defaultOffset : offsetSeconds[i];
+        }
+    }
+
+    /**
+     * Evaluate offsets of zone in given instants. Offset is only looked up in zone rules when instant falls outside
+     * of period between transitions found for previous value, thus sorted or clustered values are resolved with
+     * single lookup per transition
+     *
+     * @param epochSeconds are epoch seconds of instants
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param rules are zone rules offsets are evaluated from
+     * @param result is array offsets in seconds are stored to, on the same indices as corresponding instants
+     */
+    public static void offsets(long[] epochSeconds, int from, int to, ZoneRules rules, int[] result) {
+        long validFrom = Long.MAX_VALUE;
+        long validTo = Long.MIN_VALUE;
+        int offset = 0;
+        for (int i = from; i < to; i++) {
+            long epochSecond = epochSeconds[i];
+            if ((epochSecond < validFrom) || (epochSecond >= validTo)) {
+                Instant instant = Instant.ofEpochSecond(epochSecond);
+                ZoneOffset zoneOffset = rules.getOffset(instant);
+                offset = zoneOffset.getTotalSeconds();
+                ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+                ZoneOffsetTransition next = rules.nextTransition(instant);
+                validFrom = (previous == null) ? Long.MIN_VALUE : previous.toEpochSecond();
+                validTo = (next == null) ? Long.MAX_VALUE : next.toEpochSecond();
+            }
+            result[i] = offset;
+        }
+    }
+
+    /**
+     * Evaluate bucket containing given instant
+     *
+     * @param epochSecond is epoch second of instant
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param unit is bucket unit
+     * @return number of bucket
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    public static long bucket(long epochSecond, int offsetSeconds, ChronoUnit unit) {
+        long unitSeconds = unitSeconds(unit);
+        return (unitSeconds == 0) ? variableBucket(epochSecond + offsetSeconds, unit)
+                : Math.floorDiv(epochSecond + offsetSeconds, unitSeconds);
+    }
+
+    /**
+     * Evaluate epoch second of beginning of bucket; inverse of {@link #bucket(long, int, ChronoUnit)}
+     *
+     * @param bucket is number of bucket
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param unit is bucket unit
+     * @return epoch second of beginning of bucket
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    public static long bucketStart(long bucket, int offsetSeconds, ChronoUnit unit) {
+        long unitSeconds = unitSeconds(unit);
+        return ((unitSeconds == 0) ? variableBucketStart(bucket, unit) : bucket * unitSeconds) - offsetSeconds;
+    }
+
+    /**
+     * Truncate instant to beginning of bucket containing it, as {@code OffsetDateTime.truncatedTo} would do with
+     * value shifted to given offset (for weeks, months and years, truncation is to first day of period)
+     *
+     * @param epochSecond is epoch second of instant
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param unit is bucket unit
+     * @return epoch second of beginning of bucket
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    public static long truncate(long epochSecond, int offsetSeconds, ChronoUnit unit) {
+        long unitSeconds = unitSeconds(unit);
+        return (unitSeconds == 0) ? variableTruncate(epochSecond + offsetSeconds, unit) - offsetSeconds
+                : epochSecond - Math.floorMod(epochSecond + offsetSeconds, unitSeconds);
+    }
+
+    /**
+     * Evaluate bucket of given length containing given instant; buckets are aligned to 1970-01-01T00:00:00 in given
+     * offset
+     *
+     * @param epochSecond is epoch second of instant
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param bucketSeconds is length of bucket in seconds
+     * @return number of bucket
+     */
+    public static long bucket(long epochSecond, int offsetSeconds, long bucketSeconds) {
+        checkBucketSeconds(bucketSeconds);
+        return Math.floorDiv(epochSecond + offsetSeconds, bucketSeconds);
+    }
+
+    /**
+     * Truncate instant to beginning of bucket of given length containing it; buckets are aligned to
+     * 1970-01-01T00:00:00 in given offset
+     *
+     * @param epochSecond is epoch second of instant
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param bucketSeconds is length of bucket in seconds
+     * @return epoch second of beginning of bucket
+     */
+    public static long truncate(long epochSecond, int offsetSeconds, long bucketSeconds) {
+        checkBucketSeconds(bucketSeconds);
+        return epochSecond - Math.floorMod(epochSecond + offsetSeconds, bucketSeconds);
+    }
+
+    /**
+     * Evaluate buckets of bucket length containing instants in given range
+     */
+    private static void fixedBuckets(long[] epochSeconds, int from, int to, int offsetSeconds, long bucketSeconds,
+                                     long[] result) {
+        for (int i = from; i < to; i++) {
+            result[i] = Math.floorDiv(epochSeconds[i] + offsetSeconds, bucketSeconds);
+        }
+    }
+
+    /**
+     * Evaluate buckets containing instants in given range
+     *
+     * @param epochSeconds are epoch seconds of instants
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param unit is bucket unit
+     * @param result is array buckets are stored to, on the same indices as corresponding instants
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    public static void bucket(long[] epochSeconds, int from, int to, int offsetSeconds, ChronoUnit unit,
+                              long[] result) {
+        long unitSeconds = unitSeconds(unit);
+        if (unitSeconds != 0) {
+            fixedBuckets(epochSeconds, from, to, offsetSeconds, unitSeconds, result);
+        } else {
+            for (int i = from; i < to; i++) {
+                result[i] = variableBucket(epochSeconds[i] + offsetSeconds, unit);
+            }
+        }
+    }
+
+    /**
+     * Evaluate buckets containing instants in given range, each in its own offset; offsets can be taken from parsed
+     * values (bucketing them in their original local time, values without timezone in their local time) or
+     * evaluated for target zone using {@link #offsets(long[], int, int, ZoneRules, int[])}
+     *
+     * @param epochSeconds are epoch seconds of instants
+     * @param offsetSeconds are offsets in which buckets of corresponding instants are evaluated;
+     *                      {@link XsTimezoneFormatter#NO_OFFSET} is handled as 0
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param unit is bucket unit
+     * @param result is array buckets are stored to, on the same indices as corresponding instants
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    public static void bucket(long[] epochSeconds, int[] offsetSeconds, int from, int to, ChronoUnit unit,
+                              long[] result) {
+        long unitSeconds = unitSeconds(unit);
+        for (int i = from; i < to; i++) {
+            long local = epochSeconds[i]
+                    + ((offsetSeconds[i] == XsTimezoneFormatter.NO_OFFSET) ? 0 : offsetSeconds[i]);
+            result[i] = (unitSeconds == 0) ? variableBucket(local, unit) : Math.floorDiv(local, unitSeconds);
+        }
+    }
+
+    /**
+     * Evaluate buckets of given length containing instants in given range; buckets are aligned to
+     * 1970-01-01T00:00:00 in given offset
+     *
+     * @param epochSeconds are epoch seconds of instants
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param bucketSeconds is length of bucket in seconds
+     * @param result is array buckets are stored to, on the same indices as corresponding instants
+     */
+    public static void bucket(long[] epochSeconds, int from, int to, int offsetSeconds, long bucketSeconds,
+                              long[] result) {
+        checkBucketSeconds(bucketSeconds);
+        fixedBuckets(epochSeconds, from, to, offsetSeconds, bucketSeconds, result);
+    }
+
+    /**
+     * Truncate instants in given range to beginning of buckets containing them
+     *
+     * @param epochSeconds are epoch seconds of instants
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param unit is bucket unit
+     * @param result is array epoch seconds of beginnings of buckets are stored to, on the same indices as
+     *               corresponding instants
+     * @throws UnsupportedTemporalTypeException if unit is not supported
+     */
+    public static void truncate(long[] epochSeconds, int from, int to, int offsetSeconds, ChronoUnit unit,
+                                long[] result) {
+        long unitSeconds = unitSeconds(unit);
+        if (unitSeconds != 0) {
+            truncate(epochSeconds, from, to, offsetSeconds, unitSeconds, result);
+        } else {
+            for (int i = from; i < to; i++) {
+                result[i] = variableTruncate(epochSeconds[i] + offsetSeconds, unit) - offsetSeconds;
+            }
+        }
+    }
+
+    /**
+     * Truncate instants in given range to beginning of buckets of given length containing them; buckets are aligned
+     * to 1970-01-01T00:00:00 in given offset
+     *
+     * @param epochSeconds are epoch seconds of instants
+     * @param from is index of first value to be processed
+     * @param to is index after last value to be processed
+     * @param offsetSeconds is offset in which buckets are evaluated
+     * @param bucketSeconds is length of bucket in seconds
+     * @param result is array epoch seconds of beginnings of buckets are stored to, on the same indices as
+     *               corresponding instants
+     */
+    public static void truncate(long[] epochSeconds, int from, int to, int offsetSeconds, long bucketSeconds,
+                                long[] result) {
+        checkBucketSeconds(bucketSeconds);
+        for (int i = from; i < to; i++) {
+            result[i] = epochSeconds[i] - Math.floorMod(epochSeconds[i] + offsetSeconds, bucketSeconds);
+        }
+    }
+}
@@ -2,11 +2,11 @@ package com.provys.common.xsd;
 
 import javax.annotation.Nonnull;
 import java.time.LocalTime;
-import java.time.OffsetTime;
 import java.time.ZoneOffset;
 import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 import java.time.format.SignStyle;
 import java.util.Locale;
@@ -15,16 +15,27 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import static com.provys.common.xsd.XsParseSupport.*;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
 import static java.time.temporal.ChronoField.*;
 import static java.time.temporal.ChronoField.NANO_OF_SECOND;
 
 /**
- * Class supports parsing and formatting of time information compliant with XSD 1.1 xs:time datatype
+ * Class supports parsing and formatting of time information compliant with XSD 1.1 xs:time datatype.
+ * <p>
+ * Parse methods use hand-written parser that accepts exactly values matched by corresponding pattern; its fast path
+ * is tuned for fractions with up to nine digits, digits beyond nanosecond precision are validated and truncated.
+ * <p>
+ * {@link #STRICT} and {@link #LENIENT} {@code DateTimeFormatter} constants are kept for compatibility and do not
+ * fully agree with patterns - they reject fractions with more than nine digits and time 24:00:00, and
+ * {@link #STRICT} accepts single digit hour
  */
 public class XsTimeFormatter {
 
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_DAY = 86400 * NANOS_PER_SECOND;
+
     /**
      * Class only contains static methods and properties
      */
@@ -74,6 +85,96 @@ public class XsTimeFormatter {
             .withResolverStyle(ResolverStyle.STRICT)
             .withChronology(IsoChronology.INSTANCE);
 
+    /**
+     * Parse time part of value (without timezone), starting on given position, to time fields of holder. Time
+     * 24:00:00 is normalized to 00:00:00 with end of day flag set
+     *
+     * @return index after the last character of time part
+     * @throws DateTimeParseException if there is no valid time on given position
+     */
+    static int parseTimePart(CharSequence text, int start, int end, boolean lenient, XsTemporalHolder holder) {
+        int pos = start;
+        int hour;
+        if (lenient && (digit(text, pos + 1, end) < 0)) {
+            hour = digit(text, pos, end);
+            if (hour < 0) {
+                throw error("Hour expected", text, pos);
+            }
+            pos++;
+        } else {
+            hour = twoDigits(text, pos, end);
+            pos += 2;
+        }
+        literal(text, pos, end, ':');
+        int minute = twoDigits(text, pos + 1, end);
+        pos += 3;
+        if (!lenient || ((pos < end) && (text.charAt(pos) == ':'))) {
+            literal(text, pos, end, ':');
+            int second = twoDigits(text, pos + 1, end);
+            return timeTail(text, start, pos + 3, end, hour, minute, second, true, holder);
+        }
+        return timeTail(text, start, pos, end, hour, minute, 0, false, holder);
+    }
+
+    /**
+     * Finish parsing of time part once hour, minute and second have been read - parse optional fraction, validate
+     * ranges and store time fields to holder. Also used by bulk parsers that read fixed part of value in advance
+     *
+     * @param start is start of time part, used for error reporting
+     * @param pos is position after seconds (or minutes if seconds are not present)
+     * @param fraction indicates if fraction may follow on given position
+     * @return index after the last character of time part
+     * @throws DateTimeParseException if fraction is not valid or time is out of range
+     */
+    static int timeTail(CharSequence text, int start, int pos, int end, int hour, int minute, int second,
+                        boolean fraction, XsTemporalHolder holder) {
+        int nano = 0;
+        boolean fractionZero = true;
+        if (fraction && (pos < end) && (text.charAt(pos) == '.')) {
+            int fractionStart = ++pos;
+            int scale = 100_000_000;
+            int digit;
+            while ((digit = digit(text, pos, end)) >= 0) {
+                // scale drops to zero after nanosecond precision is reached, excess digits are truncated
+                nano += digit * scale;
+                scale /= 10;
+                fractionZero &= (digit == 0);
+                pos++;
+            }
+            if (pos == fractionStart) {
+                throw error("Fraction digit expected", text, pos);
+            }
+        }
+        if (hour == 24) {
+            if ((minute != 0) || (second != 0) || !fractionZero) {
+                throw error("Only 24:00:00 is permitted with hour 24", text, start);
+            }
+            hour = 0;
+            holder.endOfDay = true;
+        } else {
+            if ((hour > 23) || (minute > 59) || (second > 59)) {
+                throw error("Invalid time", text, start);
+            }
+            holder.endOfDay = false;
+        }
+        holder.hour = hour;
+        holder.minute = minute;
+        holder.second = second;
+        holder.nano = nano;
+        return pos;
+    }
+
+    /**
+     * Parse xs:time value, occupying given range of text, to supplied holder
+     *
+     * @throws DateTimeParseException if value is not valid time
+     */
+    static void parse(CharSequence text, int start, int end, boolean lenient, XsTemporalHolder holder) {
+        holder.clear();
+        int pos = parseTimePart(text, start, end, lenient, holder);
+        holder.offsetSeconds = timezone(text, pos, end, lenient);
+    }
+
     /**
      * Convert supplied xs:time string to {@code LocalTime} using strict validation
      *
@@ -82,13 +183,26 @@ public class XsTimeFormatter {
      */
     @Nonnull
     public static LocalTime parse(String xsTime) {
-        return LocalTime.from(STRICT.parse(Objects.requireNonNull(xsTime)));
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsTime), 0, xsTime.length(), false, holder);
+        return holder.toLocalTime();
+    }
+
+    /**
+     * Parse xs:time value to supplied holder using strict validation, without allocation
+     *
+     * @param xsTime is value strictly compliant with xs:time format
+     * @param holder is holder that receives time fields and timezone; date fields are reset
+     * @throws DateTimeParseException if value is not valid
+     */
+    public static void parse(CharSequence xsTime, XsTemporalHolder holder) {
+        parse(xsTime, 0, xsTime.length(), false, holder);
     }
 
     /**
      * String defining time part of format, accepted by LENIENT formatter
      */
-    static final String LENIENT_TIME_REGEX = "(([01]?[0-9]|2[0-3]):[0-5][0-9](:[0-5][0-9](\\.[0-9]+)?)?|(24:00(:00(\\.0+)?))?)";
+    static final String LENIENT_TIME_REGEX = "(([01]?[0-9]|2[0-3]):[0-5][0-9](:[0-5][0-9](\\.[0-9]+)?)?|(24:00(:00(\\.0+)?)?))";
 
     /**
      * Fromatter for lenient parsing of time part
@@ -138,7 +252,20 @@ public class XsTimeFormatter {
      */
     @Nonnull
     public static LocalTime parseLenient(String xsTime) {
-        return LocalTime.from(LENIENT.parse(Objects.requireNonNull(xsTime)));
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsTime), 0, xsTime.length(), true, holder);
+        return holder.toLocalTime();
+    }
+
+    /**
+     * Parse xs:time value to supplied holder using lenient validation, without allocation
+     *
+     * @param xsTime is value roughly compliant with xs:time format
+     * @param holder is holder that receives time fields and timezone; date fields are reset
+     * @throws DateTimeParseException if value is not valid
+     */
+    public static void parseLenient(CharSequence xsTime, XsTemporalHolder holder) {
+        parse(xsTime, 0, xsTime.length(), true, holder);
     }
 
     private static final Map<String, DateTimeFormatter> LENIENT_TZ_MAP = new ConcurrentHashMap<>(1);
@@ -165,12 +292,19 @@ public class XsTimeFormatter {
      * default timezone
      *
      * @param xsTime is string value roughly compliant with xs:time format. Timezone is completely ignored
+     * @param defOffset is default offset, in any format accepted by {@link ZoneOffset#of(String)}
      * @return time corresponding to supplied value
      */
     @Nonnull
     public static LocalTime parseLenientTZ(String xsTime, String defOffset) {
-        return OffsetTime.from(getLenientTZ(defOffset).parse(Objects.requireNonNull(xsTime)))
-                .withOffsetSameInstant(ZoneOffset.of(defOffset))
-                .toLocalTime();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        parse(Objects.requireNonNull(xsTime), 0, xsTime.length(), true, holder);
+        int defOffsetSeconds = ZoneOffset.of(defOffset).getTotalSeconds();
+        long nanoOfDay = holder.nanoOfDay();
+        if (holder.offsetSeconds != XsTimezoneFormatter.NO_OFFSET) {
+            nanoOfDay = Math.floorMod(nanoOfDay + (defOffsetSeconds - holder.offsetSeconds) * NANOS_PER_SECOND,
+                    NANOS_PER_DAY);
+        }
+        return LocalTime.ofNanoOfDay(nanoOfDay);
     }
 }
@@ -1,12 +1,16 @@
 package com.provys.common.xsd;
 
 import javax.annotation.Nonnull;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static com.provys.common.xsd.XsParseSupport.*;
+
 /**
  * Support class for xsd dateTime / date / time validation. Contains common code for handling timezone part of dateTime
  * information compliant with W3C XSD 1.1
@@ -74,4 +78,196 @@ class XsTimezoneFormatter {
                 .appendOffset("+H:mm", defaultOffset)
                 .toFormatter());
     }
+
+    /**
+     * Value used by primitive parse paths in place of offset in seconds to mark value without timezone
+     */
+    static final int NO_OFFSET = Integer.MIN_VALUE;
+
+    /**
+     * Number of quarter-hours in maximal offset permitted by XML Schema (14:00)
+     */
+    private static final int MAX_QUARTER_HOURS = 14 * 4;
+
+    /**
+     * Number of seconds in quarter-hour
+     */
+    private static final int SECONDS_PER_QUARTER_HOUR = 15 * 60;
+
+    /**
+     * Interned offsets for all quarter-hour aligned values between -14:00 and +14:00, indexed by number of
+     * quarter-hours increased by {@link #MAX_QUARTER_HOURS}. Used both for parsing and formatting, thus offset
+     * handling is table lookup without any map access or allocation
+     */
+    private static final ZoneOffset[] OFFSETS = new ZoneOffset[2 * MAX_QUARTER_HOURS + 1];
+    static {
+        for (int i = 0; i < OFFSETS.length; i++) {
+            OFFSETS[i] = ZoneOffset.ofTotalSeconds((i - MAX_QUARTER_HOURS) * SECONDS_PER_QUARTER_HOUR);
+        }
+    }
+
+    /**
+     * Return interned offset for given number of quarter-hours
+     *
+     * @param quarterHours is offset in quarter-hours, must be between -56 and +56 (-14:00 and +14:00)
+     * @return interned offset
+     */
+    @Nonnull
+    static ZoneOffset ofQuarterHours(int quarterHours) {
+        if ((quarterHours < -MAX_QUARTER_HOURS) || (quarterHours > MAX_QUARTER_HOURS)) {
+            throw new IllegalArgumentException("Timezone offset out of range: " + quarterHours + " quarter-hours");
+        }
+        return OFFSETS[quarterHours + MAX_QUARTER_HOURS];
+    }
+
+    /**
+     * Return offset for given number of seconds. Quarter-hour aligned offsets within XML Schema range are served from
+     * interned table, other values (only acceptable by lenient parser) are delegated to {@code ZoneOffset}
+     *
+     * @param totalSeconds is offset in seconds
+     * @return offset corresponding to given number of seconds
+     */
+    @Nonnull
+    static ZoneOffset ofTotalSeconds(int totalSeconds) {
+        int quarterHours = totalSeconds / SECONDS_PER_QUARTER_HOUR;
+        if ((quarterHours * SECONDS_PER_QUARTER_HOUR == totalSeconds) && (quarterHours >= -MAX_QUARTER_HOURS)
+                && (quarterHours <= MAX_QUARTER_HOURS)) {
+            return OFFSETS[quarterHours + MAX_QUARTER_HOURS];
+        }
+        return ZoneOffset.ofTotalSeconds(totalSeconds);
+    }
+
+    /**
+     * Return canonical representation of offset with given number of seconds ({@code Z} for zero offset)
+     */
+    @Nonnull
+    static String format(int totalSeconds) {
+        return ofTotalSeconds(totalSeconds).getId();
+    }
+
+    /**
+     * Append canonical representation of offset with given number of seconds to supplied builder
+     */
+    static void formatTo(int totalSeconds, StringBuilder builder) {
+        builder.append(ofTotalSeconds(totalSeconds).getId());
+    }
+
+    /**
+     * Read sign of offset on given position
+     *
+     * @return 1 for {@code '+'} and -1 for {@code '-'}
+     */
+    private static int sign(CharSequence text, int pos, int end) {
+        if (pos < end) {
+            char sign = text.charAt(pos);
+            if (sign == '+') {
+                return 1;
+            }
+            if (sign == '-') {
+                return -1;
+            }
+        }
+        throw error("Timezone sign expected", text, pos);
+    }
+
+    /**
+     * Parse timezone suffix, occupying given range of text, using strict validation (as defined by
+     * {@link #STRICT_REGEX})
+     *
+     * @param text is text containing timezone suffix
+     * @param start is index of the first character of timezone
+     * @param end is index after the last character of timezone
+     * @return offset in seconds
+     * @throws DateTimeParseException if specified range of text is not valid strict timezone
+     */
+    static int parseStrictSeconds(CharSequence text, int start, int end) {
+        if ((end - start == 1) && (text.charAt(start) == 'Z')) {
+            return 0;
+        }
+        if (end - start != 6) {
+            throw error("Invalid timezone", text, start);
+        }
+        int sign = sign(text, start, end);
+        int hours = twoDigits(text, start + 1, end);
+        literal(text, start + 3, end, ':');
+        int minutes = twoDigits(text, start + 4, end);
+        if ((minutes > 59) || (hours > 14) || ((hours == 14) && (minutes > 0))) {
+            throw error("Timezone offset out of range", text, start + 1);
+        }
+        return sign * (hours * 3600 + minutes * 60);
+    }
+
+    /**
+     * Parse timezone suffix, occupying given range of text, using lenient validation (as defined by
+     * {@link #LENIENT_REGEX})
+     *
+     * @param text is text containing timezone suffix
+     * @param start is index of the first character of timezone
+     * @param end is index after the last character of timezone
+     * @return offset in seconds
+     * @throws DateTimeParseException if specified range of text is not valid lenient timezone
+     */
+    static int parseLenientSeconds(CharSequence text, int start, int end) {
+        if (end - start == 1) {
+            char zone = text.charAt(start);
+            if ((zone == 'Z') || (zone == 'z')) {
+                return 0;
+            }
+        }
+        int sign = sign(text, start, end);
+        int pos = start + 1;
+        int hours = digit(text, pos++, end);
+        if (hours < 0) {
+            throw error("Timezone hours expected", text, pos - 1);
+        }
+        int digit = digit(text, pos, end);
+        if (digit >= 0) {
+            hours = hours * 10 + digit;
+            pos++;
+        }
+        int minutes = 0;
+        int seconds = 0;
+        if (pos < end) {
+            if (text.charAt(pos) == ':') {
+                minutes = twoDigits(text, pos + 1, end);
+                pos += 3;
+                if ((pos < end) && (hours != 14)) {
+                    literal(text, pos, end, ':');
+                    seconds = twoDigits(text, pos + 1, end);
+                    pos += 3;
+                }
+            } else if ((hours == 14) && (twoDigits(text, pos, end) == 0)) {
+                pos += 2;
+            }
+        }
+        if (pos != end) {
+            throw error("Invalid timezone", text, pos);
+        }
+        if ((minutes > 59) || (seconds > 59) || (hours > 14) || ((hours == 14) && ((minutes > 0) || (seconds > 0)))) {
+            throw error("Timezone offset out of range", text, start + 1);
+        }
+        return sign * (hours * 3600 + minutes * 60 + seconds);
+    }
+
+    /**
+     * Parse supplied timezone using strict validation
+     *
+     * @param xsTimezone is string value strictly compliant with timezone part of xsd date / time types
+     * @return interned offset corresponding to supplied value
+     */
+    @Nonnull
+    static ZoneOffset parseStrict(CharSequence xsTimezone) {
+        return ofTotalSeconds(parseStrictSeconds(xsTimezone, 0, xsTimezone.length()));
+    }
+
+    /**
+     * Parse supplied timezone using lenient validation
+     *
+     * @param xsTimezone is string value roughly compliant with timezone part of xsd date / time types
+     * @return offset corresponding to supplied value; interned if quarter-hour aligned
+     */
+    @Nonnull
+    static ZoneOffset parseLenient(CharSequence xsTimezone) {
+        return ofTotalSeconds(parseLenientSeconds(xsTimezone, 0, xsTimezone.length()));
+    }
 }
@@ -0,0 +1,25 @@
+package com.provys.common.xsd;
+
+import javax.annotation.Nullable;
+
+/**
+ * Selects layout kernel used by bulk parse methods. Java 17 variant, selecting vectorized kernel when
+ * {@code jdk.incubator.vector} module has been added to boot layer (e.g. using
+ * {@code --add-modules jdk.incubator.vector}) and platform supports 256 bit vectors
+ */
+final class XsLayoutKernels {
+
+    /**
+     * Class only contains static methods and properties
+     */
+    private XsLayoutKernels() {}
+
+    /**
+     * Kernel to be used by bulk parse methods. Null if vectorized kernel is not available; bulk parse methods then
+     * parse values one by one, as validating fixed part of values in separate scalar pass is slower than direct
+     * parsing
+     */
+    @Nullable
+    static final XsLayoutKernel KERNEL = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && XsVectorLayoutKernel.isSupported() ? new XsVectorLayoutKernel() : null;
+}
@@ -0,0 +1,128 @@
+package com.provys.common.xsd;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.UNSIGNED_GT;
+
+/**
+ * Layout kernel using Vector API. Fixed part of each value is loaded to single 256 bit vector, its digits and
+ * separators are checked at once using single subtraction and unsigned comparison and two digit groups are converted
+ * using single multiply-add with the same data loaded with offset of one byte, avoiding lane shuffles
+ */
+final class XsVectorLayoutKernel implements XsLayoutKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_256;
+
+    /**
+     * Vector kernel is only used if platform supports 256 bit vectors; otherwise Vector API would fall back to slow
+     * emulation
+     */
+    static boolean isSupported() {
+        return ByteVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+    }
+
+    /**
+     * Per lane constants for given length of fixed part. Value is valid if, after subtracting base from each lane,
+     * no lane exceeds its bound (compared as unsigned): digit lanes have base '0' and bound 9, separator lanes have
+     * separator as base and bound 0 and lanes outside of fixed part have bound 255. Date / time delimiter is
+     * excluded when parsing leniently and checked separately
+     */
+    private static final class Layout {
+
+        final ByteVector base;
+        final ByteVector bound;
+        final ByteVector lenientBound;
+
+        Layout(int length) {
+            byte[] baseLanes = new byte[SPECIES.length()];
+            byte[] boundLanes = new byte[SPECIES.length()];
+            for (int lane = 0; lane < SPECIES.length(); lane++) {
+                if (lane < length) {
+                    char layout = DATE_TIME_LAYOUT.charAt(lane);
+                    baseLanes[lane] = (layout == 'd') ? (byte) '0' : (byte) layout;
+                    boundLanes[lane] = (layout == 'd') ? (byte) 9 : 0;
+                } else {
+                    boundLanes[lane] = (byte) 0xFF;
+                }
+            }
+            base = ByteVector.fromArray(SPECIES, baseLanes, 0);
+            bound = ByteVector.fromArray(SPECIES, boundLanes, 0);
+            if (length > DELIMITER_POSITION) {
+                boundLanes[DELIMITER_POSITION] = (byte) 0xFF;
+            }
+            lenientBound = ByteVector.fromArray(SPECIES, boundLanes, 0);
+        }
+    }
+
+    private static final Layout DATE = new Layout(DATE_LENGTH);
+    private static final Layout DATE_TIME = new Layout(DATE_TIME_LENGTH);
+
+    /**
+     * Validate and convert single value without vector operations; used for values near the end of data, where
+     * vector load would reach beyond array
+     *
+     * @return true if value matches layout
+     */
+    private static boolean parseRecord(byte[] data, int start, int end, int length, boolean lenient, byte[] fields,
+                                       int fieldBase) {
+        if (end - start < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            byte value = data[start + i];
+            char expected = DATE_TIME_LAYOUT.charAt(i);
+            if (expected == 'd') {
+                if ((value < '0') || (value > '9')) {
+                    return false;
+                }
+            } else if ((value != expected)
+                    && (!lenient || (i != DELIMITER_POSITION) || ((value != 't') && (value != ' ')))) {
+                return false;
+            }
+        }
+        for (int position : FIELD_POSITIONS) {
+            if (position < length) {
+                fields[fieldBase + position] =
+                        (byte) ((data[start + position] - '0') * 10 + data[start + position + 1] - '0');
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long parseBlock(byte[] data, int[] starts, int[] ends, int first, int count, int length, boolean lenient,
+                           byte[] fields) {
+        Layout layout = (length == DATE_LENGTH) ? DATE : DATE_TIME;
+        // vectors are loaded from start and start + 1, both must fit to data
+        int vectorLimit = data.length - SPECIES.length() - 1;
+        long valid = 0;
+        for (int record = 0; record < count; record++) {
+            int start = starts[first + record];
+            int fieldBase = record * RECORD_STRIDE;
+            if (start > vectorLimit) {
+                if (parseRecord(data, start, ends[first + record], length, lenient, fields, fieldBase)) {
+                    valid |= 1L << record;
+                }
+                continue;
+            }
+            if (ends[first + record] - start < length) {
+                continue;
+            }
+            if (lenient && (length > DELIMITER_POSITION)) {
+                byte delimiter = data[start + DELIMITER_POSITION];
+                if ((delimiter != 'T') && (delimiter != 't') && (delimiter != ' ')) {
+                    continue;
+                }
+            }
+            ByteVector value = ByteVector.fromArray(SPECIES, data, start).sub(layout.base);
+            if (!value.compare(UNSIGNED_GT, lenient ? layout.lenientBound : layout.bound).anyTrue()) {
+                value.mul((byte) 10)
+                        .add(ByteVector.fromArray(SPECIES, data, start + 1).sub(layout.base))
+                        .intoArray(fields, fieldBase);
+                valid |= 1L << record;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,132 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsAdapterTest {
+
+    @Test
+    void localDateAdapterTest() {
+        XsLocalDateAdapter adapter = new XsLocalDateAdapter();
+        assertThat(adapter.unmarshal(" 2018-03-14+01:00 ")).isEqualTo(LocalDate.of(2018, 3, 14));
+        assertThat(adapter.unmarshal(null)).isNull();
+        assertThatThrownBy(() -> adapter.unmarshal("2018-03-14+1")).isInstanceOf(DateTimeParseException.class);
+        assertThat(new XsLocalDateAdapter.Lenient().unmarshal("2018-03-14+1")).isEqualTo(LocalDate.of(2018, 3, 14));
+        assertThat(adapter.marshal(LocalDate.of(-50, 1, 2))).isEqualTo("-0050-01-02");
+        assertThat(adapter.marshal(null)).isNull();
+    }
+
+    @Test
+    void localTimeAdapterTest() {
+        XsLocalTimeAdapter adapter = new XsLocalTimeAdapter();
+        assertThat(adapter.unmarshal("23:30:00.125Z")).isEqualTo(LocalTime.of(23, 30, 0, 125_000_000));
+        assertThat(adapter.marshal(LocalTime.of(8, 5, 1, 500_000_000))).isEqualTo("08:05:01.5");
+        XsLocalTimeAdapter lenientTZ = new XsLocalTimeAdapter.LenientTZ("+01");
+        assertThat(lenientTZ.unmarshal("23:30:00Z")).isEqualTo(LocalTime.of(0, 30));
+        assertThat(lenientTZ.unmarshal("23:30:00")).isEqualTo(LocalTime.of(23, 30));
+        assertThat(lenientTZ.marshal(LocalTime.of(23, 30))).isEqualTo("23:30:00+01:00");
+        XsLocalTimeAdapter compactTZ = new XsLocalTimeAdapter.LenientTZ("+0100");
+        assertThat(compactTZ.unmarshal("12:30:00Z")).isEqualTo(XsTimeFormatter.parseLenientTZ("12:30:00Z", "+0100"));
+        assertThat(new XsLocalTimeAdapter.LenientTZ("-013000").unmarshal("12:30:00Z"))
+                .isEqualTo(LocalTime.of(11, 0));
+    }
+
+    @Test
+    void localDateTimeAdapterTest() {
+        XsLocalDateTimeAdapter adapter = new XsLocalDateTimeAdapter();
+        assertThat(adapter.unmarshal("2018-03-14T23:30:00-05:00")).isEqualTo(LocalDateTime.of(2018, 3, 14, 23, 30));
+        assertThat(adapter.unmarshal("2018-03-14T24:00:00")).isEqualTo(LocalDateTime.of(2018, 3, 15, 0, 0));
+        assertThat(adapter.marshal(LocalDateTime.of(2018, 3, 14, 23, 30, 0, 100))).
+                isEqualTo("2018-03-14T23:30:00.0000001");
+        XsLocalDateTimeAdapter lenientTZ = new XsLocalDateTimeAdapter.LenientTZ("+01:00");
+        assertThat(lenientTZ.unmarshal("2018-03-14T23:30:00Z")).isEqualTo(LocalDateTime.of(2018, 3, 15, 0, 30));
+        assertThat(lenientTZ.unmarshal("2018-03-14T23:30:00"))
+                .isEqualTo(XsDateTimeFormatter.parseLenientTZ("2018-03-14T23:30:00", "+01:00"));
+        assertThat(lenientTZ.marshal(LocalDateTime.of(2018, 3, 14, 23, 30))).isEqualTo("2018-03-14T23:30:00+01:00");
+        assertThat(new XsLocalDateTimeAdapter.LenientTZ("+01:30:00").unmarshal("2018-03-14T12:30:00Z"))
+                .isEqualTo(LocalDateTime.of(2018, 3, 14, 14, 0));
+    }
+
+    @Test
+    void offsetDateTimeAdapterTest() {
+        XsOffsetDateTimeAdapter adapter = new XsOffsetDateTimeAdapter();
+        OffsetDateTime value = OffsetDateTime.of(2018, 3, 14, 23, 30, 0, 0, ZoneOffset.ofHours(-5));
+        assertThat(adapter.unmarshal("2018-03-14T23:30:00-05:00")).isEqualTo(value);
+        assertThat(adapter.marshal(value)).isEqualTo("2018-03-14T23:30:00-05:00");
+        assertThatThrownBy(() -> adapter.unmarshal("2018-03-14T23:30:00")).isInstanceOf(DateTimeException.class);
+        assertThat(new XsOffsetDateTimeAdapter.LenientTZ("-05").unmarshal("2018-03-14T23:30:00")).isEqualTo(value);
+    }
+
+    @Test
+    void epochMilliAdapterTest() {
+        XsEpochMilliAdapter adapter = new XsEpochMilliAdapter();
+        assertThat(adapter.unmarshal("1970-01-01T00:00:01.0019+01:00")).isEqualTo(-3598_999L);
+        assertThat(adapter.unmarshal("1969-12-31T23:59:59.999")).isEqualTo(-1L);
+        assertThat(adapter.marshal(-1L)).isEqualTo("1969-12-31T23:59:59.999Z");
+        XsEpochMilliAdapter lenientTZ = new XsEpochMilliAdapter.LenientTZ("+01:00");
+        assertThat(lenientTZ.unmarshal("1970-01-01T01:00:00")).isEqualTo(0L);
+        assertThat(lenientTZ.marshal(0L)).isEqualTo("1970-01-01T01:00:00+01:00");
+        assertThat(new XsEpochMilliAdapter.LenientTZ("+0100").unmarshal("1970-01-01T01:00:00")).isEqualTo(0L);
+    }
+
+    @XmlRootElement(name = "event")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    static class Event {
+
+        @XmlElement
+        @XmlJavaTypeAdapter(XsLocalDateAdapter.class)
+        LocalDate day;
+
+        @XmlElement
+        @XmlJavaTypeAdapter(XsLocalTimeAdapter.Lenient.class)
+        LocalTime start;
+
+        @XmlElement
+        @XmlJavaTypeAdapter(XsOffsetDateTimeAdapter.class)
+        OffsetDateTime created;
+
+        @XmlElement
+        @XmlJavaTypeAdapter(XsEpochMilliAdapter.class)
+        Long modified;
+    }
+
+    @Test
+    void jaxbRoundTripTest() throws JAXBException {
+        JAXBContext context = JAXBContext.newInstance(Event.class);
+        Unmarshaller unmarshaller = context.createUnmarshaller();
+        Event event = (Event) unmarshaller.unmarshal(new StringReader("<event><day>2018-03-14</day>"
+                + "<start> 8:00:00 </start><created>2018-03-14T23:30:00.5+02:00</created>"
+                + "<modified>2018-03-14T21:30:00Z</modified></event>"));
+        assertThat(event.day).isEqualTo(LocalDate.of(2018, 3, 14));
+        assertThat(event.start).isEqualTo(LocalTime.of(8, 0));
+        assertThat(event.created).isEqualTo(OffsetDateTime.of(2018, 3, 14, 23, 30, 0, 500_000_000,
+                ZoneOffset.ofHours(2)));
+        assertThat(event.modified).isEqualTo(event.created.toInstant().toEpochMilli() - 500);
+        Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(event, writer);
+        assertThat(writer.toString()).isEqualTo("<event><day>2018-03-14</day><start>08:00:00</start>"
+                + "<created>2018-03-14T23:30:00.5+02:00</created><modified>2018-03-14T21:30:00Z</modified></event>");
+    }
+}
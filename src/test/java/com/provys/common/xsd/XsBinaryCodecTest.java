@@ -0,0 +1,323 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsBinaryCodecTest {
+
+    private static String formatDate(XsTemporalHolder holder) {
+        StringBuilder builder = new StringBuilder();
+        holder.formatDateTo(builder);
+        return builder.toString();
+    }
+
+    private static String formatTime(XsTemporalHolder holder) {
+        StringBuilder builder = new StringBuilder();
+        holder.formatTimeTo(builder);
+        return builder.toString();
+    }
+
+    private static String formatDateTime(XsTemporalHolder holder) {
+        StringBuilder builder = new StringBuilder();
+        holder.formatDateTimeTo(builder);
+        return builder.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-03-14", "2018-03-14Z", "2018-03-14+14:00", "-0044-03-15-05:30", "1970-01-01",
+            "1969-12-31-00:00:30", "123456789-12-31Z"})
+    void dateRoundTripTest(String value) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateFormatter.parseLenient(value, holder);
+        byte[] bytes = new byte[XsBinaryCodec.MAX_DATE_SIZE];
+        int end = XsBinaryCodec.writeDate(holder.epochDay(), holder.getOffsetSeconds(), bytes, 0);
+        ByteBuffer buffer = ByteBuffer.allocate(XsBinaryCodec.MAX_DATE_SIZE);
+        XsBinaryCodec.writeDate(holder.epochDay(), holder.getOffsetSeconds(), buffer);
+        assertThat(buffer.position()).isEqualTo(end);
+        assertThat(buffer.array()).isEqualTo(bytes);
+        XsTemporalHolder result = new XsTemporalHolder();
+        assertThat(XsBinaryCodec.readDate(bytes, 0, result)).isEqualTo(end);
+        assertThat(formatDate(result)).isEqualTo(formatDate(holder));
+        buffer.flip();
+        result.clear();
+        XsBinaryCodec.readDate(buffer, result);
+        assertThat(buffer.remaining()).isZero();
+        assertThat(formatDate(result)).isEqualTo(formatDate(holder));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"00:00:00", "23:59:59.999999999Z", "12:30:00.125-05:00", "08:00:00.000001+01:00",
+            "24:00:00"})
+    void timeRoundTripTest(String value) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsTimeFormatter.parse(value, holder);
+        byte[] bytes = new byte[XsBinaryCodec.MAX_TIME_SIZE];
+        int end = XsBinaryCodec.writeTime(holder.nanoOfDay(), holder.getOffsetSeconds(), bytes, 0);
+        ByteBuffer buffer = ByteBuffer.allocate(XsBinaryCodec.MAX_TIME_SIZE);
+        XsBinaryCodec.writeTime(holder.nanoOfDay(), holder.getOffsetSeconds(), buffer);
+        assertThat(buffer.array()).isEqualTo(bytes);
+        XsTemporalHolder result = new XsTemporalHolder();
+        assertThat(XsBinaryCodec.readTime(bytes, 0, result)).isEqualTo(end);
+        assertThat(formatTime(result)).isEqualTo(formatTime(holder));
+        buffer.flip();
+        XsBinaryCodec.readTime(buffer, result);
+        assertThat(buffer.position()).isEqualTo(end);
+        assertThat(formatTime(result)).isEqualTo(formatTime(holder));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-03-14T23:30:00", "2018-03-14T23:30:00Z", "2018-03-14T23:30:00.125+02:00",
+            "2018-03-14T24:00:00-14:00", "-0044-03-15T12:00:00.000000001+05:45", "1969-12-31T23:59:59.5",
+            "123456789-12-31T23:59:59.999999Z"})
+    void dateTimeRoundTripTest(String value) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeFormatter.parse(value, holder);
+        byte[] bytes = new byte[XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        int end = XsBinaryCodec.writeDateTime(holder.epochSecond(), holder.getNano(), holder.getOffsetSeconds(),
+                bytes, 0);
+        ByteBuffer buffer = ByteBuffer.allocate(XsBinaryCodec.MAX_DATE_TIME_SIZE);
+        XsBinaryCodec.writeDateTime(holder.epochSecond(), holder.getNano(), holder.getOffsetSeconds(), buffer);
+        assertThat(buffer.array()).isEqualTo(bytes);
+        XsTemporalHolder result = new XsTemporalHolder();
+        assertThat(XsBinaryCodec.readDateTime(bytes, 0, result)).isEqualTo(end);
+        assertThat(result.hasTimezone()).isEqualTo(holder.hasTimezone());
+        assertThat(formatDateTime(result)).isEqualTo(formatDateTime(holder));
+        buffer.flip();
+        XsBinaryCodec.readDateTime(buffer, result);
+        assertThat(buffer.position()).isEqualTo(end);
+        assertThat(result.epochSecond()).isEqualTo(holder.epochSecond());
+        assertThat(result.getOffsetSeconds()).isEqualTo(holder.getOffsetSeconds());
+        XsDateTimeColumn column = new XsDateTimeColumn();
+        assertThat(XsBinaryCodec.readDateTime(bytes, 0, column)).isEqualTo(end);
+        XsBinaryCodec.readDateTime(ByteBuffer.wrap(bytes), column);
+        for (int i = 0; i < 2; i++) {
+            assertThat(column.getEpochSecond(i)).isEqualTo(holder.epochSecond());
+            assertThat(column.getNano(i)).isEqualTo(holder.getNano());
+            assertThat(column.getOffsetSeconds(i)).isEqualTo(holder.getOffsetSeconds());
+        }
+    }
+
+    @Test
+    void sizeTest() {
+        byte[] bytes = new byte[XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeFormatter.parse("2018-03-14T23:30:00.125+01:00", holder);
+        assertThat(XsBinaryCodec.writeDateTime(holder.epochSecond(), holder.getNano(), holder.getOffsetSeconds(),
+                bytes, 0)).isEqualTo(8);
+        XsDateFormatter.parse("2018-03-14", holder);
+        assertThat(XsBinaryCodec.writeDate(holder.epochDay(), holder.getOffsetSeconds(), bytes, 0)).isEqualTo(4);
+    }
+
+    @Test
+    void distinguishesTimezoneTest() {
+        byte[] withoutTimezone = new byte[XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        byte[] utc = new byte[XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        int withoutEnd = XsBinaryCodec.writeDateTime(1000, 0, XsTimezoneFormatter.NO_OFFSET, withoutTimezone, 0);
+        int utcEnd = XsBinaryCodec.writeDateTime(1000, 0, 0, utc, 0);
+        XsTemporalHolder holder = new XsTemporalHolder();
+        assertThat(XsBinaryCodec.readDateTime(withoutTimezone, 0, holder)).isEqualTo(withoutEnd);
+        assertThat(holder.hasTimezone()).isFalse();
+        assertThat(XsBinaryCodec.readDateTime(utc, 0, holder)).isEqualTo(utcEnd);
+        assertThat(holder.getOffsetSeconds()).isZero();
+        assertThat(holder.epochSecond()).isEqualTo(1000);
+    }
+
+    @Test
+    void deltaTest() {
+        int count = 1000;
+        ByteBuffer buffer = ByteBuffer.allocate(count * XsBinaryCodec.MAX_DATE_TIME_SIZE);
+        byte[] bytes = new byte[count * XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        XsBinaryCodec.Delta writer = new XsBinaryCodec.Delta();
+        XsBinaryCodec.Delta bufferWriter = new XsBinaryCodec.Delta();
+        int end = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = (i < 500) ? 3600 : 7200;
+            end = writer.writeDateTime(1_521_066_600L + i, (i % 10 == 0) ? 500_000_000 : 0, offset, bytes,
+                    end);
+            bufferWriter.writeDateTime(1_521_066_600L + i, (i % 10 == 0) ? 500_000_000 : 0, offset, buffer);
+        }
+        assertThat(buffer.position()).isEqualTo(end);
+        assertThat(end).isLessThan(count * 3 / 2);
+        XsBinaryCodec.Delta reader = new XsBinaryCodec.Delta();
+        XsBinaryCodec.Delta bufferReader = new XsBinaryCodec.Delta();
+        buffer.flip();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsTemporalHolder bufferHolder = new XsTemporalHolder();
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            position = reader.readDateTime(bytes, position, holder);
+            bufferReader.readDateTime(buffer, bufferHolder);
+            assertThat(holder.epochSecond()).isEqualTo(1_521_066_600L + i);
+            assertThat(holder.getNano()).isEqualTo((i % 10 == 0) ? 500_000_000 : 0);
+            assertThat(holder.getOffsetSeconds()).isEqualTo((i < 500) ? 3600 : 7200);
+            assertThat(formatDateTime(bufferHolder)).isEqualTo(formatDateTime(holder));
+        }
+        assertThat(position).isEqualTo(end);
+        assertThat(buffer.remaining()).isZero();
+        reader.reset();
+        bufferReader.reset();
+        buffer.flip();
+        XsDateTimeColumn column = new XsDateTimeColumn();
+        XsDateTimeColumn bufferColumn = new XsDateTimeColumn();
+        position = 0;
+        for (int i = 0; i < count; i++) {
+            position = reader.readDateTime(bytes, position, column);
+            bufferReader.readDateTime(buffer, bufferColumn);
+        }
+        assertThat(position).isEqualTo(end);
+        assertThat(column.toEpochSecondArray()).isEqualTo(bufferColumn.toEpochSecondArray());
+        assertThat(column.getEpochSecond(count - 1)).isEqualTo(1_521_066_600L + count - 1);
+        assertThat(column.getNano(990)).isEqualTo(500_000_000);
+        assertThat(bufferColumn.getOffsetSeconds(499)).isEqualTo(3600);
+    }
+
+    @Test
+    void deltaDateTest() {
+        byte[] bytes = new byte[10 * XsBinaryCodec.MAX_DATE_SIZE];
+        XsBinaryCodec.Delta writer = new XsBinaryCodec.Delta();
+        int end = 0;
+        long[] epochDays = {17604, 17605, 17603, -100_000, 17700};
+        int[] offsets = {XsTimezoneFormatter.NO_OFFSET, XsTimezoneFormatter.NO_OFFSET, 0, 0, -3600};
+        for (int i = 0; i < epochDays.length; i++) {
+            end = writer.writeDate(epochDays[i], offsets[i], bytes, end);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, end);
+        XsBinaryCodec.Delta reader = new XsBinaryCodec.Delta();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int i = 0; i < epochDays.length; i++) {
+            reader.readDate(buffer, holder);
+            assertThat(holder.epochDay()).isEqualTo(epochDays[i]);
+            assertThat(holder.getOffsetSeconds()).isEqualTo(offsets[i]);
+        }
+        assertThat(buffer.remaining()).isZero();
+    }
+
+    @Test
+    void overflowRetryTest() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * XsBinaryCodec.MAX_DATE_TIME_SIZE);
+        XsBinaryCodec.Delta writer = new XsBinaryCodec.Delta();
+        writer.writeDateTime(1_500_000_000L, 0, 3600, buffer);
+        assertThatThrownBy(() -> writer.writeDateTime(1_500_000_005L, 123_000_000, 3600, ByteBuffer.allocate(1)))
+                .isInstanceOf(BufferOverflowException.class);
+        writer.writeDateTime(1_500_000_005L, 123_000_000, 3600, buffer);
+        byte[] bytes = new byte[XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        assertThatThrownBy(() -> writer.writeDateTime(1_500_000_010L, 0, 0, bytes, bytes.length - 1))
+                .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+        int end = writer.writeDateTime(1_500_000_010L, 0, 0, bytes, 0);
+        buffer.put(bytes, 0, end);
+        buffer.flip();
+        XsBinaryCodec.Delta reader = new XsBinaryCodec.Delta();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        reader.readDateTime(buffer, holder);
+        assertThat(formatDateTime(holder)).isEqualTo("2017-07-14T03:40:00+01:00");
+        reader.readDateTime(buffer, holder);
+        assertThat(formatDateTime(holder)).isEqualTo("2017-07-14T03:40:05.123+01:00");
+        reader.readDateTime(buffer, holder);
+        assertThat(formatDateTime(holder)).isEqualTo("2017-07-14T02:40:10Z");
+        assertThat(buffer.remaining()).isZero();
+        // failed write leaves buffer unchanged
+        ByteBuffer small = ByteBuffer.allocate(3);
+        small.put((byte) 1);
+        assertThatThrownBy(() -> XsBinaryCodec.writeDateTime(1_500_000_000L, 123_000_000, 3600, small))
+                .isInstanceOf(BufferOverflowException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.writeTime(45_296_123_000_000L, 3600, small))
+                .isInstanceOf(BufferOverflowException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.writeDate(0, 3600, small))
+                .isInstanceOf(BufferOverflowException.class);
+        assertThat(small.position()).isEqualTo(1);
+        XsBinaryCodec.writeDate(0, XsTimezoneFormatter.NO_OFFSET, small);
+        assertThat(small.position()).isEqualTo(small.limit());
+    }
+
+    @Test
+    void malformedTest() {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        assertThatThrownBy(() -> XsBinaryCodec.readDate(new byte[]{(byte) 0x80, 0, 0}, 0, holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.readTime(new byte[]{(byte) 0x80, (byte) 0xA3, 0x2A, 0}, 0, holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.readDate(ByteBuffer.wrap(new byte[]{2, (byte) 0xFF, 0x7F}), holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.writeDateTime(0, 1_000_000_000, 0, new byte[20], 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.writeTime(86_400_000_000_000L, 0, new byte[20], 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        // values outside of range of holder
+        for (long epochSecond : new long[]{1L << 61, -(1L << 61) - 5, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertThatThrownBy(() -> XsBinaryCodec.writeDateTime(epochSecond, 0, 0, new byte[20], 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> XsBinaryCodec.writeDateTime(epochSecond, 0, 3600, ByteBuffer.allocate(20)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new XsBinaryCodec.Delta().writeDateTime(epochSecond, 0,
+                    XsTimezoneFormatter.NO_OFFSET, new byte[20], 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> XsBinaryCodec.writeDate(epochSecond, 0, new byte[20], 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new XsBinaryCodec.Delta().writeDate(epochSecond, 0, ByteBuffer.allocate(20)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        // the last values within range of holder
+        long maxEpochSecond = (XsTemporalHolder.epochDay(Integer.MAX_VALUE, 12, 31) + 1) * 86400 - 1;
+        byte[] buffer = new byte[XsBinaryCodec.MAX_DATE_TIME_SIZE];
+        XsBinaryCodec.writeDateTime(maxEpochSecond, 0, XsTimezoneFormatter.NO_OFFSET, buffer, 0);
+        XsBinaryCodec.readDateTime(buffer, 0, holder);
+        assertThat(holder.epochSecond()).isEqualTo(maxEpochSecond);
+        XsBinaryCodec.writeDate(XsTemporalHolder.epochDay(Integer.MIN_VALUE, 1, 1), 0, buffer, 0);
+        XsBinaryCodec.readDate(buffer, 0, holder);
+        assertThat(holder.year).isEqualTo(Integer.MIN_VALUE);
+        assertThatThrownBy(() -> XsBinaryCodec.writeDateTime(maxEpochSecond + 1, 0, XsTimezoneFormatter.NO_OFFSET,
+                buffer, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.writeDateTime(maxEpochSecond, 0, 3600, buffer, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        XsDateTimeColumn column = new XsDateTimeColumn(4);
+        // 2^48 as date code, epoch day beyond int year of holder also in delta mode
+        byte[] largeDay = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x40, 0};
+        assertThatThrownBy(() -> XsBinaryCodec.readDate(largeDay, 0, holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.readDate(ByteBuffer.wrap(largeDay), holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new XsBinaryCodec.Delta().readDate(largeDay, 0, holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 2^61 as header, local epoch second beyond int year of holder also in delta mode
+        byte[] largeSecond = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, (byte) 0x80, 0x20, 0};
+        assertThatThrownBy(() -> XsBinaryCodec.readDateTime(largeSecond, 0, holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.readDateTime(largeSecond, 0, column))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.readDateTime(ByteBuffer.wrap(largeSecond), column))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new XsBinaryCodec.Delta().readDateTime(ByteBuffer.wrap(largeSecond), holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(column.size()).isZero();
+        // truncated values
+        int end = XsBinaryCodec.writeDateTime(1_521_066_600L, 123_000_000, 3600, buffer, 0);
+        for (int length = 0; length < end; length++) {
+            byte[] truncated = Arrays.copyOf(buffer, length);
+            assertThatThrownBy(() -> XsBinaryCodec.readDateTime(truncated, 0, holder))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> XsBinaryCodec.readDateTime(ByteBuffer.wrap(truncated), holder))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        end = new XsBinaryCodec.Delta().writeDateTime(1_521_066_600L, 123_000_000, 3600, buffer, 0);
+        for (int length = 0; length < end; length++) {
+            byte[] truncated = Arrays.copyOf(buffer, length);
+            assertThatThrownBy(() -> new XsBinaryCodec.Delta().readDateTime(truncated, 0, column))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new XsBinaryCodec.Delta().readDateTime(ByteBuffer.wrap(truncated), holder))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> XsBinaryCodec.readDate(new byte[]{2, 0}, 1, holder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsBinaryCodec.readTime(ByteBuffer.wrap(new byte[]{(byte) 0x81}), holder))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
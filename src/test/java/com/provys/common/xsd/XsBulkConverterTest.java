@@ -0,0 +1,158 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsBulkConverterTest {
+
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void convertLinesTest() throws IOException {
+        String text = "2018-03-14T23:30:00.100+01:00\n"
+                + "  2018-03-14T24:00:00Z \r\n"
+                + "\n"
+                + "2018-02-30T00:00:00Z\n"
+                + "2018-03-14T23:30:00\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XsBulkConverter.Statistics statistics = XsBulkConverter.of(XsParseProcessor.ValueType.DATE_TIME)
+                .withWorkers(2)
+                .withTargetOffset(0)
+                .convert(input(text), out);
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo("2018-03-14T22:30:00.1Z\n"
+                + "  2018-03-15T00:00:00Z \n"
+                + "\n"
+                + "2018-02-30T00:00:00Z\n"
+                + "2018-03-14T23:30:00\n");
+        assertThat(statistics.getValues()).isEqualTo(4);
+        assertThat(statistics.getFailures()).isEqualTo(2);
+        assertThat(statistics.getBytes()).isEqualTo(text.length());
+        assertThat(statistics.getFailureHistogram()).containsOnlyKeys("Invalid day", "Value has no timezone");
+        assertThat(statistics.getFailureSamples()).hasSize(2);
+        assertThat(statistics.getFailureSamples().get(0)).startsWith("line 4: Invalid day");
+    }
+
+    @Test
+    void convertColumnTest() throws IOException {
+        String text = "id;created;note\n"
+                + "1;\"2018-03-14T23:30:00\";first\n"
+                + "2;2018-03-14T23:30:00+01:00;second\n"
+                + "3;;third\n"
+                + "4\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XsBulkConverter.Statistics statistics = XsBulkConverter.of(XsParseProcessor.ValueType.DATE_TIME)
+                .withColumn(';', true, 1)
+                .withDefaultOffset(3600)
+                .withTargetOffset(0)
+                .convert(input(text), out);
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo("id;created;note\n"
+                + "1;\"2018-03-14T22:30:00Z\";first\n"
+                + "2;2018-03-14T22:30:00Z;second\n"
+                + "3;;third\n"
+                + "4\n");
+        assertThat(statistics.getValues()).isEqualTo(3);
+        assertThat(statistics.getFailureHistogram()).containsOnlyKeys("Missing column");
+        assertThat(statistics.getFailureSamples()).containsExactly("line 5: Missing column in '4'");
+        text = "id,name,ts\n"
+                + "1,\"Smith, John\",2020-01-01T10:00:00+01:00\n"
+                + "2,\"a,b,c\",\"2020-01-01T10:00:00\",\"x,y\"\n"
+                + "3,\"Doe, Jane\"\n";
+        out.reset();
+        statistics = XsBulkConverter.of(XsParseProcessor.ValueType.DATE_TIME)
+                .withColumn(',', true, 2)
+                .withTargetOffset(0)
+                .withDefaultOffset(0)
+                .convert(input(text), out);
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo("id,name,ts\n"
+                + "1,\"Smith, John\",2020-01-01T09:00:00Z\n"
+                + "2,\"a,b,c\",\"2020-01-01T10:00:00Z\",\"x,y\"\n"
+                + "3,\"Doe, Jane\"\n");
+        assertThat(statistics.getValues()).isEqualTo(3);
+        assertThat(statistics.getFailureHistogram()).containsOnlyKeys("Missing column");
+    }
+
+    @Test
+    void validateManyBatchesTest() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int count = 20000;
+        for (int i = 0; i < count; i++) {
+            XsTemporalHolder.formatDateTo(2000 + i % 20, 1 + i % 12, 1 + i % 28, builder);
+            if (i % 1000 == 7) {
+                builder.append("+1");
+            }
+            builder.append('\n');
+        }
+        XsBulkConverter converter = XsBulkConverter.of(XsParseProcessor.ValueType.DATE).withWorkers(3);
+        XsBulkConverter.Statistics statistics = converter.validate(input(builder.toString()));
+        assertThat(statistics.getValues()).isEqualTo(count);
+        assertThat(statistics.getFailures()).isEqualTo(20);
+        assertThat(statistics.getFailureSamples()).hasSize(XsBulkConverter.MAX_FAILURE_SAMPLES);
+        assertThat(statistics.getFailureSamples().get(0)).startsWith("line 8: ");
+        assertThat(converter.withLenient(true).validate(input(builder.toString())).getFailures()).isZero();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.withLenient(true).convert(input(builder.toString()), out);
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo(builder.toString().replace("+1", "+01:00"));
+    }
+
+    @Test
+    void convertTimeTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XsBulkConverter.of(XsParseProcessor.ValueType.TIME).withTargetOffset(-3600)
+                .convert(input("00:30:00+01:00\n23:00:00.50Z\n"), out);
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo("22:30:00-01:00\n22:00:00.5-01:00\n");
+        assertThatThrownBy(() -> XsBulkConverter.of(XsParseProcessor.ValueType.DATE).withTargetOffset(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failureTypeTest() {
+        assertThat(XsBulkConverter.failureType(XsParseSupport.error("Invalid month 13", "2018-13-01", 5)))
+                .isEqualTo("Invalid month");
+        assertThat(XsBulkConverter.failureType(new DateTimeParseException("'T' expected at index 10 in 'x'", "x",
+                10))).isEqualTo("'T' expected");
+    }
+
+    @Test
+    void runTest(@TempDir Path directory) throws IOException {
+        Path inputFile = directory.resolve("input.txt");
+        Path outputFile = directory.resolve("output.txt");
+        Files.write(inputFile, "a,2018-03-14T23:30:00+01:00\nb,2018-03-14T23:30\n".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        int status = XsBulkConverter.run(new String[]{"--convert", "--lenient", "--column", "1", "--offset", "Z",
+                        "--default-offset", "+02:00", "--workers", "1", inputFile.toString(), outputFile.toString()},
+                input(""), new ByteArrayOutputStream(), new PrintStream(stderr, true, "UTF-8"));
+        assertThat(status).isZero();
+        assertThat(new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8))
+                .isEqualTo("a,2018-03-14T22:30:00Z\nb,2018-03-14T21:30:00Z\n");
+        assertThat(stderr.toString("UTF-8")).contains("Values: 2, failures: 0", "MB/s", "values/s");
+        stderr.reset();
+        status = XsBulkConverter.run(new String[]{"--type", "date"}, input("2018-03-14\n2018-03-14+1\n"),
+                new ByteArrayOutputStream(), new PrintStream(stderr, true, "UTF-8"));
+        assertThat(status).isEqualTo(1);
+        assertThat(stderr.toString("UTF-8")).contains("Failures by type:", "line 2:");
+        stderr.reset();
+        status = XsBulkConverter.run(new String[]{"--type", "month"}, input(""), new ByteArrayOutputStream(),
+                new PrintStream(stderr, true, "UTF-8"));
+        assertThat(status).isEqualTo(2);
+        assertThat(stderr.toString("UTF-8")).contains("Unknown type month", "Usage:");
+        stderr.reset();
+        status = XsBulkConverter.run(new String[]{"--column", "-1"}, input("2018-03-14T23:30:00\n"),
+                new ByteArrayOutputStream(), new PrintStream(stderr, true, "UTF-8"));
+        assertThat(status).isEqualTo(2);
+        assertThat(stderr.toString("UTF-8")).contains("Column index cannot be negative: -1", "Usage:");
+    }
+}
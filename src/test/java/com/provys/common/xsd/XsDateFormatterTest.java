@@ -3,10 +3,13 @@ package com.provys.common.xsd;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -68,6 +71,13 @@ class XsDateFormatterTest {
                 , new Object[]{"-2015-12-31", LocalDate.of(-2015, 12, 31)}
                 , new Object[]{"2015-12-31Z", LocalDate.of(2015, 12, 31)}
                 , new Object[]{"2015-12-31+01:00", LocalDate.of(2015, 12, 31)}
+                , new Object[]{"12018-03-14", LocalDate.of(12018, 3, 14)}
+                , new Object[]{"-999999999-12-31", LocalDate.of(-999999999, 12, 31)}
+                , new Object[]{"2016-02-29", LocalDate.of(2016, 2, 29)}
+                , new Object[]{"2015-02-29", null}
+                , new Object[]{"2015-04-31", null}
+                , new Object[]{"02018-03-14", null}
+                , new Object[]{"1000000000-01-01", null}
                 , new Object[]{"2015-12-31z", null}
                 , new Object[]{"2015-12-31+01:00:00", null}
                 , new Object[]{"15-12-31", null}
@@ -159,4 +169,51 @@ class XsDateFormatterTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void parseEpochDaysTest() {
+        String[] values = {"2018-03-14", "2016-02-29Z", "0000-01-01+14:00", "-0001-12-31-05:00", "123456-07-08",
+                "1970-01-01", "9999-12-31Z", "1969-12-31+01:30"};
+        int[] offsets = {XsDateTimeFormatter.NO_OFFSET, 0, 50400, -18000, XsDateTimeFormatter.NO_OFFSET,
+                XsDateTimeFormatter.NO_OFFSET, 0, 5400};
+        // repeat values to cover multiple blocks
+        String[] repeated = Stream.generate(() -> values).limit(20).flatMap(Stream::of).toArray(String[]::new);
+        long[] epochDays = new long[repeated.length];
+        int[] offsetSeconds = new int[repeated.length];
+        XsDateFormatter.parseEpochDays(repeated, epochDays, offsetSeconds);
+        for (int i = 0; i < repeated.length; i++) {
+            assertThat(epochDays[i]).as(repeated[i]).isEqualTo(XsDateFormatter.parse(repeated[i]).toEpochDay());
+            assertThat(offsetSeconds[i]).as(repeated[i]).isEqualTo(offsets[i % offsets.length]);
+        }
+        byte[] data = String.join("", repeated).getBytes(StandardCharsets.US_ASCII);
+        int[] starts = new int[repeated.length];
+        int[] ends = new int[repeated.length];
+        for (int i = 0, pos = 0; i < repeated.length; pos = ends[i++]) {
+            starts[i] = pos;
+            ends[i] = pos + repeated[i].length();
+        }
+        long[] bytesEpochDays = new long[repeated.length];
+        int[] bytesOffsetSeconds = new int[repeated.length];
+        XsDateFormatter.parseEpochDays(data, starts, ends, bytesEpochDays, bytesOffsetSeconds);
+        assertThat(bytesEpochDays).isEqualTo(epochDays);
+        assertThat(bytesOffsetSeconds).isEqualTo(offsetSeconds);
+    }
+
+    @Test
+    void parseEpochDaysLenientTest() {
+        String[] values = {"2018-03-14z", "2018-03-14+01", "2018-03-14", "2018-02-29"};
+        long[] epochDays = new long[values.length];
+        assertThatThrownBy(() -> XsDateFormatter.parseEpochDays(values, epochDays, null))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> XsDateFormatter.parseEpochDaysLenient(values, epochDays, null))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThat(epochDays).startsWith(17604, 17604, 17604);
+        byte[] data = String.join("", values).getBytes(StandardCharsets.US_ASCII);
+        int[] starts = {0, 11, 24, 34};
+        int[] ends = {11, 24, 34, 44};
+        assertThatThrownBy(() -> XsDateFormatter.parseEpochDaysLenient(data, starts, ends, epochDays, null))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> XsDateFormatter.parseEpochDaysLenient(data, starts, new int[]{11, 24, 34}, epochDays,
+                null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsDateTimeColumnTest {
+
+    @Test
+    void addTest() {
+        XsDateTimeColumn column = new XsDateTimeColumn(1);
+        for (int i = 0; i < 100; i++) {
+            column.add(i * 86400L, i, (i % 2 == 0) ? XsDateTimeFormatter.NO_OFFSET : 3600);
+        }
+        XsDateTimeColumn other = new XsDateTimeColumn(0);
+        other.addAll(column);
+        other.addAll(column);
+        assertThat(other.size()).isEqualTo(200);
+        assertThat(other.getEpochSecond(101)).isEqualTo(86400L);
+        assertThat(other.getNano(199)).isEqualTo(99);
+        assertThat(other.getOffsetSeconds(100)).isEqualTo(XsDateTimeFormatter.NO_OFFSET);
+        assertThat(other.toEpochSecondArray()).hasSize(200);
+        StringBuilder builder = new StringBuilder();
+        other.formatTo(101, builder);
+        assertThat(builder.toString()).isEqualTo("1970-01-02T01:00:00.000000001+01:00");
+        assertThatThrownBy(() -> other.getEpochSecond(200)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
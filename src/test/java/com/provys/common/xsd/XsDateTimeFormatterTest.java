@@ -1,12 +1,20 @@
 package com.provys.common.xsd;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.*;
 
 class XsDateTimeFormatterTest {
 
@@ -59,4 +67,146 @@ class XsDateTimeFormatterTest {
     void getLenientPatternTest(String value, boolean match) {
         assertThat(XsDateTimeFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(match);
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("getStrictPatternTest")
+    void parseAgreesWithStrictPatternTest(String value, boolean match) {
+        if (match) {
+            assertThatCode(() -> XsDateTimeFormatter.parse(value)).doesNotThrowAnyException();
+        } else {
+            assertThatThrownBy(() -> XsDateTimeFormatter.parse(value));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getLenientPatternTest")
+    void parseLenientAgreesWithLenientPatternTest(String value, boolean match) {
+        if (match) {
+            assertThatCode(() -> XsDateTimeFormatter.parseLenient(value)).doesNotThrowAnyException();
+        } else {
+            assertThatThrownBy(() -> XsDateTimeFormatter.parseLenient(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseTest() {
+        return Stream.of(
+                new Object[]{"2018-03-14T23:30:28.123456789Z", LocalDateTime.of(2018, 3, 14, 23, 30, 28, 123456789)}
+                , new Object[]{"2018-03-14T23:30:28.1234567891Z", LocalDateTime.of(2018, 3, 14, 23, 30, 28, 123456789)}
+                , new Object[]{"2018-03-14T23:30:00+02:00", LocalDateTime.of(2018, 3, 14, 23, 30)}
+                , new Object[]{"2018-12-31T24:00:00", LocalDateTime.of(2019, 1, 1, 0, 0)}
+                , new Object[]{"-0044-03-15T12:00:00", LocalDateTime.of(-44, 3, 15, 12, 0)}
+                , new Object[]{"123456789-03-14T23:30:00", LocalDateTime.of(123456789, 3, 14, 23, 30)}
+                , new Object[]{"1234567890-03-14T23:30:00", null}
+                , new Object[]{"2018-02-29T23:30:00", null}
+                , new Object[]{"2018-03-14T24:30:00", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseTest(String value, @Nullable LocalDateTime expected) {
+        if (expected != null) {
+            assertThat(XsDateTimeFormatter.parse(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsDateTimeFormatter.parse(value));
+        }
+    }
+
+    @Test
+    void parseLenientTZTest() {
+        assertThat(XsDateTimeFormatter.parseLenientTZ("2018-03-14 23:30", "+01:00"))
+                .isEqualTo(LocalDateTime.of(2018, 3, 14, 23, 30));
+        assertThat(XsDateTimeFormatter.parseLenientTZ("2018-03-14t23:30z", "+01:00"))
+                .isEqualTo(LocalDateTime.of(2018, 3, 15, 0, 30));
+        // default offset accepts all forms of ZoneOffset.of
+        assertThat(XsDateTimeFormatter.parseLenientTZ("2018-03-14T12:30:00Z", "+0100"))
+                .isEqualTo(LocalDateTime.of(2018, 3, 14, 13, 30));
+        assertThat(XsDateTimeFormatter.parseLenientTZ("2018-03-14T12:30:00Z", "+01:30:00"))
+                .isEqualTo(LocalDateTime.of(2018, 3, 14, 14, 0));
+        assertThat(XsDateTimeFormatter.parseLenientTZ("2018-03-14T12:30:00Z", "-013000"))
+                .isEqualTo(LocalDateTime.of(2018, 3, 14, 11, 0));
+    }
+
+    private static void parseEpochSecondsTest(boolean lenient, Stream<Object[]> cases) {
+        String[] values = cases.filter(testCase -> (Boolean) testCase[1])
+                .map(testCase -> (String) testCase[0])
+                .flatMap(value -> Stream.of(value, value.replace("2018", "-2018"), value.replace("2018", "0000"),
+                        value.replace("2018-03-14", "2016-02-29"), value.replace("23:30:", "24:00:")))
+                .filter(value -> (lenient ? XsDateTimeFormatter.LENIENT_PATTERN : XsDateTimeFormatter.STRICT_PATTERN)
+                        .matcher(value).matches())
+                .toArray(String[]::new);
+        // repeat values to cover multiple blocks, with values on different positions in block
+        String[] repeated = Stream.generate(() -> values).limit(200 / values.length + 2).flatMap(Stream::of)
+                .skip(3).toArray(String[]::new);
+        long[] epochSeconds = new long[repeated.length];
+        int[] nanos = new int[repeated.length];
+        int[] offsetSeconds = new int[repeated.length];
+        if (lenient) {
+            XsDateTimeFormatter.parseEpochSecondsLenient(repeated, epochSeconds, nanos, offsetSeconds);
+        } else {
+            XsDateTimeFormatter.parseEpochSeconds(repeated, epochSeconds, nanos, offsetSeconds);
+        }
+        // the same values as byte input; the last value ends with data
+        byte[] data = String.join(";", repeated).getBytes(StandardCharsets.US_ASCII);
+        int[] starts = new int[repeated.length];
+        int[] ends = new int[repeated.length];
+        for (int i = 0, pos = 0; i < repeated.length; pos = ends[i++] + 1) {
+            starts[i] = pos;
+            ends[i] = pos + repeated[i].length();
+        }
+        long[] bytesEpochSeconds = new long[repeated.length];
+        int[] bytesNanos = new int[repeated.length];
+        int[] bytesOffsetSeconds = new int[repeated.length];
+        if (lenient) {
+            XsDateTimeFormatter.parseEpochSecondsLenient(data, starts, ends, bytesEpochSeconds, bytesNanos,
+                    bytesOffsetSeconds);
+        } else {
+            XsDateTimeFormatter.parseEpochSeconds(data, starts, ends, bytesEpochSeconds, bytesNanos,
+                    bytesOffsetSeconds);
+        }
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (int i = 0; i < repeated.length; i++) {
+            XsDateTimeFormatter.parse(repeated[i], 0, repeated[i].length(), lenient, holder);
+            assertThat(epochSeconds[i]).as(repeated[i]).isEqualTo(holder.epochSecond());
+            assertThat(nanos[i]).as(repeated[i]).isEqualTo(holder.nano);
+            assertThat(offsetSeconds[i]).as(repeated[i]).isEqualTo(holder.offsetSeconds);
+        }
+        assertThat(bytesEpochSeconds).isEqualTo(epochSeconds);
+        assertThat(bytesNanos).isEqualTo(nanos);
+        assertThat(bytesOffsetSeconds).isEqualTo(offsetSeconds);
+    }
+
+    @Test
+    void parseEpochSecondsTest() {
+        parseEpochSecondsTest(false, getStrictPatternTest());
+        parseEpochSecondsTest(true, getLenientPatternTest());
+    }
+
+    @Test
+    void parseEpochSecondsInvalidTest() {
+        String[] values = new String[100];
+        Arrays.fill(values, "2018-03-14T23:30:00Z");
+        long[] epochSeconds = new long[values.length];
+        int[] nanos = new int[values.length];
+        for (String invalid : new String[]{"2018-02-29T23:30:00Z", "2018-03-14T24:30:00Z", "2018-03-14T23:30:00.Z",
+                "2018-03-14T23:30:00+0200", "2018-03-14t23:30:00", "2018-03-14T23:30", "2018-03-14T23:30:0\u0660"}) {
+            values[70] = invalid;
+            assertThatThrownBy(() -> XsDateTimeFormatter.parseEpochSeconds(values, epochSeconds, nanos, null))
+                    .isInstanceOf(DateTimeParseException.class);
+            assertThat(epochSeconds[69]).isEqualTo(OffsetDateTime.parse("2018-03-14T23:30:00Z").toEpochSecond());
+            byte[] data = String.join("", values).getBytes(StandardCharsets.UTF_8);
+            int[] starts = new int[values.length];
+            int[] ends = new int[values.length];
+            for (int i = 0, pos = 0; i < values.length; pos = ends[i++]) {
+                starts[i] = pos;
+                ends[i] = pos + values[i].getBytes(StandardCharsets.UTF_8).length;
+            }
+            assertThatThrownBy(() -> XsDateTimeFormatter.parseEpochSeconds(data, starts, ends, epochSeconds, nanos,
+                    null))
+                    .isInstanceOf(DateTimeParseException.class);
+        }
+        assertThatThrownBy(() -> XsDateTimeFormatter.parseEpochSeconds(values, new long[99], nanos, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
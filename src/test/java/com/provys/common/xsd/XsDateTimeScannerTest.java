@@ -0,0 +1,134 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsDateTimeScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nonnull
+    private static String value(int i) {
+        OffsetDateTime value = OffsetDateTime.of(2000 + i % 30, 1 + i % 12, 1 + i % 28, i % 24, i % 60, i % 60,
+                (i % 7) * 1000, ZoneOffset.ofHours(i % 13));
+        StringBuilder builder = new StringBuilder();
+        XsDateTimeFormatter.formatTo(value.toEpochSecond(), value.getNano(), value.getOffset().getTotalSeconds(),
+                builder);
+        return builder.toString();
+    }
+
+    @Nonnull
+    private static List<String> format(XsDateTimeColumn column) {
+        List<String> result = new ArrayList<>(column.size());
+        for (int i = 0; i < column.size(); i++) {
+            StringBuilder builder = new StringBuilder();
+            column.formatTo(i, builder);
+            result.add(builder.toString());
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {7, 64, 1000, XsDateTimeScanner.MAX_CHUNK_SIZE})
+    void scanXmlTest(int chunkSize) throws IOException {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?>\n<rows>\n");
+        List<String> created = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            xml.append("  <row id=\"").append(i).append("\"><ns:created>").append(value(i)).append("</ns:created>");
+            created.add(value(i));
+            if (i % 3 == 0) {
+                xml.append("<changed attr=\"x\">\n    ").append(value(i + 1)).append("\n  </changed>");
+                changed.add(value(i + 1));
+            } else {
+                xml.append("<changed/><changedBy>").append(value(i + 2)).append("</changedBy>");
+            }
+            xml.append("</row>\n");
+        }
+        xml.append("</rows>\n");
+        Path file = Files.writeString(tempDir.resolve("test.xml"), xml);
+        XsDateTimeColumn[] columns = {new XsDateTimeColumn(), new XsDateTimeColumn()};
+        XsDateTimeScanner.Statistics statistics = XsDateTimeScanner.ofXmlElements("ns:created", "changed")
+                .withChunkSize(chunkSize)
+                .withParallelism(3)
+                .scan(file, columns);
+        assertThat(format(columns[0])).containsExactlyElementsOf(created);
+        assertThat(format(columns[1])).containsExactlyElementsOf(changed);
+        assertThat(statistics.getValues()).isEqualTo(created.size() + changed.size());
+        assertThat(statistics.getBytes()).isEqualTo(Files.size(file));
+        assertThat(statistics.getMegabytesPerSecond()).isPositive();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 100, XsDateTimeScanner.MAX_CHUNK_SIZE})
+    void scanCsvTest(int chunkSize) throws IOException {
+        StringBuilder csv = new StringBuilder("id;created;name;changed\r\n");
+        List<String> created = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            csv.append(i).append(';').append(value(i)).append(";\"name; \"\"").append(i).append("\"\"\";");
+            created.add(value(i));
+            if (i % 4 != 0) {
+                csv.append("\"").append(value(i + 1)).append('"');
+                changed.add(value(i + 1));
+            }
+            csv.append("\r\n");
+        }
+        Path file = Files.writeString(tempDir.resolve("test.csv"), csv);
+        XsDateTimeColumn[] columns = {new XsDateTimeColumn(), new XsDateTimeColumn()};
+        XsDateTimeScanner.ofCsvColumns(';', true, 3, 1)
+                .withChunkSize(chunkSize)
+                .withParallelism(2)
+                .scan(file, columns);
+        assertThat(format(columns[0])).containsExactlyElementsOf(changed);
+        assertThat(format(columns[1])).containsExactlyElementsOf(created);
+    }
+
+    @Test
+    void scanConsumerTest() throws IOException {
+        String csv = "2018-03-14T23:30:00Z,x\n2018-03-14 23:30+01:00,y\n2018-03-14t23:30:00.5";
+        Path file = Files.writeString(tempDir.resolve("consumer.csv"), csv);
+        Map<Long, Long> values = new ConcurrentHashMap<>();
+        XsDateTimeScanner.ofCsvColumns(',', false, 0)
+                .withLenient(true)
+                .withChunkSize(10)
+                .scan(file, (field, position, epochSecond, nano, offsetSeconds) -> values.put(position, epochSecond));
+        assertThat(values).containsOnlyKeys(0L, 23L, 48L);
+        assertThat(values.get(0L)).isEqualTo(OffsetDateTime.parse("2018-03-14T23:30:00Z").toEpochSecond());
+        assertThat(values.get(23L)).isEqualTo(OffsetDateTime.parse("2018-03-14T22:30:00Z").toEpochSecond());
+    }
+
+    @Test
+    void scanInvalidTest() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("invalid.xml"),
+                "<a><d>2018-03-14T23:30:00Z</d><d>2018-02-30T23:30:00Z</d></a>", StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> XsDateTimeScanner.ofXmlElements("d").scan(file, new XsDateTimeColumn[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsDateTimeScanner.ofXmlElements("d")
+                .scan(file, (field, position, epochSecond, nano, offsetSeconds) -> {}))
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessageContaining("position 33");
+        Path unterminated = Files.writeString(tempDir.resolve("unterminated.xml"), "<a><d>2018-03-14T23:30:00Z");
+        assertThatThrownBy(() -> XsDateTimeScanner.ofXmlElements("d")
+                .scan(unterminated, (field, position, epochSecond, nano, offsetSeconds) -> {}))
+                .isInstanceOf(IOException.class);
+    }
+}
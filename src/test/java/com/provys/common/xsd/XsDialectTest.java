@@ -0,0 +1,93 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsDialectTest {
+
+    private static final XsDialect STRICT = XsDialect.builder().build();
+
+    private static final XsDialect PARTNER = XsDialect.builder()
+            .delimiters(" T")
+            .caseInsensitive(true)
+            .optionalSeconds(true)
+            .fractionDigits(0, 3)
+            .timezone(XsDialect.TimezonePolicy.REQUIRED)
+            .lenientOffsets(true)
+            .build();
+
+    @ParameterizedTest
+    @MethodSource("com.provys.common.xsd.XsDateTimeFormatterTest#getStrictPatternTest")
+    void strictDialectAgreesWithStrictPatternTest(String value, boolean match) {
+        if (match) {
+            assertThat(STRICT.parseLocalDateTime(value)).isEqualTo(XsDateTimeFormatter.parse(value));
+        } else {
+            assertThatThrownBy(() -> STRICT.parseLocalDateTime(value)).isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> partnerDialectTest() {
+        return Stream.of(
+                new Object[]{"2018-03-14T23:30:00Z", LocalDateTime.of(2018, 3, 14, 23, 30), 0}
+                , new Object[]{"2018-03-14 23:30+02", LocalDateTime.of(2018, 3, 14, 23, 30), 7200}
+                , new Object[]{"2018-03-14t23:30:15.125z", LocalDateTime.of(2018, 3, 14, 23, 30, 15, 125_000_000), 0}
+                , new Object[]{"2018-03-14T24:00-01:00", LocalDateTime.of(2018, 3, 15, 0, 0), -3600}
+                , new Object[]{"2018-03-14T23:30:00.1234Z", null, 0}
+                , new Object[]{"2018-03-14T23:30:00", null, 0}
+                , new Object[]{"2018-03-14X23:30:00Z", null, 0}
+                , new Object[]{"2018-03-14T23:30.5Z", null, 0}
+                , new Object[]{"2018-03-14T3:30Z", null, 0}
+                , new Object[]{"2018-03-14T23:30Zz", null, 0}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void partnerDialectTest(String value, @Nullable LocalDateTime expected, int offsetSeconds) {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        if (expected != null) {
+            PARTNER.parseDateTime(value, holder);
+            assertThat(holder.toLocalDateTime()).isEqualTo(expected);
+            assertThat(holder.getOffsetSeconds()).isEqualTo(offsetSeconds);
+        } else {
+            assertThatThrownBy(() -> PARTNER.parseDateTime(value, holder))
+                    .isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Test
+    void timezonePolicyTest() {
+        XsDialect forbidden = XsDialect.builder()
+                .timezone(XsDialect.TimezonePolicy.FORBIDDEN)
+                .singleDigitHour(true)
+                .fractionDigits(2, 2)
+                .build();
+        assertThat(forbidden.parseLocalTime("7:30:00.25")).isEqualTo(LocalTime.of(7, 30, 0, 250_000_000));
+        assertThatThrownBy(() -> forbidden.parseLocalTime("7:30:00.25Z")).isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> forbidden.parseLocalTime("07:30:00")).isInstanceOf(DateTimeParseException.class);
+        XsDialect defaultOffset = XsDialect.builder().defaultOffsetSeconds(3600).build();
+        XsTemporalHolder holder = new XsTemporalHolder();
+        defaultOffset.parseDate("2018-03-14", holder);
+        assertThat(holder.getOffsetSeconds()).isEqualTo(3600);
+        defaultOffset.parseDate("2018-03-14-05:00", holder);
+        assertThat(holder.getOffsetSeconds()).isEqualTo(-18000);
+        assertThatThrownBy(() -> defaultOffset.parseDate("2018-03-14z", holder))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> XsDialect.builder().fractionDigits(3, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsDialect.builder().delimiters("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsDialect.builder().defaultOffsetSeconds(100_000))
+                .isInstanceOf(DateTimeException.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsDurationFormatterTest {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    @Nonnull
+    static Stream<Object[]> parseTest() {
+        return Stream.of(
+                new Object[]{"P1DT2H30M", 0L, (86400L + 9000L) * NANOS_PER_SECOND}
+                , new Object[]{"PT0.5S", 0L, NANOS_PER_SECOND / 2}
+                , new Object[]{"-P1Y2M", -14L, 0L}
+                , new Object[]{"P1Y2M3DT4H5M6.7S", 14L, (3 * 86400L + 4 * 3600L + 5 * 60L + 6L) * NANOS_PER_SECOND
+                        + 700_000_000L}
+                , new Object[]{"PT36H", 0L, 36 * 3600L * NANOS_PER_SECOND}
+                , new Object[]{"P0D", 0L, 0L}
+                , new Object[]{"PT1.1234567891S", 0L, NANOS_PER_SECOND + 123_456_789L}
+                , new Object[]{"P", null, null}
+                , new Object[]{"PT", null, null}
+                , new Object[]{"P1YT", null, null}
+                , new Object[]{"P1M1Y", null, null}
+                , new Object[]{"P1H", null, null}
+                , new Object[]{"PT1D", null, null}
+                , new Object[]{"P1.5Y", null, null}
+                , new Object[]{"P1y", null, null}
+                , new Object[]{"+P1Y", null, null}
+                , new Object[]{"1Y", null, null}
+                , new Object[]{"P-1Y", null, null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseTest(String value, Long months, Long nanos) {
+        assertThat(XsDurationFormatter.STRICT_PATTERN.matcher(value).matches()).isEqualTo(months != null);
+        if (months != null) {
+            assertThat(XsDurationFormatter.parseMonths(value)).isEqualTo(months);
+            assertThat(XsDurationFormatter.parseNanos(value)).isEqualTo(nanos);
+            long[] result = new long[2];
+            XsDurationFormatter.parse(value, result);
+            assertThat(result).containsExactly(months, nanos);
+        } else {
+            assertThatThrownBy(() -> XsDurationFormatter.parseMonths(value));
+            assertThatThrownBy(() -> XsDurationFormatter.parse(value, new long[2]));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"P1Y2M", 14L, 0L}
+                , new Object[]{"p1y2m", 14L, 0L}
+                , new Object[]{"+P1Y", 12L, 0L}
+                , new Object[]{"-pt0,5s", 0L, -NANOS_PER_SECOND / 2}
+                , new Object[]{"P", null, null}
+                , new Object[]{"P1M1Y", null, null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, Long months, Long nanos) {
+        assertThat(XsDurationFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(months != null);
+        if (months != null) {
+            assertThat(XsDurationFormatter.parseMonthsLenient(value)).isEqualTo(months);
+            assertThat(XsDurationFormatter.parseNanosLenient(value)).isEqualTo(nanos);
+            long[] result = new long[2];
+            XsDurationFormatter.parseLenient(value, result);
+            assertThat(result).containsExactly(months, nanos);
+        } else {
+            assertThatThrownBy(() -> XsDurationFormatter.parseMonthsLenient(value));
+            assertThatThrownBy(() -> XsDurationFormatter.parseLenient(value, new long[2]));
+        }
+    }
+
+    @Test
+    void parseBothComponentsTest() {
+        long[] result = {7, 7, 7};
+        XsDurationFormatter.parse("-P1Y2DT3H", result);
+        assertThat(result[XsDurationFormatter.MONTHS_INDEX]).isEqualTo(-12);
+        assertThat(result[XsDurationFormatter.NANOS_INDEX]).isEqualTo(-(2 * 24 + 3) * 3600 * NANOS_PER_SECOND);
+        assertThat(result[2]).isEqualTo(7);
+        assertThatThrownBy(() -> XsDurationFormatter.parse("P1Y", new long[1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parseComponentOutOfRangeTest() {
+        // only requested component must fit in long
+        assertThat(XsDurationFormatter.parseMonths("P1Y106752D")).isEqualTo(12);
+        assertThat(XsDurationFormatter.parseMonthsLenient("p106752d")).isZero();
+        assertThatThrownBy(() -> XsDurationFormatter.parseNanos("P106752D"))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> XsDurationFormatter.parse("P106752D", new long[2]))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThat(XsDurationFormatter.parseNanos("P768614336404564651YT1S")).isEqualTo(NANOS_PER_SECOND);
+        assertThatThrownBy(() -> XsDurationFormatter.parseMonths("P768614336404564651Y"))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    void parseYearMonthTest() {
+        assertThat(XsDurationFormatter.STRICT_YEAR_MONTH_PATTERN.matcher("P1Y14M").matches()).isTrue();
+        assertThat(XsDurationFormatter.parsePeriod("P1Y14M")).isEqualTo(Period.of(2, 2, 0));
+        assertThat(XsDurationFormatter.STRICT_YEAR_MONTH_PATTERN.matcher("P1Y2D").matches()).isFalse();
+        assertThatThrownBy(() -> XsDurationFormatter.parsePeriod("P1Y2D"));
+        assertThatThrownBy(() -> XsDurationFormatter.parsePeriod("PT1H"));
+    }
+
+    @Test
+    void parseDayTimeTest() {
+        assertThat(XsDurationFormatter.STRICT_DAY_TIME_PATTERN.matcher("-P1DT0.25S").matches()).isTrue();
+        assertThat(XsDurationFormatter.parseDuration("-P1DT0.25S")).isEqualTo(Duration.ofMillis(-86400250L));
+        assertThat(XsDurationFormatter.STRICT_DAY_TIME_PATTERN.matcher("P1M").matches()).isFalse();
+        assertThatThrownBy(() -> XsDurationFormatter.parseDuration("P1M"));
+        assertThatThrownBy(() -> XsDurationFormatter.parseDuration("P999999999999999D"));
+    }
+
+    @Nonnull
+    static Stream<Object[]> formatTest() {
+        return Stream.of(
+                new Object[]{0L, 0L, "PT0S"}
+                , new Object[]{14L, 0L, "P1Y2M"}
+                , new Object[]{-12L, 0L, "-P1Y"}
+                , new Object[]{0L, (86400L + 9000L) * NANOS_PER_SECOND, "P1DT2H30M"}
+                , new Object[]{0L, NANOS_PER_SECOND / 2, "PT0.5S"}
+                , new Object[]{1L, 60 * NANOS_PER_SECOND + 1, "P1MT1M0.000000001S"}
+                , new Object[]{-1L, -86400L * NANOS_PER_SECOND, "-P1M1D"}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void formatTest(long months, long nanos, String expected) {
+        assertThat(XsDurationFormatter.format(months, nanos)).isEqualTo(expected);
+        assertThat(XsDurationFormatter.parseMonths(expected)).isEqualTo(months);
+        assertThat(XsDurationFormatter.parseNanos(expected)).isEqualTo(nanos);
+    }
+
+    @Test
+    void formatMixedSignTest() {
+        assertThatThrownBy(() -> XsDurationFormatter.format(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsGDayFormatterTest {
+
+    @Nonnull
+    static Stream<Object[]> parseDayTest() {
+        return Stream.of(
+                new Object[]{"---01", 1}
+                , new Object[]{"---31", 31}
+                , new Object[]{"---15Z", 15}
+                , new Object[]{"---15-14:00", 15}
+                , new Object[]{"---15z", null}
+                , new Object[]{"---00", null}
+                , new Object[]{"---32", null}
+                , new Object[]{"--15", null}
+                , new Object[]{"---5", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseDayTest(String value, @Nullable Integer expected) {
+        assertThat(XsGDayFormatter.STRICT_PATTERN.matcher(value).matches()).isEqualTo(expected != null);
+        if (expected != null) {
+            assertThat(XsGDayFormatter.parseDay(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsGDayFormatter.parseDay(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseDayLenientTest() {
+        return Stream.of(
+                new Object[]{"---01", 1}
+                , new Object[]{"---15z", 15}
+                , new Object[]{"---15+1", 15}
+                , new Object[]{"---32", null}
+                , new Object[]{"--15", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseDayLenientTest(String value, @Nullable Integer expected) {
+        assertThat(XsGDayFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(expected != null);
+        if (expected != null) {
+            assertThat(XsGDayFormatter.parseDayLenient(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsGDayFormatter.parseDayLenient(value));
+        }
+    }
+}
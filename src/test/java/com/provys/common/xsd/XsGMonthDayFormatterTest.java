@@ -0,0 +1,85 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.MonthDay;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsGMonthDayFormatterTest {
+
+    @Nonnull
+    static Stream<Object[]> getStrictPatternTest() {
+        return Stream.of(
+                new Object[]{"--12-31", true}
+                , new Object[]{"--02-29", true}
+                , new Object[]{"--12-31Z", true}
+                , new Object[]{"--12-31+01:00", true}
+                , new Object[]{"--12-31z", false}
+                , new Object[]{"--13-01", false}
+                , new Object[]{"-12-31", false}
+                , new Object[]{"12-31", false}
+                , new Object[]{"--12-32", false}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void getStrictPatternTest(String value, boolean match) {
+        assertThat(XsGMonthDayFormatter.STRICT_PATTERN.matcher(value).matches()).isEqualTo(match);
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseTest() {
+        return Stream.of(
+                new Object[]{"--12-31", MonthDay.of(12, 31)}
+                , new Object[]{"--02-29", MonthDay.of(2, 29)}
+                , new Object[]{"--12-31Z", MonthDay.of(12, 31)}
+                , new Object[]{"--12-31+01:00", MonthDay.of(12, 31)}
+                , new Object[]{"--12-31z", null}
+                , new Object[]{"--13-01", null}
+                , new Object[]{"--02-30", null}
+                , new Object[]{"--04-31", null}
+                , new Object[]{"-12-31", null}
+                , new Object[]{"--12-32", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseTest(String value, @Nullable MonthDay expected) {
+        if (expected != null) {
+            assertThat(XsGMonthDayFormatter.parse(value)).isEqualTo(expected);
+            assertThat(XsGMonthDayFormatter.parsePacked(value))
+                    .isEqualTo(expected.getMonthValue() * 100 + expected.getDayOfMonth());
+        } else {
+            assertThatThrownBy(() -> XsGMonthDayFormatter.parse(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"--12-31", MonthDay.of(12, 31)}
+                , new Object[]{"--12-31z", MonthDay.of(12, 31)}
+                , new Object[]{"--12-31+01", MonthDay.of(12, 31)}
+                , new Object[]{"--13-01", null}
+                , new Object[]{"--12-32", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, @Nullable MonthDay expected) {
+        if (expected != null) {
+            assertThat(XsGMonthDayFormatter.parseLenient(value)).isEqualTo(expected);
+            assertThat(XsGMonthDayFormatter.LENIENT_PATTERN.matcher(value).matches()).isTrue();
+        } else {
+            assertThatThrownBy(() -> XsGMonthDayFormatter.parseLenient(value));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Month;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsGMonthFormatterTest {
+
+    @Nonnull
+    static Stream<Object[]> parseTest() {
+        return Stream.of(
+                new Object[]{"--01", Month.JANUARY}
+                , new Object[]{"--12", Month.DECEMBER}
+                , new Object[]{"--05Z", Month.MAY}
+                , new Object[]{"--05-01:00", Month.MAY}
+                , new Object[]{"--05--", null}
+                , new Object[]{"--05z", null}
+                , new Object[]{"--13", null}
+                , new Object[]{"--00", null}
+                , new Object[]{"-05", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseTest(String value, @Nullable Month expected) {
+        assertThat(XsGMonthFormatter.STRICT_PATTERN.matcher(value).matches()).isEqualTo(expected != null);
+        if (expected != null) {
+            assertThat(XsGMonthFormatter.parse(value)).isEqualTo(expected);
+            assertThat(XsGMonthFormatter.parseMonth(value)).isEqualTo(expected.getValue());
+        } else {
+            assertThatThrownBy(() -> XsGMonthFormatter.parse(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"--01", Month.JANUARY}
+                , new Object[]{"--05--", Month.MAY}
+                , new Object[]{"--05--Z", Month.MAY}
+                , new Object[]{"--05z", Month.MAY}
+                , new Object[]{"--05-01", Month.MAY}
+                , new Object[]{"--05---01", Month.MAY}
+                , new Object[]{"--13", null}
+                , new Object[]{"-05", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, @Nullable Month expected) {
+        assertThat(XsGMonthFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(expected != null);
+        if (expected != null) {
+            assertThat(XsGMonthFormatter.parseLenient(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsGMonthFormatter.parseLenient(value));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Year;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsGYearFormatterTest {
+
+    @Nonnull
+    static Stream<Object[]> getStrictPatternTest() {
+        return Stream.of(
+                new Object[]{"2018", true}
+                , new Object[]{"-0050", true}
+                , new Object[]{"12018", true}
+                , new Object[]{"2018Z", true}
+                , new Object[]{"2018+01:00", true}
+                , new Object[]{"2018z", false}
+                , new Object[]{"2018+01", false}
+                , new Object[]{"018", false}
+                , new Object[]{"02018", false}
+                , new Object[]{"2018-01", false}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void getStrictPatternTest(String value, boolean match) {
+        assertThat(XsGYearFormatter.STRICT_PATTERN.matcher(value).matches()).isEqualTo(match);
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseTest() {
+        return Stream.of(
+                new Object[]{"2018", Year.of(2018)}
+                , new Object[]{"-0050", Year.of(-50)}
+                , new Object[]{"12018", Year.of(12018)}
+                , new Object[]{"2018Z", Year.of(2018)}
+                , new Object[]{"2018+01:00", Year.of(2018)}
+                , new Object[]{"2018z", null}
+                , new Object[]{"2018+01", null}
+                , new Object[]{"018", null}
+                , new Object[]{"02018", null}
+                , new Object[]{"2018-01", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseTest(String value, @Nullable Year expected) {
+        if (expected != null) {
+            assertThat(XsGYearFormatter.parse(value)).isEqualTo(expected);
+            assertThat(XsGYearFormatter.parseYear(value)).isEqualTo(expected.getValue());
+        } else {
+            assertThatThrownBy(() -> XsGYearFormatter.parse(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> getLenientPatternTest() {
+        return Stream.of(
+                new Object[]{"2018", true}
+                , new Object[]{"-0050", true}
+                , new Object[]{"2018Z", true}
+                , new Object[]{"2018z", true}
+                , new Object[]{"2018+01", true}
+                , new Object[]{"018", false}
+                , new Object[]{"2018+0500", false}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void getLenientPatternTest(String value, boolean match) {
+        assertThat(XsGYearFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(match);
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"2018", Year.of(2018)}
+                , new Object[]{"-0050", Year.of(-50)}
+                , new Object[]{"2018Z", Year.of(2018)}
+                , new Object[]{"2018z", Year.of(2018)}
+                , new Object[]{"2018+01", Year.of(2018)}
+                , new Object[]{"018", null}
+                , new Object[]{"2018+0500", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, @Nullable Year expected) {
+        if (expected != null) {
+            assertThat(XsGYearFormatter.parseLenient(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsGYearFormatter.parseLenient(value));
+        }
+    }
+}
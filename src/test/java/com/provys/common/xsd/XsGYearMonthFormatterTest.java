@@ -0,0 +1,85 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.YearMonth;
+import java.util.stream.Stream;
+
+import static java.time.temporal.ChronoField.PROLEPTIC_MONTH;
+import static org.assertj.core.api.Assertions.*;
+
+class XsGYearMonthFormatterTest {
+
+    @Nonnull
+    static Stream<Object[]> getStrictPatternTest() {
+        return Stream.of(
+                new Object[]{"2018-03", true}
+                , new Object[]{"-0050-12", true}
+                , new Object[]{"2018-03Z", true}
+                , new Object[]{"2018-03-05:00", true}
+                , new Object[]{"2018-03z", false}
+                , new Object[]{"2018-13", false}
+                , new Object[]{"2018-3", false}
+                , new Object[]{"2018", false}
+                , new Object[]{"2018-03-01", false}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void getStrictPatternTest(String value, boolean match) {
+        assertThat(XsGYearMonthFormatter.STRICT_PATTERN.matcher(value).matches()).isEqualTo(match);
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseTest() {
+        return Stream.of(
+                new Object[]{"2018-03", YearMonth.of(2018, 3)}
+                , new Object[]{"-0050-12", YearMonth.of(-50, 12)}
+                , new Object[]{"2018-03Z", YearMonth.of(2018, 3)}
+                , new Object[]{"2018-03-05:00", YearMonth.of(2018, 3)}
+                , new Object[]{"2018-03z", null}
+                , new Object[]{"2018-13", null}
+                , new Object[]{"2018-3", null}
+                , new Object[]{"2018", null}
+                , new Object[]{"2018-03-01", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseTest(String value, @Nullable YearMonth expected) {
+        if (expected != null) {
+            assertThat(XsGYearMonthFormatter.parse(value)).isEqualTo(expected);
+            assertThat(XsGYearMonthFormatter.parseProlepticMonth(value)).isEqualTo(expected.getLong(PROLEPTIC_MONTH));
+        } else {
+            assertThatThrownBy(() -> XsGYearMonthFormatter.parse(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"2018-03", YearMonth.of(2018, 3)}
+                , new Object[]{"2018-03z", YearMonth.of(2018, 3)}
+                , new Object[]{"2018-03-5", YearMonth.of(2018, 3)}
+                , new Object[]{"2018-13", null}
+                , new Object[]{"2018", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, @Nullable YearMonth expected) {
+        if (expected != null) {
+            assertThat(XsGYearMonthFormatter.parseLenient(value)).isEqualTo(expected);
+            assertThat(XsGYearMonthFormatter.LENIENT_PATTERN.matcher(value).matches()).isTrue();
+        } else {
+            assertThatThrownBy(() -> XsGYearMonthFormatter.parseLenient(value));
+            assertThat(XsGYearMonthFormatter.LENIENT_PATTERN.matcher(value).matches()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies bulk parsing of byte input (using layout kernel where available) against scalar parser. Run both with
+ * Java 11 classes and, in java17 profile, with Java 17 classes and {@code jdk.incubator.vector} module (indicated by
+ * system property {@code xsd.vectorKernel})
+ */
+class XsLayoutKernelsTest {
+
+    private static final String[] VALID = {"2018-03-14T23:30:28.123456789Z", "2018-03-14T23:30:00+02:00",
+            "2016-02-29T00:00:00", "0001-01-01T24:00:00-14:00", "9999-12-31T23:59:59.5Z", "-2018-03-14T23:30:00",
+            "12018-03-14T23:30:00Z", "2018-03-14t23:30:00", "2018-03-14 23:30:00+01", "2018-03-14T23:30Z"};
+
+    private static final String[] MALFORMED = {"2018-02-29T23:30:00Z", "2018-13-14T23:30:00Z",
+            "2018-03-32T23:30:00Z", "2018-03-14T24:30:00Z", "2018-03-14T23:60:00Z", "2018-03-14T23:30:60Z",
+            "2018/03-14T23:30:00Z", "2018-03-14X23:30:00Z", "2018-03-14T23:30:00.Z", "2018-03-14T23:30:00+0200",
+            "2018-03-14T23:3a:00Z", "2018-03-14T23:30:0\u0660", "2018-03-14T23:30:00 ", "2018-03-14T", "2018-03-1",
+            ""};
+
+    private static final String MUTATIONS = "0123456789-:Tt Z+./a";
+
+    /**
+     * Parse values as byte input using bulk parser
+     */
+    private static void parseBytes(String[] values, boolean lenient, long[] epochSeconds, int[] nanos,
+                                   int[] offsetSeconds) {
+        byte[] data = String.join("", values).getBytes(StandardCharsets.UTF_8);
+        int[] starts = new int[values.length];
+        int[] ends = new int[values.length];
+        for (int i = 0, pos = 0; i < values.length; pos = ends[i++]) {
+            starts[i] = pos;
+            ends[i] = pos + values[i].getBytes(StandardCharsets.UTF_8).length;
+        }
+        XsBulkParser.parseDateTimes(data, starts, ends, lenient, epochSeconds, nanos, offsetSeconds);
+    }
+
+    /**
+     * Verify that bulk parser gives the same result as scalar parser for value placed on given position among valid
+     * values, including failure
+     */
+    private static void verify(String value, int position, boolean lenient) {
+        String[] values = new String[XsLayoutKernel.BLOCK_RECORDS + 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = VALID[i % 3];
+        }
+        values[position] = value;
+        long[] epochSeconds = new long[values.length];
+        int[] nanos = new int[values.length];
+        int[] offsetSeconds = new int[values.length];
+        XsTemporalHolder holder = new XsTemporalHolder();
+        try {
+            XsDateTimeFormatter.parse(value, 0, value.length(), lenient, holder);
+        } catch (DateTimeParseException e) {
+            assertThatThrownBy(() -> parseBytes(values, lenient, epochSeconds, nanos, offsetSeconds))
+                    .as(value).isInstanceOf(DateTimeParseException.class);
+            return;
+        }
+        parseBytes(values, lenient, epochSeconds, nanos, offsetSeconds);
+        assertThat(epochSeconds[position]).as(value).isEqualTo(holder.epochSecond());
+        assertThat(nanos[position]).as(value).isEqualTo(holder.nano);
+        assertThat(offsetSeconds[position]).as(value).isEqualTo(holder.offsetSeconds);
+    }
+
+    @Test
+    void kernelSelectedTest() throws ReflectiveOperationException {
+        if (Boolean.getBoolean("xsd.vectorKernel")) {
+            Class<?> vectorKernel = Class.forName("com.provys.common.xsd.XsVectorLayoutKernel");
+            Method isSupported = vectorKernel.getDeclaredMethod("isSupported");
+            isSupported.setAccessible(true);
+            if ((Boolean) isSupported.invoke(null)) {
+                assertThat(XsLayoutKernels.KERNEL).isInstanceOf(vectorKernel);
+                return;
+            }
+        }
+        assertThat(XsLayoutKernels.KERNEL).isNull();
+    }
+
+    @Test
+    void kernelMatchesLayoutTest() {
+        XsLayoutKernel kernel = XsLayoutKernels.KERNEL;
+        if (kernel == null) {
+            // no kernel with Java 11 classes or without vector support, verified by kernelSelectedTest
+            return;
+        }
+        String[] values = {"2018-03-14T23:30:28.123456789Z", "2018-03-14t23:30:00", "-2018-03-14T23:30:00",
+                "2018-13-14T23:30:00", "2018-03-14T23:3a:00", "2018-03-14T23:30"};
+        byte[] data = String.join("", values).getBytes(StandardCharsets.US_ASCII);
+        int[] starts = new int[values.length];
+        int[] ends = new int[values.length];
+        for (int i = 0, pos = 0; i < values.length; pos = ends[i++]) {
+            starts[i] = pos;
+            ends[i] = pos + values[i].length();
+        }
+        byte[] fields = new byte[XsLayoutKernel.BLOCK_RECORDS * XsLayoutKernel.RECORD_STRIDE];
+        assertThat(kernel.parseBlock(data, starts, ends, 0, values.length, XsLayoutKernel.DATE_TIME_LENGTH, false,
+                fields)).isEqualTo(0b1001);
+        int[] expected = {20, 18, 13, 14, 23, 30, 0};
+        for (int field = 0; field < expected.length; field++) {
+            assertThat(fields[3 * XsLayoutKernel.RECORD_STRIDE + XsLayoutKernel.FIELD_POSITIONS[field]])
+                    .isEqualTo((byte) expected[field]);
+        }
+        assertThat(kernel.parseBlock(data, starts, ends, 0, values.length, XsLayoutKernel.DATE_TIME_LENGTH, true,
+                fields)).isEqualTo(0b1011);
+        assertThat(kernel.parseBlock(data, starts, ends, 0, values.length, XsLayoutKernel.DATE_LENGTH, false,
+                fields)).isEqualTo(0b111011);
+    }
+
+    @Test
+    void bulkAgreesWithScalarTest() {
+        for (boolean lenient : new boolean[]{false, true}) {
+            for (String value : VALID) {
+                for (int position : new int[]{0, 5, XsLayoutKernel.BLOCK_RECORDS - 1,
+                        XsLayoutKernel.BLOCK_RECORDS + 2}) {
+                    verify(value, position, lenient);
+                }
+            }
+            for (String value : MALFORMED) {
+                for (int position : new int[]{0, 7, XsLayoutKernel.BLOCK_RECORDS + 2}) {
+                    verify(value, position, lenient);
+                }
+            }
+        }
+    }
+
+    @Test
+    void bulkAgreesWithScalarMutatedTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            char[] value = VALID[random.nextInt(VALID.length)].toCharArray();
+            int mutations = 1 + random.nextInt(2);
+            for (int j = 0; j < mutations; j++) {
+                value[random.nextInt(value.length)] = MUTATIONS.charAt(random.nextInt(MUTATIONS.length()));
+            }
+            verify(new String(value), random.nextInt(XsLayoutKernel.BLOCK_RECORDS + 3), random.nextBoolean());
+        }
+    }
+}
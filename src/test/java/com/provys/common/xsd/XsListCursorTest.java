@@ -0,0 +1,77 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsListCursorTest {
+
+    @Test
+    void nextDateTimeTest() {
+        String list = "\n  2018-03-14T23:30:00Z\t2018-03-14T23:30:00.5+01:00\r\n2018-03-14T24:00:00  ";
+        XsListCursor cursor = new XsListCursor(false).reset(list);
+        List<Long> epochSeconds = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        while (cursor.nextDateTime()) {
+            epochSeconds.add(cursor.getEpochSecond());
+            offsets.add(cursor.getOffsetSeconds());
+            assertThat(list.substring(cursor.getTokenStart(), cursor.getTokenEnd())).startsWith("2018");
+        }
+        assertThat(epochSeconds).containsExactly(OffsetDateTime.parse("2018-03-14T23:30:00Z").toEpochSecond(),
+                OffsetDateTime.parse("2018-03-14T22:30:00Z").toEpochSecond(),
+                OffsetDateTime.parse("2018-03-15T00:00:00Z").toEpochSecond());
+        assertThat(offsets).containsExactly(0, 3600, XsDateTimeFormatter.NO_OFFSET);
+        assertThat(cursor.hasNext()).isFalse();
+        assertThat(cursor.nextDateTime()).isFalse();
+        assertThat(new XsListCursor(false).reset("   ").nextDate()).isFalse();
+    }
+
+    @Test
+    void nextDateTest() {
+        char[] chars = "x 2018-03-14 2018-03-15z x".toCharArray();
+        XsListCursor cursor = new XsListCursor(true).reset(chars, 1, chars.length - 1);
+        assertThat(cursor.nextDate()).isTrue();
+        assertThat(cursor.getEpochDay()).isEqualTo(LocalDate.of(2018, 3, 14).toEpochDay());
+        assertThat(cursor.getOffsetSeconds()).isEqualTo(XsDateTimeFormatter.NO_OFFSET);
+        assertThat(cursor.nextDate()).isTrue();
+        assertThat(cursor.getEpochDay()).isEqualTo(LocalDate.of(2018, 3, 15).toEpochDay());
+        assertThat(cursor.getOffsetSeconds()).isZero();
+        assertThat(cursor.getTokenStart()).isEqualTo(13);
+        assertThat(cursor.nextDate()).isFalse();
+    }
+
+    @Test
+    void nextTimeTest() {
+        XsListCursor cursor = new XsListCursor(false).reset("12:30:00 24:00:00+01:00");
+        assertThat(cursor.nextTime()).isTrue();
+        assertThat(cursor.getNanoOfDay()).isEqualTo(LocalTime.of(12, 30).toNanoOfDay());
+        assertThat(cursor.nextTime()).isTrue();
+        assertThat(cursor.getNanoOfDay()).isZero();
+        assertThat(cursor.getOffsetSeconds()).isEqualTo(3600);
+    }
+
+    @Test
+    void invalidItemTest() {
+        XsListCursor cursor = new XsListCursor(false).reset("2018-03-14 2018-02-30 2018-03-16");
+        assertThat(cursor.nextDate()).isTrue();
+        assertThatThrownBy(cursor::nextDate)
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessageContaining("'2018-02-30' at index 11")
+                .satisfies(e -> assertThat(((DateTimeParseException) e).getErrorIndex()).isGreaterThanOrEqualTo(11));
+        assertThat(cursor.getTokenStart()).isEqualTo(11);
+        assertThat(cursor.nextDate()).isTrue();
+        assertThat(cursor.getEpochDay()).isEqualTo(LocalDate.of(2018, 3, 16).toEpochDay());
+        assertThatThrownBy(() -> new XsListCursor(false).reset("2018-03-14", 2, 11))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> new XsListCursor(false).reset("12:30 12:30:00").nextTime())
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessageContaining("at index 0");
+    }
+}
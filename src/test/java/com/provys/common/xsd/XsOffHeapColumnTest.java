@@ -0,0 +1,117 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsOffHeapColumnTest {
+
+    @Nullable
+    private static String format(XsOffHeapColumn column, int index) {
+        StringBuilder builder = new StringBuilder();
+        return column.formatTo(index, builder) ? builder.toString() : null;
+    }
+
+    @Test
+    void byteSizeTest() {
+        assertThat(XsOffHeapColumn.byteSize(XsOffHeapColumn.Type.DATE, 0)).isZero();
+        assertThat(XsOffHeapColumn.byteSize(XsOffHeapColumn.Type.DATE, 1)).isEqualTo(20);
+        assertThat(XsOffHeapColumn.byteSize(XsOffHeapColumn.Type.DATE_TIME, 65)).isEqualTo(16 + 65 * 16);
+        assertThatThrownBy(() -> XsOffHeapColumn.byteSize(XsOffHeapColumn.Type.DATE_TIME, 200_000_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dateTest() {
+        XsOffHeapColumn column = XsOffHeapColumn.allocate(XsOffHeapColumn.Type.DATE, 100);
+        assertThat(column.getBuffer().isDirect()).isTrue();
+        assertThat(column.isNull(99)).isTrue();
+        column.parse(0, "2018-03-14+01:00", false);
+        column.parse(70, "-0044-03-15", false);
+        column.parse(71, "2018-03-14z", true);
+        assertThatThrownBy(() -> column.parse(72, "2018-02-29", false)).isInstanceOf(DateTimeParseException.class);
+        assertThat(column.isNull(72)).isTrue();
+        assertThat(column.getValue(0)).isEqualTo(LocalDate.of(2018, 3, 14).toEpochDay());
+        assertThat(column.getOffsetSeconds(0)).isEqualTo(3600);
+        assertThat(column.getNano(0)).isZero();
+        assertThat(format(column, 0)).isEqualTo("2018-03-14+01:00");
+        assertThat(format(column, 70)).isEqualTo("-0044-03-15");
+        assertThat(format(column, 71)).isEqualTo("2018-03-14Z");
+        assertThat(format(column, 1)).isNull();
+        column.setNull(0);
+        assertThat(column.isNull(0)).isTrue();
+        assertThat(column.getValues().get(70)).isEqualTo(LocalDate.of(-44, 3, 15).toEpochDay());
+        assertThatThrownBy(column::getNanos).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> column.setDateTime(1, 0, 0, 0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> column.isNull(100)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void dateTimeBulkTest() {
+        String[] values = new String[3000];
+        for (int i = 0; i < values.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            if (i % 5 != 0) {
+                XsDateTimeFormatter.formatTo(1521063000L + i * 420L, 250_000_000, (i % 3) * 3600, builder);
+            }
+            values[i] = builder.toString();
+        }
+        byte[] data = String.join("", values).getBytes(StandardCharsets.US_ASCII);
+        int[] starts = new int[values.length];
+        int[] ends = new int[values.length];
+        for (int i = 0, pos = 0; i < values.length; pos = ends[i++]) {
+            starts[i] = pos;
+            ends[i] = pos + values[i].length();
+        }
+        XsOffHeapColumn column = XsOffHeapColumn.allocate(XsOffHeapColumn.Type.DATE_TIME, values.length + 10);
+        column.parse(data, starts, ends, 10, false);
+        assertThat(column.isNull(9)).isTrue();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].isEmpty()) {
+                assertThat(column.isNull(i + 10)).isTrue();
+            } else {
+                assertThat(format(column, i + 10)).isEqualTo(values[i]);
+                assertThat(column.getValue(i + 10)).isEqualTo(OffsetDateTime.parse(values[i]).toEpochSecond());
+                assertThat(column.getNanos().get(i + 10)).isEqualTo(250_000_000);
+            }
+        }
+        assertThatThrownBy(() -> column.parse(data, starts, ends, 11, false))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        // failed batch does not modify column, not even on indices of empty values
+        byte[] invalid = "2018-03-14T23:30:00Zinvalid".getBytes(StandardCharsets.US_ASCII);
+        assertThatThrownBy(() -> column.parse(invalid, new int[]{0, 20, 20}, new int[]{20, 20, 27}, 11, false))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThat(format(column, 11)).isEqualTo(values[1]);
+        assertThat(format(column, 12)).isEqualTo(values[2]);
+    }
+
+    @Test
+    void wrapTest() {
+        XsOffHeapColumn column = XsOffHeapColumn.allocate(XsOffHeapColumn.Type.DATE_TIME, 3);
+        column.setDateTime(1, -1, 999_999_999, XsDateTimeFormatter.NO_OFFSET);
+        column.setDateTime(2, 0, 0, -36000);
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        buffer.position(4);
+        buffer.put(column.getBuffer());
+        buffer.position(4);
+        XsOffHeapColumn copy = XsOffHeapColumn.wrap(XsOffHeapColumn.Type.DATE_TIME, buffer, 3);
+        assertThat(copy.isNull(0)).isTrue();
+        assertThat(format(copy, 1)).isEqualTo("1969-12-31T23:59:59.999999999");
+        assertThat(format(copy, 2)).isEqualTo("1969-12-31T14:00:00-10:00");
+        // documented layout
+        assertThat(buffer.order(ByteOrder.LITTLE_ENDIAN).getLong(4)).isEqualTo(1L);
+        assertThat(buffer.getLong(4 + 8 + 16)).isZero();
+        assertThat(buffer.getInt(4 + 8 + 24 + 8)).isEqualTo(-36000);
+        assertThat(buffer.getInt(4 + 8 + 24 + 12 + 4)).isEqualTo(999_999_999);
+        assertThatThrownBy(() -> XsOffHeapColumn.wrap(XsOffHeapColumn.Type.DATE_TIME, buffer, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
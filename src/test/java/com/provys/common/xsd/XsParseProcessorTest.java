@@ -0,0 +1,207 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsParseProcessorTest {
+
+    /**
+     * Upstream subscription recording requested number of values
+     */
+    private static final class RecordingSubscription implements Flow.Subscription {
+
+        long requested;
+        boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Subscriber collecting batches, requesting them explicitly
+     */
+    private static final class CollectingSubscriber implements Flow.Subscriber<XsParseProcessor.Batch> {
+
+        final List<XsParseProcessor.Batch> batches = new ArrayList<>();
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(XsParseProcessor.Batch item) {
+            batches.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+
+    @Nonnull
+    private static long[] indices(XsParseProcessor.Batch batch) {
+        long[] result = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            result[i] = batch.getIndex(i);
+        }
+        return result;
+    }
+
+    @Test
+    void backpressureTest() {
+        List<Long> invalid = new ArrayList<>();
+        XsParseProcessor processor = new XsParseProcessor(XsParseProcessor.ValueType.DATE_TIME, false, 3,
+                (index, value, exception) -> invalid.add(index));
+        RecordingSubscription upstream = new RecordingSubscription();
+        processor.onSubscribe(upstream);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        processor.subscribe(subscriber);
+        assertThat(upstream.requested).isZero();
+        subscriber.subscription.request(1);
+        assertThat(upstream.requested).isEqualTo(3);
+        processor.onNext("2018-03-14T23:30:00Z");
+        processor.onNext("2018-03-14T23:30:00.5+01:00");
+        processor.onNext("2018-03-14 23:30:00");
+        assertThat(invalid).containsExactly(2L);
+        assertThat(upstream.requested).isEqualTo(4);
+        assertThat(subscriber.batches).isEmpty();
+        processor.onNext("2018-03-14T23:30:00");
+        assertThat(subscriber.batches).hasSize(1);
+        XsParseProcessor.Batch batch = subscriber.batches.get(0);
+        assertThat(indices(batch)).containsExactly(0, 1, 3);
+        assertThat(batch.getValue(0)).isEqualTo(OffsetDateTime.parse("2018-03-14T23:30:00Z").toEpochSecond());
+        assertThat(batch.getValue(1)).isEqualTo(OffsetDateTime.parse("2018-03-14T22:30:00Z").toEpochSecond());
+        assertThat(batch.getNano(1)).isEqualTo(500_000_000);
+        assertThat(batch.getOffsetSeconds(1)).isEqualTo(3600);
+        assertThat(batch.getOffsetSeconds(2)).isEqualTo(XsDateTimeFormatter.NO_OFFSET);
+        assertThatThrownBy(() -> batch.getValue(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(upstream.requested).isEqualTo(4);
+        subscriber.subscription.request(2);
+        assertThat(upstream.requested).isEqualTo(10);
+        processor.onNext("2019-01-01T00:00:00Z");
+        processor.onComplete();
+        assertThat(subscriber.batches).hasSize(2);
+        assertThat(indices(subscriber.batches.get(1))).containsExactly(4);
+        assertThat(subscriber.completion).isCompleted();
+    }
+
+    @Test
+    void completionWaitsForDemandTest() {
+        XsParseProcessor processor = new XsParseProcessor(XsParseProcessor.ValueType.DATE, false, 2,
+                (index, value, exception) -> {});
+        RecordingSubscription upstream = new RecordingSubscription();
+        processor.onSubscribe(upstream);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        processor.onNext("2018-03-14");
+        processor.onNext("2018-03-15");
+        processor.onNext("2018-03-16");
+        processor.onComplete();
+        assertThat(subscriber.batches).hasSize(1);
+        assertThat(subscriber.completion).isNotDone();
+        subscriber.subscription.request(1);
+        assertThat(subscriber.batches).hasSize(2);
+        assertThat(subscriber.batches.get(1).getValue(0)).isEqualTo(LocalDate.of(2018, 3, 16).toEpochDay());
+        assertThat(subscriber.completion).isCompleted();
+    }
+
+    @Test
+    void errorTest() {
+        XsParseProcessor processor = new XsParseProcessor(XsParseProcessor.ValueType.TIME, false, 2,
+                (index, value, exception) -> {});
+        RecordingSubscription upstream = new RecordingSubscription();
+        processor.onSubscribe(upstream);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        processor.subscribe(subscriber);
+        CollectingSubscriber second = new CollectingSubscriber();
+        processor.subscribe(second);
+        assertThat(second.completion).isCompletedExceptionally();
+        subscriber.subscription.request(0);
+        assertThat(upstream.cancelled).isTrue();
+        assertThat(subscriber.completion).isCompletedExceptionally();
+        assertThatThrownBy(() -> new XsParseProcessor(XsParseProcessor.ValueType.TIME, false, 0,
+                (index, value, exception) -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void publisherTest() throws Exception {
+        List<String> invalid = new ArrayList<>();
+        XsParseProcessor processor = new XsParseProcessor(XsParseProcessor.ValueType.TIME, true, 100, 7200,
+                (index, value, exception) -> invalid.add(value.toString()));
+        List<Long> values = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        processor.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(XsParseProcessor.Batch batch) {
+                for (int i = 0; i < batch.size(); i++) {
+                    values.add(batch.getValue(i));
+                    offsets.add(batch.getOffsetSeconds(i));
+                }
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completion.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completion.complete(null);
+            }
+        });
+        try (SubmissionPublisher<CharSequence> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < 1000; i++) {
+                publisher.submit((i % 100 == 99) ? "25:00" : (i % 24) + ":30z");
+            }
+            publisher.submit("12:00");
+        }
+        completion.get(10, TimeUnit.SECONDS);
+        assertThat(invalid).hasSize(10).containsOnly("25:00");
+        assertThat(values).hasSize(991);
+        assertThat(values.get(1)).isEqualTo(LocalTime.of(1, 30).toNanoOfDay());
+        assertThat(offsets.get(1)).isZero();
+        assertThat(values.get(990)).isEqualTo(LocalTime.of(12, 0).toNanoOfDay());
+        assertThat(offsets.get(990)).isEqualTo(7200);
+    }
+}
@@ -0,0 +1,134 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsSortKeyTest {
+
+    @Nonnull
+    private static byte[] dateTimeKey(String value) {
+        byte[] key = new byte[XsSortKey.KEY_LENGTH];
+        XsSortKey.encodeDateTimeLenient(value, key, 0);
+        return key;
+    }
+
+    @Nonnull
+    static Stream<Object[]> compareTest() {
+        return Stream.of(
+                new Object[]{"2018-03-14T23:30:00+02:00", "2018-03-14T22:30:00Z", -1}
+                , new Object[]{"2018-03-14T21:30:00Z", "2018-03-14T23:30:00+01:00", -1}
+                , new Object[]{"2018-03-14T21:30:00Z", "2018-03-14T22:30:00+01:00", -1}
+                , new Object[]{"2018-03-14T21:30:00-01:00", "2018-03-14T22:30:00Z", -1}
+                , new Object[]{"2018-03-14T22:30:00Z", "2018-03-14T22:30:00Z", 0}
+                , new Object[]{"2018-03-14T22:30:00.000000001Z", "2018-03-14T22:30:00Z", 1}
+                , new Object[]{"2018-03-14T22:30:00.5Z", "2018-03-14T22:30:00.25Z", 1}
+                , new Object[]{"2018-03-14T22:30:00", "2018-03-14T22:30:00Z", -1}
+                , new Object[]{"-0001-01-01T00:00:00Z", "0001-01-01T00:00:00Z", -1}
+                , new Object[]{"1969-12-31T23:59:59.999999999Z", "1970-01-01T00:00:00Z", -1}
+                , new Object[]{"2018-03-14T24:00:00Z", "2018-03-15T00:00:00Z", 0}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void compareTest(String value1, String value2, int expected) {
+        assertThat(Integer.signum(XsSortKey.compare(dateTimeKey(value1), 0, dateTimeKey(value2), 0)))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void decodeTest() {
+        byte[] key = new byte[XsSortKey.KEY_LENGTH + 3];
+        XsSortKey.encodeDateTime("2018-03-14T23:30:28.123456789+05:45", key, 3);
+        OffsetDateTime expected = OffsetDateTime.of(2018, 3, 14, 23, 30, 28, 123456789,
+                ZoneOffset.ofHoursMinutes(5, 45));
+        assertThat(XsSortKey.decodeEpochSecond(key, 3)).isEqualTo(expected.toEpochSecond());
+        assertThat(XsSortKey.decodeNano(key, 3)).isEqualTo(123456789);
+        assertThat(XsSortKey.decodeOffsetSeconds(key, 3)).isEqualTo(20700);
+        assertThat(XsSortKey.decodeOffsetDateTime(key, 3)).isEqualTo(expected);
+        StringBuilder builder = new StringBuilder();
+        XsSortKey.formatTo(key, 3, builder);
+        assertThat(builder.toString()).isEqualTo("2018-03-14T23:30:28.123456789+05:45");
+    }
+
+    @Test
+    void decodeNoTimezoneTest() {
+        byte[] key = dateTimeKey("0900-02-28 07:15");
+        assertThat(XsSortKey.decodeOffsetSeconds(key, 0)).isEqualTo(XsDateTimeFormatter.NO_OFFSET);
+        assertThat(XsSortKey.decodeLocalDateTime(key, 0)).isEqualTo(LocalDateTime.of(900, 2, 28, 7, 15));
+        assertThatThrownBy(() -> XsSortKey.decodeOffsetDateTime(key, 0));
+        StringBuilder builder = new StringBuilder();
+        XsSortKey.formatTo(key, 0, builder);
+        assertThat(builder.toString()).isEqualTo("0900-02-28T07:15:00");
+    }
+
+    @Test
+    void byteBufferTest() {
+        byte[] expected = dateTimeKey("2018-03-14T23:30:00-03:30");
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(2 * XsSortKey.KEY_LENGTH).order(order);
+            XsSortKey.encodeDateTime("2018-03-14T23:30:00-03:30", buffer, XsSortKey.KEY_LENGTH);
+            byte[] actual = new byte[XsSortKey.KEY_LENGTH];
+            buffer.position(XsSortKey.KEY_LENGTH);
+            buffer.get(actual);
+            assertThat(actual).isEqualTo(expected);
+            assertThat(XsSortKey.decodeOffsetDateTime(buffer, XsSortKey.KEY_LENGTH))
+                    .isEqualTo(OffsetDateTime.of(2018, 3, 14, 23, 30, 0, 0, ZoneOffset.ofHoursMinutes(-3, -30)));
+        }
+    }
+
+    @Test
+    void dateAndTimeTest() {
+        byte[] date = new byte[XsSortKey.KEY_LENGTH];
+        XsSortKey.encodeDate("2018-03-14+01:00", date, 0);
+        assertThat(XsSortKey.decodeOffsetDateTime(date, 0))
+                .isEqualTo(OffsetDateTime.of(2018, 3, 14, 0, 0, 0, 0, ZoneOffset.ofHours(1)));
+        byte[] time1 = new byte[XsSortKey.KEY_LENGTH];
+        XsSortKey.encodeTime("23:30:00+01:00", time1, 0);
+        byte[] time2 = new byte[XsSortKey.KEY_LENGTH];
+        XsSortKey.encodeTimeLenient("23:00z", time2, 0);
+        assertThat(XsSortKey.compare(time1, 0, time2, 0)).isNegative();
+        assertThat(XsSortKey.decodeLocalDateTime(time2, 0)).isEqualTo(LocalDateTime.of(1972, 12, 31, 23, 0));
+    }
+
+    @Test
+    void reusedHolderTest() {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        byte[] expected = new byte[XsSortKey.KEY_LENGTH];
+        byte[] actual = new byte[XsSortKey.KEY_LENGTH];
+        XsSortKey.encodeTime("23:30:00+01:00", actual, 0, holder);
+        XsSortKey.encodeTime("23:30:00+01:00", expected, 0);
+        assertThat(actual).isEqualTo(expected);
+        XsSortKey.encodeDateTimeLenient("2018-03-14 23:30:00+01", actual, 0, holder);
+        XsSortKey.encodeDateTimeLenient("2018-03-14 23:30:00+01", expected, 0);
+        assertThat(actual).isEqualTo(expected);
+        ByteBuffer buffer = ByteBuffer.allocate(XsSortKey.KEY_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        XsSortKey.encodeDate("2018-03-14", buffer, 0, holder);
+        XsSortKey.encodeDate("2018-03-14", expected, 0);
+        buffer.get(actual);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void sortTest() {
+        String[] values = {"2018-03-14T23:30:00+02:00", "2018-03-14T20:00:00Z", "2018-03-14T21:59:59-01:00",
+                "2017-12-31T23:59:59.9Z"};
+        byte[][] keys = Arrays.stream(values).map(XsSortKeyTest::dateTimeKey).toArray(byte[][]::new);
+        Arrays.sort(keys, (key1, key2) -> XsSortKey.compare(key1, 0, key2, 0));
+        assertThat(Arrays.stream(keys).map(key -> XsSortKey.decodeOffsetDateTime(key, 0).toString()))
+                .containsExactly("2017-12-31T23:59:59.900Z", "2018-03-14T20:00Z", "2018-03-14T23:30+02:00",
+                        "2018-03-14T21:59:59-01:00");
+    }
+}
@@ -0,0 +1,107 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsTemporalHolderTest {
+
+    @Test
+    void epochDayTest() {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        for (long epochDay = LocalDate.of(-1201, 1, 1).toEpochDay(); epochDay < LocalDate.of(2401, 1, 1).toEpochDay();
+                epochDay += 13) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            assertThat(XsTemporalHolder.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                    .isEqualTo(epochDay);
+            holder.setEpochDay(epochDay);
+            assertThat(holder.toLocalDate()).isEqualTo(date);
+        }
+    }
+
+    @Test
+    void formatDateTimeToTest() {
+        StringBuilder builder = new StringBuilder();
+        XsTemporalHolder.formatDateTimeTo(-62135596800L - 86400L, 120000000, 0, builder);
+        assertThat(builder.toString()).isEqualTo("0000-12-31T00:00:00.12Z");
+        builder.setLength(0);
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeFormatter.parse("2018-12-31T24:00:00-05:00", 0, 25, false, holder);
+        holder.formatDateTimeTo(builder);
+        assertThat(builder.toString()).isEqualTo("2019-01-01T00:00:00-05:00");
+    }
+
+    @Test
+    void parseToHolderTest() {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeFormatter.parse("2018-12-31T24:00:00-05:00", holder);
+        assertThat(holder.getYear()).isEqualTo(2018);
+        assertThat(holder.getMonth()).isEqualTo(12);
+        assertThat(holder.getDay()).isEqualTo(31);
+        assertThat(holder.getHour()).isZero();
+        assertThat(holder.getMinute()).isZero();
+        assertThat(holder.isEndOfDay()).isTrue();
+        assertThat(holder.hasTimezone()).isTrue();
+        assertThat(holder.getOffsetSeconds()).isEqualTo(-18000);
+        assertThat(holder.toOffsetDateTime())
+                .isEqualTo(OffsetDateTime.of(2019, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(-5)));
+        assertThat(holder.epochSecond()).isEqualTo(holder.toOffsetDateTime().toEpochSecond());
+        assertThat(holder.epochDay()).isEqualTo(LocalDate.of(2019, 1, 1).toEpochDay());
+        XsDateTimeFormatter.parseLenient("2018-03-14 23:30", holder);
+        assertThat(holder.hasTimezone()).isFalse();
+        assertThat(holder.isEndOfDay()).isFalse();
+        assertThat(holder.toLocalDateTime()).isEqualTo(LocalDateTime.of(2018, 3, 14, 23, 30));
+        assertThatThrownBy(holder::toOffsetDateTime).isInstanceOf(DateTimeException.class);
+        XsDateFormatter.parse("-0044-03-15Z", holder);
+        assertThat(holder.toLocalDate()).isEqualTo(LocalDate.of(-44, 3, 15));
+        assertThat(holder.getHour()).isZero();
+        StringBuilder builder = new StringBuilder();
+        holder.formatDateTo(builder);
+        assertThat(builder.toString()).isEqualTo("-0044-03-15Z");
+        XsDateFormatter.parseLenient("2018-03-14+01", holder);
+        assertThat(holder.getOffsetSeconds()).isEqualTo(3600);
+        XsTimeFormatter.parse("23:30:00.120+01:00", holder);
+        assertThat(holder.toOffsetTime()).isEqualTo(OffsetTime.of(23, 30, 0, 120_000_000, ZoneOffset.ofHours(1)));
+        assertThat(holder.nanoOfDay()).isEqualTo(LocalTime.of(23, 30, 0, 120_000_000).toNanoOfDay());
+        builder.setLength(0);
+        holder.formatTimeTo(builder);
+        assertThat(builder.toString()).isEqualTo("23:30:00.12+01:00");
+        XsTimeFormatter.parseLenient("7:30", holder);
+        assertThat(holder.toLocalTime()).isEqualTo(LocalTime.of(7, 30));
+        assertThatThrownBy(() -> XsTimeFormatter.parse("7:30", holder))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    void fillFromColumnsTest() {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeColumn column = new XsDateTimeColumn();
+        column.add(1521070200L, 5, 3600);
+        column.get(0, holder);
+        assertThat(holder.toOffsetDateTime())
+                .isEqualTo(OffsetDateTime.of(2018, 3, 15, 0, 30, 0, 5, ZoneOffset.ofHours(1)));
+        XsOffHeapColumn dates = XsOffHeapColumn.allocate(XsOffHeapColumn.Type.DATE, 2);
+        dates.setDate(0, 17604, XsDateTimeFormatter.NO_OFFSET);
+        assertThat(dates.get(1, holder)).isFalse();
+        assertThat(dates.get(0, holder)).isTrue();
+        assertThat(holder.toLocalDateTime()).isEqualTo(LocalDateTime.of(2018, 3, 14, 0, 0));
+        assertThat(holder.hasTimezone()).isFalse();
+        XsListCursor cursor = new XsListCursor(false).reset("12:00:00Z");
+        assertThat(cursor.nextTime()).isTrue();
+        cursor.get(holder);
+        assertThat(holder.toOffsetTime()).isEqualTo(OffsetTime.of(12, 0, 0, 0, ZoneOffset.UTC));
+        XsTemporalHolder copy = new XsTemporalHolder();
+        copy.set(holder);
+        assertThat(copy.nanoOfDay()).isEqualTo(holder.nanoOfDay());
+        assertThat(copy.getOffsetSeconds()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package com.provys.common.xsd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsTimeBucketsTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Truncate local date and time using java.time
+     */
+    private static LocalDateTime truncate(LocalDateTime value, ChronoUnit unit) {
+        switch (unit) {
+            case WEEKS:
+                return value.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHS:
+                return value.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            case YEARS:
+                return value.truncatedTo(ChronoUnit.DAYS).withDayOfYear(1);
+            default:
+                return value.truncatedTo(unit);
+        }
+    }
+
+    private static long expectedBucket(LocalDateTime local, ChronoUnit unit) {
+        LocalDateTime start = truncate(local, unit);
+        if (unit == ChronoUnit.WEEKS) {
+            return Math.floorDiv(ChronoUnit.DAYS.between(EPOCH.minusDays(3), start), 7);
+        }
+        return unit.between(EPOCH, start);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ChronoUnit.class, names = {"SECONDS", "MINUTES", "HOURS", "HALF_DAYS", "DAYS", "WEEKS",
+            "MONTHS", "YEARS"})
+    void bucketTest(ChronoUnit unit) {
+        Random random = new Random(42);
+        int size = 1000;
+        long[] epochSeconds = new long[size];
+        long[] expectedBuckets = new long[size];
+        long[] expectedStarts = new long[size];
+        int offset = -34200;
+        for (int i = 0; i < size; i++) {
+            epochSeconds[i] = random.nextLong() % 100_000_000_000L;
+            OffsetDateTime value = Instant.ofEpochSecond(epochSeconds[i]).atOffset(ZoneOffset.ofTotalSeconds(offset));
+            expectedBuckets[i] = expectedBucket(value.toLocalDateTime(), unit);
+            expectedStarts[i] = truncate(value.toLocalDateTime(), unit).toEpochSecond(value.getOffset());
+            assertThat(XsTimeBuckets.bucket(epochSeconds[i], offset, unit)).isEqualTo(expectedBuckets[i]);
+            assertThat(XsTimeBuckets.truncate(epochSeconds[i], offset, unit)).isEqualTo(expectedStarts[i]);
+            assertThat(XsTimeBuckets.bucketStart(expectedBuckets[i], offset, unit)).isEqualTo(expectedStarts[i]);
+        }
+        long[] result = new long[size];
+        XsTimeBuckets.bucket(epochSeconds, 0, size, offset, unit, result);
+        assertThat(result).isEqualTo(expectedBuckets);
+        XsTimeBuckets.truncate(epochSeconds, 0, size, offset, unit, result);
+        assertThat(result).isEqualTo(expectedStarts);
+        int[] offsets = new int[size];
+        Arrays.fill(offsets, offset);
+        XsTimeBuckets.bucket(epochSeconds, offsets, 0, size, unit, result);
+        assertThat(result).isEqualTo(expectedBuckets);
+    }
+
+    @Test
+    void fixedLengthBucketTest() {
+        long epochSecond = OffsetDateTime.of(2018, 3, 14, 23, 37, 12, 0, ZoneOffset.ofHours(1)).toEpochSecond();
+        long expected = OffsetDateTime.of(2018, 3, 14, 23, 30, 0, 0, ZoneOffset.ofHours(1)).toEpochSecond();
+        assertThat(XsTimeBuckets.truncate(epochSecond, 3600, 900)).isEqualTo(expected);
+        assertThat(XsTimeBuckets.bucket(epochSecond, 3600, 900)).isEqualTo((expected + 3600) / 900);
+        long[] values = {epochSecond, -1, 0};
+        XsTimeBuckets.truncate(values, 0, 2, 3600, 900, values);
+        assertThat(values).containsExactly(expected, -900, 0);
+        XsTimeBuckets.bucket(values, 1, 3, 0, 900, values);
+        assertThat(values).containsExactly(expected, -1, 0);
+        assertThatThrownBy(() -> XsTimeBuckets.bucket(0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> XsTimeBuckets.bucket(0, 0, ChronoUnit.MILLIS))
+                .isInstanceOf(UnsupportedTemporalTypeException.class);
+    }
+
+    @Test
+    void zoneOffsetsTest() {
+        ZoneId zone = ZoneId.of("Europe/Prague");
+        ZoneRules rules = zone.getRules();
+        int size = 24 * 400;
+        long[] epochSeconds = new long[size];
+        long start = LocalDateTime.of(2018, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < size; i++) {
+            epochSeconds[i] = start + i * 3600L + (i % 7) * 60;
+        }
+        epochSeconds[size - 1] = 0;
+        int[] offsets = new int[size];
+        XsTimeBuckets.offsets(epochSeconds, 0, size, rules, offsets);
+        long[] buckets = new long[size];
+        XsTimeBuckets.bucket(epochSeconds, offsets, 0, size, ChronoUnit.DAYS, buckets);
+        for (int i = 0; i < size; i++) {
+            ZonedDateTime expected = Instant.ofEpochSecond(epochSeconds[i]).atZone(zone);
+            assertThat(offsets[i]).isEqualTo(expected.getOffset().getTotalSeconds());
+            assertThat(buckets[i]).isEqualTo(expected.toLocalDate().toEpochDay());
+        }
+    }
+
+    @Test
+    void withDefaultOffsetTest() {
+        XsTemporalHolder holder = new XsTemporalHolder();
+        XsDateTimeFormatter.parse("2018-03-14T23:30:00", holder);
+        long epochSecond = holder.epochSecond();
+        long expected = LocalDateTime.of(2018, 3, 14, 23, 30).toEpochSecond(ZoneOffset.ofHours(2));
+        assertThat(XsTimeBuckets.withDefaultOffset(epochSecond, XsTimezoneFormatter.NO_OFFSET, 7200))
+                .isEqualTo(expected);
+        assertThat(XsTimeBuckets.withDefaultOffset(epochSecond, 0, 7200)).isEqualTo(epochSecond);
+        long[] epochSeconds = {epochSecond, epochSecond};
+        int[] offsets = {XsTimezoneFormatter.NO_OFFSET, 3600};
+        XsTimeBuckets.withDefaultOffset(epochSeconds, offsets, 0, 2, 7200);
+        assertThat(epochSeconds).containsExactly(expected, epochSecond);
+        assertThat(offsets).containsExactly(7200, 3600);
+    }
+}
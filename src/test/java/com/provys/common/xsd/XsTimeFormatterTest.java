@@ -1,12 +1,11 @@
 package com.provys.common.xsd;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.Reader;
-import java.io.StringReader;
 import java.time.LocalTime;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -71,7 +70,11 @@ class XsTimeFormatterTest {
                 new Object[]{"00:00:00", LocalTime.of(0, 0, 0)}
                 , new Object[]{"12:17:15", LocalTime.of(12, 17, 15)}
                 , new Object[]{"15:07:56.2354+01:00", LocalTime.of(15, 7, 56, 235400000)}
+                , new Object[]{"15:07:56.123456789987654321", LocalTime.of(15, 7, 56, 123456789)}
                 , new Object[]{"24:00:00Z", LocalTime.of(0, 0, 0)}
+                , new Object[]{"24:00:00.000000000000", LocalTime.of(0, 0, 0)}
+                , new Object[]{"24:00:00.0000000001", null}
+                , new Object[]{"12:17:15.", null}
                 , new Object[]{"15:10", null}
                 , new Object[]{"8:17:15", null}
                 , new Object[]{"12:17:15z", null}
@@ -143,4 +146,43 @@ class XsTimeFormatterTest {
     void getLenientPatternTest(String value, boolean match) {
         assertThat(XsTimeFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(match);
     }
-}
\ No newline at end of file
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"00:00:00", LocalTime.of(0, 0, 0)}
+                , new Object[]{"15:07:56.2354+01:00", LocalTime.of(15, 7, 56, 235400000)}
+                , new Object[]{"24:00Z", LocalTime.of(0, 0, 0)}
+                , new Object[]{"15:10", LocalTime.of(15, 10)}
+                , new Object[]{"8:17:15", LocalTime.of(8, 17, 15)}
+                , new Object[]{"12:17:15z", LocalTime.of(12, 17, 15)}
+                , new Object[]{"12:17:15+01:00:00", LocalTime.of(12, 17, 15)}
+                , new Object[]{"24:01:15", null}
+                , new Object[]{"08:60:48", null}
+                , new Object[]{"16", null}
+                , new Object[]{"Z", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, @Nullable LocalTime expected) {
+        assertThat(XsTimeFormatter.LENIENT_PATTERN.matcher(value).matches()).isEqualTo(expected != null);
+        if (expected != null) {
+            assertThat(XsTimeFormatter.parseLenient(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsTimeFormatter.parseLenient(value));
+        }
+    }
+
+    @Test
+    void parseLenientTZTest() {
+        assertThat(XsTimeFormatter.parseLenientTZ("12:30:00", "+02:00")).isEqualTo(LocalTime.of(12, 30));
+        assertThat(XsTimeFormatter.parseLenientTZ("12:30:00Z", "+02:00")).isEqualTo(LocalTime.of(14, 30));
+        assertThat(XsTimeFormatter.parseLenientTZ("01:30:00+03:00", "+01")).isEqualTo(LocalTime.of(23, 30));
+        // default offset accepts all forms of ZoneOffset.of
+        assertThat(XsTimeFormatter.parseLenientTZ("12:30:00Z", "+0100")).isEqualTo(LocalTime.of(13, 30));
+        assertThat(XsTimeFormatter.parseLenientTZ("12:30:00Z", "+01:30:00")).isEqualTo(LocalTime.of(14, 0));
+        assertThat(XsTimeFormatter.parseLenientTZ("12:30:00Z", "-013000")).isEqualTo(LocalTime.of(11, 0));
+    }
+}
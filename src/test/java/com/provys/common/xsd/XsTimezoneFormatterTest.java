@@ -1,9 +1,12 @@
 package com.provys.common.xsd;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.ZoneOffset;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -44,6 +47,14 @@ class XsTimezoneFormatterTest {
                 , new Object[]{"Z", true}
                 , new Object[]{"z", true}
                 , new Object[]{"-07", true}
+                , new Object[]{"+5", true}
+                , new Object[]{"+01:02:03", true}
+                , new Object[]{"+14:00", true}
+                , new Object[]{"-1400", true}
+                , new Object[]{"+14", true}
+                , new Object[]{"+14:00:00", false}
+                , new Object[]{"-14:00:00", false}
+                , new Object[]{"+14:30", false}
                 , new Object[]{"+0500", false}
                 , new Object[]{"01:00", false}
                 , new Object[]{"UTC", false}
@@ -56,4 +67,89 @@ class XsTimezoneFormatterTest {
     void getLenientRegexTest(String value, boolean match) {
         assertThat(Pattern.compile(XsTimezoneFormatter.LENIENT_REGEX).matcher(value).matches()).isEqualTo(match);
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("getLenientRegexTest")
+    void parseLenientAgreesWithLenientRegexTest(String value, boolean match) {
+        if (match) {
+            assertThatCode(() -> XsTimezoneFormatter.parseLenient(value)).doesNotThrowAnyException();
+        } else {
+            assertThatThrownBy(() -> XsTimezoneFormatter.parseLenient(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseStrictTest() {
+        return Stream.of(
+                new Object[]{"+00:00", ZoneOffset.UTC}
+                , new Object[]{"+01:00", ZoneOffset.ofHours(1)}
+                , new Object[]{"-06:00", ZoneOffset.ofHours(-6)}
+                , new Object[]{"+05:30", ZoneOffset.ofHoursMinutes(5, 30)}
+                , new Object[]{"-14:00", ZoneOffset.ofHours(-14)}
+                , new Object[]{"Z", ZoneOffset.UTC}
+                , new Object[]{"+14:15", null}
+                , new Object[]{"+05:60", null}
+                , new Object[]{"z", null}
+                , new Object[]{"-07", null}
+                , new Object[]{"+0500", null}
+                , new Object[]{"01:00", null}
+                , new Object[]{"UTC", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseStrictTest(String value, @Nullable ZoneOffset expected) {
+        if (expected != null) {
+            assertThat(XsTimezoneFormatter.parseStrict(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsTimezoneFormatter.parseStrict(value));
+        }
+    }
+
+    @Nonnull
+    static Stream<Object[]> parseLenientTest() {
+        return Stream.of(
+                new Object[]{"+00:00", ZoneOffset.UTC}
+                , new Object[]{"+01:00", ZoneOffset.ofHours(1)}
+                , new Object[]{"-06:00", ZoneOffset.ofHours(-6)}
+                , new Object[]{"+05:30", ZoneOffset.ofHoursMinutes(5, 30)}
+                , new Object[]{"Z", ZoneOffset.UTC}
+                , new Object[]{"z", ZoneOffset.UTC}
+                , new Object[]{"-07", ZoneOffset.ofHours(-7)}
+                , new Object[]{"+5", ZoneOffset.ofHours(5)}
+                , new Object[]{"+01:02:03", ZoneOffset.ofHoursMinutesSeconds(1, 2, 3)}
+                , new Object[]{"+1400", ZoneOffset.ofHours(14)}
+                , new Object[]{"+14:30", null}
+                , new Object[]{"+0500", null}
+                , new Object[]{"01:00", null}
+                , new Object[]{"UTC", null}
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void parseLenientTest(String value, @Nullable ZoneOffset expected) {
+        if (expected != null) {
+            assertThat(XsTimezoneFormatter.parseLenient(value)).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> XsTimezoneFormatter.parseLenient(value));
+        }
+    }
+
+    @Test
+    void ofTotalSecondsInternedTest() {
+        assertThat(XsTimezoneFormatter.ofTotalSeconds(3600)).isSameAs(XsTimezoneFormatter.ofQuarterHours(4));
+        assertThat(XsTimezoneFormatter.parseStrict("-05:45")).isSameAs(XsTimezoneFormatter.ofTotalSeconds(-20700));
+        assertThat(XsTimezoneFormatter.ofTotalSeconds(3723)).isEqualTo(ZoneOffset.ofTotalSeconds(3723));
+    }
+
+    @Test
+    void formatTest() {
+        assertThat(XsTimezoneFormatter.format(0)).isEqualTo("Z");
+        assertThat(XsTimezoneFormatter.format(-19800)).isEqualTo("-05:30");
+        StringBuilder builder = new StringBuilder();
+        XsTimezoneFormatter.formatTo(50400, builder);
+        assertThat(builder.toString()).isEqualTo("+14:00");
+    }
+}